@@ -0,0 +1,81 @@
+package com.example.demo.biz.benchmark;
+
+import com.example.demo.biz.commons.cache.CorrelationTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup and register/release cost of {@link CorrelationTable} against the {@link ConcurrentHashMap} keyed by UUID
+ * strings it replaces. Ids are copied into a fresh {@link String} per operation, as they are when read from an SQS
+ * message attribute, so the map pays for {@link String#hashCode()} like it does in production.
+ * <p>
+ * Run with {@code mvn -Pjmh test-compile exec:exec}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CorrelationTableBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int entries;
+
+    private char[][] ids;
+
+    private ConcurrentHashMap<String, Object> map;
+
+    private CorrelationTable<Object> table;
+
+    private static final Object VALUE = new Object();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ids = new char[entries][];
+        map = new ConcurrentHashMap<>();
+        table = new CorrelationTable<>();
+        for (int i = 0; i < entries; i++) {
+            String id = UUID.randomUUID().toString();
+            ids[i] = id.toCharArray();
+            map.put(id, VALUE);
+            table.put(id, VALUE);
+        }
+    }
+
+    private String nextId() {
+        return new String(ids[ThreadLocalRandom.current().nextInt(entries)]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object getConcurrentHashMap() {
+        return map.get(nextId());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object getCorrelationTable() {
+        return table.get(nextId());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object registerAndReleaseConcurrentHashMap() {
+        String id = UUID.randomUUID().toString();
+        map.put(id, VALUE);
+        return map.remove(new String(id.toCharArray()));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object registerAndReleaseCorrelationTable() {
+        String id = UUID.randomUUID().toString();
+        table.put(id, VALUE);
+        return table.remove(new String(id.toCharArray()));
+    }
+}
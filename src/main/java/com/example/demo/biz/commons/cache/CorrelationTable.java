@@ -0,0 +1,400 @@
+package com.example.demo.biz.commons.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Concurrent map from correlationId to state, specialised for UUID keys.
+ * <p>
+ * A canonical UUID string is parsed into its two 64-bit halves without allocating, and the entry is stored in one of
+ * a fixed number of open-addressing shards (linear probing, backward-shift deletion) as two {@code long}s and the value,
+ * so there is no per-entry node and no {@link String#hashCode()} on a freshly received id. Reads are optimistic and
+ * only fall back to the shard's read lock when they race a write. Ids that are not UUIDs go to a plain
+ * {@link ConcurrentHashMap}; UUIDs are compared by value, so upper- and lower-case spellings are the same key.
+ * <p>
+ * Values must not be {@code null}. Remapping functions run under the shard's write lock and must not call back into
+ * the same table.
+ */
+public class CorrelationTable<V> {
+
+    private static final int DEFAULT_SHARDS = 64;
+    private static final int DEFAULT_SHARD_CAPACITY = 16;
+
+    private final Shard<V>[] shards;
+    private final int shardMask;
+    private final int initialShardCapacity;
+
+    private final ConcurrentHashMap<String, V> fallback = new ConcurrentHashMap<>();
+
+    public CorrelationTable() {
+        this(DEFAULT_SHARDS, DEFAULT_SHARD_CAPACITY);
+    }
+
+    @SuppressWarnings("unchecked")
+    public CorrelationTable(int shardCount, int initialShardCapacity) {
+        if (shardCount <= 0 || shardCount > 1 << 16) {
+            throw new IllegalArgumentException("shardCount must be in (0, 65536]: " + shardCount);
+        }
+        if (initialShardCapacity <= 0) {
+            throw new IllegalArgumentException("initialShardCapacity must be positive: " + initialShardCapacity);
+        }
+        int count = powerOfTwo(shardCount);
+        this.shards = new Shard[count];
+        this.shardMask = count - 1;
+        this.initialShardCapacity = powerOfTwo(Math.max(2, initialShardCapacity));
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard<>(this.initialShardCapacity);
+        }
+    }
+
+    public V get(String correlationId) {
+        Objects.requireNonNull(correlationId, "correlationId must not be null");
+        if (!isUuid(correlationId)) {
+            return fallback.get(correlationId);
+        }
+        long hi = mostSignificantBits(correlationId);
+        long lo = leastSignificantBits(correlationId);
+        long hash = mix(hi, lo);
+        return shard(hash).get(hi, lo, (int) hash);
+    }
+
+    public boolean containsKey(String correlationId) {
+        return get(correlationId) != null;
+    }
+
+    public V put(String correlationId, V value) {
+        Objects.requireNonNull(value, "value must not be null");
+        return compute(correlationId, (id, existing) -> value, true);
+    }
+
+    public V putIfAbsent(String correlationId, V value) {
+        Objects.requireNonNull(value, "value must not be null");
+        V[] previous = newHolder();
+        compute(correlationId, (id, existing) -> {
+            previous[0] = existing;
+            return existing != null ? existing : value;
+        }, false);
+        return previous[0];
+    }
+
+    public V remove(String correlationId) {
+        V[] previous = newHolder();
+        compute(correlationId, (id, existing) -> {
+            previous[0] = existing;
+            return null;
+        }, false);
+        return previous[0];
+    }
+
+    /**
+     * Removes the entry only if it is currently mapped to {@code value} (compared by identity).
+     */
+    public boolean remove(String correlationId, V value) {
+        boolean[] removed = new boolean[1];
+        compute(correlationId, (id, existing) -> {
+            if (existing != null && existing == value) {
+                removed[0] = true;
+                return null;
+            }
+            return existing;
+        }, false);
+        return removed[0];
+    }
+
+    /**
+     * Same contract as {@link java.util.Map#compute}: a {@code null} result removes the entry.
+     */
+    public V compute(String correlationId, BiFunction<? super String, ? super V, ? extends V> remapping) {
+        return compute(correlationId, remapping, false);
+    }
+
+    public V computeIfPresent(String correlationId, BiFunction<? super String, ? super V, ? extends V> remapping) {
+        return compute(correlationId, (id, existing) -> existing == null ? null : remapping.apply(id, existing), false);
+    }
+
+    public int size() {
+        int size = fallback.size();
+        for (Shard<V> shard : shards) {
+            size += shard.size;
+        }
+        return size;
+    }
+
+    /**
+     * Applies {@code action} to a snapshot of the values, outside any lock, so it may modify the table.
+     */
+    public void forEachValue(Consumer<? super V> action) {
+        List<V> snapshot = new ArrayList<>(size());
+        for (Shard<V> shard : shards) {
+            shard.collect(snapshot);
+        }
+        snapshot.addAll(fallback.values());
+        snapshot.forEach(action);
+    }
+
+    public void clear() {
+        for (Shard<V> shard : shards) {
+            shard.clear(initialShardCapacity);
+        }
+        fallback.clear();
+    }
+
+    private V compute(String correlationId, BiFunction<? super String, ? super V, ? extends V> remapping, boolean returnPrevious) {
+        Objects.requireNonNull(correlationId, "correlationId must not be null");
+        Objects.requireNonNull(remapping, "remapping must not be null");
+        if (!isUuid(correlationId)) {
+            if (returnPrevious) {
+                V[] previous = newHolder();
+                fallback.compute(correlationId, (id, existing) -> {
+                    previous[0] = existing;
+                    return remapping.apply(id, existing);
+                });
+                return previous[0];
+            }
+            return fallback.compute(correlationId, remapping);
+        }
+        long hi = mostSignificantBits(correlationId);
+        long lo = leastSignificantBits(correlationId);
+        long hash = mix(hi, lo);
+        return shard(hash).compute(correlationId, hi, lo, (int) hash, remapping, returnPrevious);
+    }
+
+    private Shard<V> shard(long hash) {
+        return shards[(int) (hash >>> 32) & shardMask];
+    }
+
+    @SuppressWarnings("unchecked")
+    private V[] newHolder() {
+        return (V[]) new Object[1];
+    }
+
+    /**
+     * Canonical 8-4-4-4-12 hex form, as produced by {@link java.util.UUID#toString()}.
+     */
+    static boolean isUuid(String s) {
+        if (s.length() != 36) {
+            return false;
+        }
+        for (int i = 0; i < 36; i++) {
+            char c = s.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return false;
+                }
+            } else if (Character.digit(c, 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static long mostSignificantBits(String uuid) {
+        return hex(uuid, 0, 8) << 32 | hex(uuid, 9, 13) << 16 | hex(uuid, 14, 18);
+    }
+
+    static long leastSignificantBits(String uuid) {
+        return hex(uuid, 19, 23) << 48 | hex(uuid, 24, 36);
+    }
+
+    private static long hex(String s, int from, int to) {
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            value = value << 4 | Character.digit(s.charAt(i), 16);
+        }
+        return value;
+    }
+
+    // random UUIDs are already well distributed, the finaliser only guards against structured (e.g. time-based) ids
+    private static long mix(long hi, long lo) {
+        long h = hi * 0x9E3779B97F4A7C15L ^ lo;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static int powerOfTwo(int n) {
+        return n == 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+
+    private static final class Table {
+        private final long[] hi;
+        private final long[] lo;
+        private final Object[] values;
+
+        private Table(int capacity) {
+            this.hi = new long[capacity];
+            this.lo = new long[capacity];
+            this.values = new Object[capacity];
+        }
+    }
+
+    private static final class Shard<V> {
+
+        private final StampedLock lock = new StampedLock();
+        private volatile Table table;
+        private volatile int size;
+
+        private Shard(int capacity) {
+            this.table = new Table(capacity);
+        }
+
+        @SuppressWarnings("unchecked")
+        private V get(long hi, long lo, int hash) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                Object value = find(table, hi, lo, hash);
+                if (lock.validate(stamp)) {
+                    return (V) value;
+                }
+            }
+            stamp = lock.readLock();
+            try {
+                return (V) find(table, hi, lo, hash);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        private static Object find(Table t, long hi, long lo, int hash) {
+            int mask = t.values.length - 1;
+            int i = hash & mask;
+            // bounded by the capacity so a probe racing a writer cannot spin
+            for (int n = 0; n <= mask; n++) {
+                Object value = t.values[i];
+                if (value == null) {
+                    return null;
+                }
+                if (t.hi[i] == hi && t.lo[i] == lo) {
+                    return value;
+                }
+                i = (i + 1) & mask;
+            }
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        private V compute(String id, long hi, long lo, int hash, BiFunction<? super String, ? super V, ? extends V> remapping,
+                          boolean returnPrevious) {
+            long stamp = lock.writeLock();
+            try {
+                Table t = table;
+                int index = indexOf(t, hi, lo, hash);
+                V existing = index >= 0 ? (V) t.values[index] : null;
+                V updated = remapping.apply(id, existing);
+                if (updated == null) {
+                    if (index >= 0) {
+                        removeAt(t, index);
+                        size--;
+                    }
+                } else if (index >= 0) {
+                    t.values[index] = updated;
+                } else {
+                    insert(hi, lo, hash, updated);
+                }
+                return returnPrevious ? existing : updated;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        private static int indexOf(Table t, long hi, long lo, int hash) {
+            int mask = t.values.length - 1;
+            int i = hash & mask;
+            while (t.values[i] != null) {
+                if (t.hi[i] == hi && t.lo[i] == lo) {
+                    return i;
+                }
+                i = (i + 1) & mask;
+            }
+            return -1;
+        }
+
+        private void insert(long hi, long lo, int hash, Object value) {
+            Table t = table;
+            // keep the load factor at or below 1/2 so probe sequences stay short
+            if ((size + 1) * 2 > t.values.length) {
+                t = resize(t);
+            }
+            place(t, hi, lo, hash, value);
+            size++;
+        }
+
+        private static void place(Table t, long hi, long lo, int hash, Object value) {
+            int mask = t.values.length - 1;
+            int i = hash & mask;
+            while (t.values[i] != null) {
+                i = (i + 1) & mask;
+            }
+            t.hi[i] = hi;
+            t.lo[i] = lo;
+            t.values[i] = value;
+        }
+
+        private Table resize(Table old) {
+            Table grown = new Table(old.values.length << 1);
+            for (int i = 0; i < old.values.length; i++) {
+                if (old.values[i] != null) {
+                    place(grown, old.hi[i], old.lo[i], (int) mix(old.hi[i], old.lo[i]), old.values[i]);
+                }
+            }
+            table = grown;
+            return grown;
+        }
+
+        /**
+         * Backward-shift deletion: pulls later entries of the probe run into the hole instead of leaving a tombstone.
+         */
+        private static void removeAt(Table t, int index) {
+            int mask = t.values.length - 1;
+            int hole = index;
+            int i = index;
+            while (true) {
+                i = (i + 1) & mask;
+                if (t.values[i] == null) {
+                    break;
+                }
+                int home = (int) mix(t.hi[i], t.lo[i]) & mask;
+                boolean stays = hole <= i ? hole < home && home <= i : hole < home || home <= i;
+                if (!stays) {
+                    t.hi[hole] = t.hi[i];
+                    t.lo[hole] = t.lo[i];
+                    t.values[hole] = t.values[i];
+                    hole = i;
+                }
+            }
+            t.values[hole] = null;
+            t.hi[hole] = 0;
+            t.lo[hole] = 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void collect(List<V> into) {
+            long stamp = lock.readLock();
+            try {
+                for (Object value : table.values) {
+                    if (value != null) {
+                        into.add((V) value);
+                    }
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        private void clear(int capacity) {
+            long stamp = lock.writeLock();
+            try {
+                table = new Table(capacity);
+                size = 0;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+    }
+}
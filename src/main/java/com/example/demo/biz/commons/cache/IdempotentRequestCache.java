@@ -1,64 +1,182 @@
 package com.example.demo.biz.commons.cache;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Correlation ids of requests currently being handled, with their {@link Status}.
+ * <p>
+ * Size-bounded (W-TinyLFU) and expired per status: in-flight entries live for {@code inProgressTtl}, finished ones for
+ * {@code completedTtl}, so an id a request path forgot to {@link #remove} is reclaimed in O(1) without any scan.
+ * Defaults apply until {@link #configure} is called at startup.
+ * <p>
+ * {@link #tryClaim} atomically decides which of several concurrent requests for the same id does the work; the others
+ * get the owner's result future, completed by {@link #complete}, {@link #fail} or {@link #remove}. Claims go through
+ * {@code asMap().compute}, which Caffeine does not count, so each one is recorded in the cache stats by hand: a
+ * duplicate as a hit, a new owner as a miss.
+ */
 @Slf4j
 public enum IdempotentRequestCache {
 
     INSTANCE;
 
-    private static final int DEFAULT_CAPACITY = 128;
+    private static final long DEFAULT_MAX_SIZE = 100_000;
+    private static final Duration DEFAULT_IN_PROGRESS_TTL = Duration.ofSeconds(60);
+    private static final Duration DEFAULT_COMPLETED_TTL = Duration.ofMinutes(5);
+
+    // shared by every cache {@link #configure} builds, so the exported counters keep running across a reconfiguration
+    private static final StatsCounter STATS = new ConcurrentStatsCounter();
+
+    private static volatile Cache<String, Entry> cache = build(DEFAULT_MAX_SIZE, DEFAULT_IN_PROGRESS_TTL, DEFAULT_COMPLETED_TTL);
+
+    /**
+     * Replaces the backing cache with one using the given limits; current entries are carried over.
+     */
+    public synchronized Cache<String, ?> configure(long maxSize, Duration inProgressTtl, Duration completedTtl) {
+        Objects.requireNonNull(inProgressTtl, "inProgressTtl must not be null");
+        Objects.requireNonNull(completedTtl, "completedTtl must not be null");
+        Cache<String, Entry> previous = cache;
+        Cache<String, Entry> configured = build(maxSize, inProgressTtl, completedTtl);
+        configured.putAll(previous.asMap());
+        cache = configured;
+        // explicit removal, so the moved entries' result futures are not failed as evicted
+        previous.invalidateAll();
+        log.info("Configured cache with maxSize: {}, inProgressTtl: {}, completedTtl: {}", maxSize, inProgressTtl, completedTtl);
+        return configured;
+    }
+
+    private static Cache<String, Entry> build(long maxSize, Duration inProgressTtl, Duration completedTtl) {
+        long inProgressNanos = inProgressTtl.toNanos();
+        long completedNanos = completedTtl.toNanos();
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry value, long currentTime) {
+                        return value.status().isInProgress() ? inProgressNanos : completedNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .removalListener((String key, Entry value, RemovalCause cause) -> {
+                    if (cause.wasEvicted() && value != null) {
+                        log.debug("Evicted key: {} with value: {} ({})", key, value.status(), cause);
+                        value.result().completeExceptionally(new TimeoutException("Idempotent entry evicted for key: " + key));
+                    }
+                })
+                .recordStats(() -> STATS)
+                .build();
+    }
+
+    /**
+     * Atomically claims the key unless a request for it is already in progress.
+     *
+     * @return a claim whose {@link Claim#owner()} says whether the caller must do the work; either way
+     * {@link Claim#result()} completes with the owner's result
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Claim<T> tryClaim(String key) {
+        validateKey(key);
+        boolean[] owner = new boolean[1];
+        Entry entry = cache.asMap().compute(key, (k, existing) -> {
+            if (existing != null && existing.status().isInProgress()) {
+                return existing;
+            }
+            owner[0] = true;
+            return new Entry(Status.RECEIVED, new CompletableFuture<>());
+        });
+        if (owner[0]) {
+            STATS.recordMisses(1);
+        } else {
+            STATS.recordHits(1);
+        }
+        log.debug("Claim for key: {} owner: {}", key, owner[0]);
+        return new Claim<>(owner[0], (CompletableFuture<T>) entry.result());
+    }
 
-    private static final ConcurrentHashMap<String, Status> cache = new ConcurrentHashMap<>(DEFAULT_CAPACITY);
+    /**
+     * Marks the key {@link Status#COMPLETED} and hands {@code result} to every request attached to it.
+     */
+    public void complete(String key, Object result) {
+        validateKey(key);
+        Entry entry = cache.asMap().computeIfPresent(key, (k, existing) -> new Entry(Status.COMPLETED, existing.result()));
+        if (entry != null) {
+            entry.result().complete(result);
+        }
+    }
 
-    public void putIfAbsent(String key, Status value) {
+    public void fail(String key, Throwable cause) {
         validateKey(key);
-        validateValue(value);
-        log.debug("Putting key: {} with value: {}", key, value);
-        cache.putIfAbsent(key, value);
+        Entry entry = cache.asMap().computeIfPresent(key, (k, existing) -> new Entry(Status.ERROR, existing.result()));
+        if (entry != null) {
+            entry.result().completeExceptionally(cause);
+        }
     }
 
     public Status get(String key) {
         validateKey(key);
         log.debug("Getting value for key: {}", key);
-        return cache.get(key);
+        var entry = cache.getIfPresent(key);
+        return entry != null ? entry.status() : null;
     }
 
+    /**
+     * Removes the key; requests still attached to it receive a {@code null} result.
+     */
     public void remove(String key) {
         validateKey(key);
         log.debug("Removing key: {}", key);
-        cache.remove(key);
+        var entry = cache.asMap().remove(key);
+        if (entry != null) {
+            entry.result().complete(null);
+        }
     }
 
     public void clearCompleted() {
         log.info("Clearing COMPLETED entries from cache");
-        cache.entrySet().removeIf(e -> e.getValue() == Status.COMPLETED);
+        cache.asMap().values().removeIf(entry -> entry.status() == Status.COMPLETED);
         log.info("Completed entries cleared");
     }
 
     public boolean containsKey(String key) {
         validateKey(key);
-        boolean present = cache.containsKey(key);
+        boolean present = cache.asMap().containsKey(key);
         log.debug("Contains key {}: {}", key, present);
         return present;
     }
 
-    public boolean isInProgress(String key) {
-        validateKey(key);
-        var value = cache.get(key);
-        boolean inProgress = value == Status.RECEIVED || value == Status.PROCESSING;
-        log.debug("Key {} is in progress: {}", key, inProgress);
-        return inProgress;
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
     }
 
     public void display() {
-        int size = cache.size();
+        long size = cache.estimatedSize();
         log.debug("Displaying cache content size {}:", size);
-        if (size > 0) {
-            cache.forEach((k, v) -> log.debug("Key: {} Value: {}", k, v));
+        if (size > 0 && log.isTraceEnabled()) {
+            cache.asMap().forEach((k, v) -> log.trace("Key: {} Value: {}", k, v.status()));
         }
     }
 
@@ -71,19 +189,20 @@ public enum IdempotentRequestCache {
         }
     }
 
-    private void validateValue(Status value) {
-        try {
-            Objects.requireNonNull(value, "value must not be null");
-        } catch (NullPointerException e) {
-            log.error("Validation failed: value is null");
-            throw e;
-        }
+    public record Claim<T>(boolean owner, CompletableFuture<T> result) {
+    }
+
+    private record Entry(Status status, CompletableFuture<Object> result) {
     }
 
     public enum Status {
         RECEIVED,
         PROCESSING,
         COMPLETED,
-        ERROR
+        ERROR;
+
+        public boolean isInProgress() {
+            return this == RECEIVED || this == PROCESSING;
+        }
     }
 }
@@ -0,0 +1,10 @@
+package com.example.demo.biz.commons.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public record BatchIdResponse(
+        List<String> ids,
+        Map<String, String> failed
+) {
+}
@@ -1,6 +1,5 @@
 package com.example.demo.biz.commons.memory.controllers;
 
-import com.example.commons.constants.RequestStatus;
 import com.example.commons.dto.create.ProductRequestDto;
 import com.example.commons.dto.create.ProductResponseDto;
 import com.example.demo.biz.commons.memory.services.IInMemoryProductService;
@@ -72,8 +71,7 @@ class CreateProductController {
         }
         log.info("Create product - Generated UUID: {}", uuid);
         productCreateQueueProducer.produce(uuid, product);
-        ProductCacheService.add(uuid, RequestStatus.IN_PROGRESS);
-        ProductCacheService.display();
+        ProductCacheService.INSTANCE.add(uuid);
         redirectAttributes.addFlashAttribute("message", "Product request pending");
         return uuid;
     }
@@ -0,0 +1,125 @@
+package com.example.demo.biz.commons.queues;
+
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps received messages invisible while they are still being processed.
+ * <p>
+ * Every third of the visibility timeout, messages tracked for at least that long get their visibility extended again
+ * through the {@link SqsMessageAcknowledger}, so a stall in parsing or dispatch does not let SQS redeliver them. A
+ * message still in flight after {@code maxInFlight} is dropped from tracking and left to expire.
+ */
+@Slf4j
+public class InFlightMessageTracker implements AutoCloseable {
+
+    // SQS caps a message's visibility timeout at 12 hours
+    private static final int SQS_MAX_VISIBILITY_SECONDS = 43_200;
+
+    private final SqsMessageAcknowledger acknowledger;
+    private final int visibilityTimeoutSeconds;
+    private final long heartbeatNanos;
+    private final long maxInFlightNanos;
+
+    private final Map<String, Long> inFlight = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService heartbeat;
+
+    public InFlightMessageTracker(SqsMessageAcknowledger acknowledger, int visibilityTimeoutSeconds, Duration maxInFlight, String name) {
+        this.acknowledger = acknowledger;
+        this.visibilityTimeoutSeconds = visibilityTimeoutSeconds;
+        long heartbeatSeconds = Math.max(1, visibilityTimeoutSeconds / 3);
+        this.heartbeatNanos = TimeUnit.SECONDS.toNanos(heartbeatSeconds);
+        this.maxInFlightNanos = maxInFlight.toNanos();
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name(name + "-heartbeat")
+                .daemon(true)
+                .factory());
+        this.heartbeat.scheduleWithFixedDelay(this::extend, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    public void track(Collection<Message> messages) {
+        long now = System.nanoTime();
+        messages.forEach(m -> {
+            if (m.receiptHandle() != null) {
+                inFlight.put(m.receiptHandle(), now);
+            }
+        });
+    }
+
+    public void untrack(Collection<Message> messages) {
+        messages.forEach(m -> {
+            if (m.receiptHandle() != null) {
+                inFlight.remove(m.receiptHandle());
+            }
+        });
+    }
+
+    public int size() {
+        return inFlight.size();
+    }
+
+    /**
+     * Queues a visibility extension for every message tracked for at least one heartbeat period.
+     */
+    public void extend() {
+        long now = System.nanoTime();
+        int extended = 0;
+        for (var entry : inFlight.entrySet()) {
+            long age = now - entry.getValue();
+            if (age >= maxInFlightNanos) {
+                if (inFlight.remove(entry.getKey(), entry.getValue())) {
+                    log.warn("extend - Message in flight for {} ms, no longer extending its visibility", TimeUnit.NANOSECONDS.toMillis(age));
+                }
+                continue;
+            }
+            if (age >= heartbeatNanos) {
+                acknowledger.changeVisibility(entry.getKey(), visibilityTimeoutSeconds);
+                extended++;
+            }
+        }
+        if (extended > 0) {
+            log.debug("extend - Extended visibility of {} in-flight messages by {} s", extended, visibilityTimeoutSeconds);
+        }
+    }
+
+    /**
+     * Release delay that doubles with each delivery of the message: {@code baseSeconds} on the first receive, capped
+     * at {@code maxSeconds}. Requires {@code ApproximateReceiveCount} to be requested on receive; otherwise the first
+     * delivery is assumed.
+     */
+    public static int backoffSeconds(Message message, int baseSeconds, int maxSeconds) {
+        int receiveCount = receiveCount(message);
+        long delay = (long) Math.max(0, baseSeconds) << Math.min(receiveCount - 1, 16);
+        return (int) Math.min(delay, Math.min(Math.max(0, maxSeconds), SQS_MAX_VISIBILITY_SECONDS));
+    }
+
+    /**
+     * @return the message's {@code ApproximateReceiveCount}, or 1 when it was not requested or cannot be read
+     */
+    public static int receiveCount(Message message) {
+        String value = message.attributes().get(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT);
+        if (value == null) {
+            return 1;
+        }
+        try {
+            return Math.max(1, Integer.parseInt(value));
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+
+    @Override
+    public void close() {
+        heartbeat.shutdownNow();
+        inFlight.clear();
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.demo.biz.commons.queues;
+
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Client-side batching for {@code SendMessage}: requests for one queue are buffered for at most {@code maxLinger}
+ * and flushed with {@code SendMessageBatch} in groups of up to {@code maxBatchSize} (SQS caps this at 10).
+ * <p>
+ * Each caller gets a future completed with its own messageId, or failed with the per-entry error SQS reported.
+ * Batches are sent on virtual threads, so a slow batch does not hold back the next one.
+ */
+@Slf4j
+public class SendMessageBatcher implements AutoCloseable {
+
+    public static final int SQS_MAX_BATCH_SIZE = 10;
+    // SendMessageBatch payload limit across all entries
+    private static final int SQS_MAX_BATCH_BYTES = 256 * 1024;
+
+    private final SqsClient sqsClient;
+    private final String queueUrl;
+    private final int maxBatchSize;
+    private final long maxLingerNanos;
+
+    private final BlockingQueue<Pending> buffer = new LinkedBlockingQueue<>();
+    private final ExecutorService sendExecutor;
+    private final Thread flusher;
+
+    // submit holds the read lock across its running check and enqueue, so close cannot strand a request in between
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+
+    private volatile boolean running = true;
+
+    private record Pending(SendMessageRequest request, CompletableFuture<String> future, int bytes) {
+    }
+
+    public SendMessageBatcher(SqsClient sqsClient, String queueUrl, int maxBatchSize, Duration maxLinger, String name) {
+        if (maxBatchSize < 1 || maxBatchSize > SQS_MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("maxBatchSize must be between 1 and " + SQS_MAX_BATCH_SIZE + ": " + maxBatchSize);
+        }
+        this.sqsClient = sqsClient;
+        this.queueUrl = queueUrl;
+        this.maxBatchSize = maxBatchSize;
+        this.maxLingerNanos = maxLinger.toNanos();
+        this.sendExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-send-", 0).factory());
+        this.flusher = Thread.ofPlatform().name(name + "-flusher").daemon(true).start(this::flushLoop);
+    }
+
+    /**
+     * Queues the request for the next batch; its queueUrl is ignored in favour of the batcher's.
+     */
+    public CompletableFuture<String> submit(SendMessageRequest request) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        closeLock.readLock().lock();
+        try {
+            if (!running) {
+                future.completeExceptionally(new RejectedExecutionException("SendMessageBatcher for " + queueUrl + " is closed"));
+                return future;
+            }
+            buffer.add(new Pending(request, future, bodyBytes(request)));
+        } finally {
+            closeLock.readLock().unlock();
+        }
+        return future;
+    }
+
+    /**
+     * Sends the requests right away on the calling thread, in {@code SendMessageBatch} calls of up to
+     * {@link #SQS_MAX_BATCH_SIZE} entries; no batcher instance or flusher thread is needed.
+     *
+     * @return one completed future per request, in request order
+     */
+    public static List<CompletableFuture<String>> sendInBatches(SqsClient sqsClient, String queueUrl, List<SendMessageRequest> requests) {
+        List<CompletableFuture<String>> futures = new ArrayList<>(requests.size());
+        List<Pending> batch = new ArrayList<>(SQS_MAX_BATCH_SIZE);
+        int bytes = 0;
+        for (SendMessageRequest request : requests) {
+            Pending next = new Pending(request, new CompletableFuture<>(), bodyBytes(request));
+            if (!batch.isEmpty() && (batch.size() == SQS_MAX_BATCH_SIZE || bytes + next.bytes() > SQS_MAX_BATCH_BYTES)) {
+                send(sqsClient, queueUrl, batch);
+                batch = new ArrayList<>(SQS_MAX_BATCH_SIZE);
+                bytes = 0;
+            }
+            batch.add(next);
+            bytes += next.bytes();
+            futures.add(next.future());
+        }
+        if (!batch.isEmpty()) {
+            send(sqsClient, queueUrl, batch);
+        }
+        return futures;
+    }
+
+    private static int bodyBytes(SendMessageRequest request) {
+        return request.messageBody() == null ? 0 : request.messageBody().getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private void flushLoop() {
+        log.info("flushLoop - Starting for queue {}", queueUrl);
+        List<Pending> batch = new ArrayList<>(maxBatchSize);
+        Pending carry = null;
+        while (running || !buffer.isEmpty() || carry != null) {
+            try {
+                Pending first = carry != null ? carry : buffer.poll(100, TimeUnit.MILLISECONDS);
+                carry = null;
+                if (first == null) continue;
+
+                batch.add(first);
+                int bytes = first.bytes();
+                long deadline = System.nanoTime() + maxLingerNanos;
+
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Pending next = remaining > 0 ? buffer.poll(remaining, TimeUnit.NANOSECONDS) : buffer.poll();
+                    if (next == null) break;
+                    if (bytes + next.bytes() > SQS_MAX_BATCH_BYTES) {
+                        carry = next;
+                        break;
+                    }
+                    batch.add(next);
+                    bytes += next.bytes();
+                }
+
+                List<Pending> toSend = List.copyOf(batch);
+                batch.clear();
+                sendExecutor.execute(() -> send(sqsClient, queueUrl, toSend));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RejectedExecutionException e) {
+                batch.forEach(p -> p.future().completeExceptionally(e));
+                batch.clear();
+            }
+        }
+        log.info("flushLoop - Stopped for queue {}", queueUrl);
+    }
+
+    private static void send(SqsClient sqsClient, String queueUrl, List<Pending> batch) {
+        List<SendMessageBatchRequestEntry> entries = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            entries.add(toEntry(String.valueOf(i), batch.get(i).request()));
+        }
+
+        try {
+            SendMessageBatchResponse response = sqsClient.sendMessageBatch(SendMessageBatchRequest.builder()
+                    .queueUrl(queueUrl)
+                    .entries(entries)
+                    .build());
+
+            Map<String, SendMessageBatchResultEntry> successful = response.hasSuccessful()
+                    ? response.successful().stream().collect(Collectors.toMap(SendMessageBatchResultEntry::id, Function.identity()))
+                    : Map.of();
+            Map<String, BatchResultErrorEntry> failed = response.hasFailed()
+                    ? response.failed().stream().collect(Collectors.toMap(BatchResultErrorEntry::id, Function.identity()))
+                    : Map.of();
+
+            for (int i = 0; i < batch.size(); i++) {
+                String id = String.valueOf(i);
+                CompletableFuture<String> future = batch.get(i).future();
+                if (successful.containsKey(id)) {
+                    future.complete(successful.get(id).messageId());
+                } else if (failed.containsKey(id)) {
+                    BatchResultErrorEntry error = failed.get(id);
+                    log.warn("send - Entry failed on queue {}: code={}, senderFault={}, message={}",
+                            queueUrl, error.code(), error.senderFault(), error.message());
+                    future.completeExceptionally(SqsException.builder()
+                            .message("SendMessageBatch entry failed: " + error.code() + " - " + error.message())
+                            .build());
+                } else {
+                    future.completeExceptionally(new IllegalStateException("SendMessageBatch returned no result for entry " + id));
+                }
+            }
+            log.debug("send - Flushed {} messages to {}", batch.size(), queueUrl);
+        } catch (SdkException e) {
+            log.error("send - SendMessageBatch failed for {} messages on {}: {}", batch.size(), queueUrl, e.getMessage(), e);
+            batch.forEach(p -> p.future().completeExceptionally(e));
+        } catch (RuntimeException e) {
+            log.error("send - Unexpected error flushing {} messages on {}", batch.size(), queueUrl, e);
+            batch.forEach(p -> p.future().completeExceptionally(e));
+        }
+    }
+
+    private static SendMessageBatchRequestEntry toEntry(String id, SendMessageRequest request) {
+        return SendMessageBatchRequestEntry.builder()
+                .id(id)
+                .messageBody(request.messageBody())
+                .messageAttributes(request.messageAttributes())
+                .messageSystemAttributes(request.messageSystemAttributes())
+                .delaySeconds(request.delaySeconds())
+                .messageGroupId(request.messageGroupId())
+                .messageDeduplicationId(request.messageDeduplicationId())
+                .build();
+    }
+
+    /**
+     * Stops accepting requests, flushes what is buffered and waits briefly for in-flight batches.
+     */
+    @Override
+    public void close() {
+        closeLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        try {
+            flusher.join(Duration.ofSeconds(5));
+            sendExecutor.shutdown();
+            if (!sendExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                sendExecutor.shutdownNow();
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            sendExecutor.shutdownNow();
+        }
+        Pending left;
+        while ((left = buffer.poll()) != null) {
+            left.future().completeExceptionally(new RejectedExecutionException("SendMessageBatcher for " + queueUrl + " closed before send"));
+        }
+    }
+}
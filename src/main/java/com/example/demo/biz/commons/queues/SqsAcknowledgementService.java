@@ -0,0 +1,81 @@
+package com.example.demo.biz.commons.queues;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared entry point for acknowledging messages: one {@link SqsMessageAcknowledger} per queue, created on first use,
+ * so deletes from every consumer of a queue end up in the same batches. A consumer on the {@link SqsAsyncClient} creates
+ * its queue's acknowledger with {@link #acknowledger(String, SqsAsyncClient)}, so its acks are non-blocking too.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class SqsAcknowledgementService {
+
+    private final SqsClient sqsClient;
+
+    private final Map<String, SqsMessageAcknowledger> acknowledgers = new ConcurrentHashMap<>();
+
+    @Value("${aws.sqs.ack.lingerMs:10}")
+    private long lingerMs;
+
+    @Value("${aws.sqs.ack.maxRetries:3}")
+    private int maxRetries;
+
+    public void delete(String queueUrl, String receiptHandle) {
+        acknowledger(queueUrl).delete(receiptHandle);
+    }
+
+    public void delete(String queueUrl, Collection<Message> messages) {
+        acknowledger(queueUrl).delete(messages);
+    }
+
+    public void changeVisibility(String queueUrl, String receiptHandle, int visibilityTimeoutSeconds) {
+        acknowledger(queueUrl).changeVisibility(receiptHandle, visibilityTimeoutSeconds);
+    }
+
+    public void changeVisibility(String queueUrl, Collection<Message> messages, int visibilityTimeoutSeconds) {
+        acknowledger(queueUrl).changeVisibility(messages, visibilityTimeoutSeconds);
+    }
+
+    public SqsMessageAcknowledger acknowledger(String queueUrl) {
+        return acknowledgers.computeIfAbsent(queueUrl, url -> {
+            log.info("acknowledger - Creating acknowledger for queue {}", url);
+            return new SqsMessageAcknowledger(sqsClient, url, Duration.ofMillis(Math.max(0, lingerMs)), maxRetries,
+                    "sqs-" + acknowledgers.size());
+        });
+    }
+
+    /**
+     * Creates the queue's acknowledger on the async client, unless one already exists, which is then returned as is.
+     */
+    public SqsMessageAcknowledger acknowledger(String queueUrl, SqsAsyncClient sqsAsyncClient) {
+        SqsMessageAcknowledger created = acknowledgers.computeIfAbsent(queueUrl, url -> {
+            log.info("acknowledger - Creating async acknowledger for queue {}", url);
+            return new SqsMessageAcknowledger(sqsAsyncClient, url, Duration.ofMillis(Math.max(0, lingerMs)), maxRetries,
+                    "sqs-async-" + acknowledgers.size());
+        });
+        if (!created.isAsync()) {
+            log.warn("acknowledger - Queue {} already acknowledges on the blocking client", queueUrl);
+        }
+        return created;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        acknowledgers.values().forEach(SqsMessageAcknowledger::close);
+        acknowledgers.clear();
+    }
+}
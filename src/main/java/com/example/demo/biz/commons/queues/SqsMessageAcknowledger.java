@@ -0,0 +1,276 @@
+package com.example.demo.biz.commons.queues;
+
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Acknowledges messages off the caller's thread: deletes and visibility changes from any number of receive batches are
+ * buffered for at most {@code maxLinger} and flushed with {@code DeleteMessageBatch} /
+ * {@code ChangeMessageVisibilityBatch} in groups of up to {@value #SQS_MAX_BATCH_SIZE}. With an {@link SqsClient} each
+ * batch call runs on its own virtual thread; with an {@link SqsAsyncClient} the calls are non-blocking and no thread
+ * waits on them.
+ * <p>
+ * Entries SQS rejects on its side (or a whole failed call) are retried with backoff up to {@code maxRetries} times;
+ * sender faults such as an expired receipt handle are logged and dropped, as the message will be redelivered anyway.
+ */
+@Slf4j
+public class SqsMessageAcknowledger implements AutoCloseable {
+
+    public static final int SQS_MAX_BATCH_SIZE = 10;
+    private static final int DEFAULT_MAX_RETRIES = 3;
+    private static final long RETRY_BASE_BACKOFF_MS = 100L;
+
+    private final Function<DeleteMessageBatchRequest, CompletableFuture<DeleteMessageBatchResponse>> deleteCall;
+    private final Function<ChangeMessageVisibilityBatchRequest, CompletableFuture<ChangeMessageVisibilityBatchResponse>> changeVisibilityCall;
+    private final String queueUrl;
+    private final long maxLingerNanos;
+    private final int maxRetries;
+
+    private final BlockingQueue<Ack> buffer = new LinkedBlockingQueue<>();
+    // only for the blocking client
+    private final ExecutorService sendExecutor;
+    private final Set<CompletableFuture<?>> inFlight = ConcurrentHashMap.newKeySet();
+    private final Thread flusher;
+
+    private volatile boolean running = true;
+
+    private record Ack(String receiptHandle, Integer visibilityTimeoutSeconds, int attempt) {
+
+        boolean isDelete() {
+            return visibilityTimeoutSeconds == null;
+        }
+
+        Ack retry() {
+            return new Ack(receiptHandle, visibilityTimeoutSeconds, attempt + 1);
+        }
+    }
+
+    public SqsMessageAcknowledger(SqsClient sqsClient, String queueUrl, Duration maxLinger, String name) {
+        this(sqsClient, queueUrl, maxLinger, DEFAULT_MAX_RETRIES, name);
+    }
+
+    public SqsMessageAcknowledger(SqsClient sqsClient, String queueUrl, Duration maxLinger, int maxRetries, String name) {
+        this.sendExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-ack-", 0).factory());
+        this.deleteCall = request -> CompletableFuture.supplyAsync(() -> sqsClient.deleteMessageBatch(request), sendExecutor);
+        this.changeVisibilityCall = request -> CompletableFuture.supplyAsync(() -> sqsClient.changeMessageVisibilityBatch(request), sendExecutor);
+        this.queueUrl = queueUrl;
+        this.maxLingerNanos = maxLinger.toNanos();
+        this.maxRetries = Math.max(0, maxRetries);
+        this.flusher = Thread.ofPlatform().name(name + "-ack-flusher").daemon(true).start(this::flushLoop);
+    }
+
+    public SqsMessageAcknowledger(SqsAsyncClient sqsAsyncClient, String queueUrl, Duration maxLinger, int maxRetries, String name) {
+        this.sendExecutor = null;
+        this.deleteCall = sqsAsyncClient::deleteMessageBatch;
+        this.changeVisibilityCall = sqsAsyncClient::changeMessageVisibilityBatch;
+        this.queueUrl = queueUrl;
+        this.maxLingerNanos = maxLinger.toNanos();
+        this.maxRetries = Math.max(0, maxRetries);
+        this.flusher = Thread.ofPlatform().name(name + "-ack-flusher").daemon(true).start(this::flushLoop);
+    }
+
+    /**
+     * Queues the messages for deletion and returns immediately.
+     */
+    public void delete(Collection<Message> messages) {
+        messages.forEach(m -> delete(m.receiptHandle()));
+    }
+
+    public void delete(String receiptHandle) {
+        enqueue(receiptHandle, null);
+    }
+
+    /**
+     * Queues a visibility change, e.g. to hand a message back to the queue after {@code visibilityTimeoutSeconds}.
+     */
+    public void changeVisibility(Collection<Message> messages, int visibilityTimeoutSeconds) {
+        messages.forEach(m -> changeVisibility(m.receiptHandle(), visibilityTimeoutSeconds));
+    }
+
+    public void changeVisibility(String receiptHandle, int visibilityTimeoutSeconds) {
+        enqueue(receiptHandle, Math.max(0, visibilityTimeoutSeconds));
+    }
+
+    public boolean isAsync() {
+        return sendExecutor == null;
+    }
+
+    public int pending() {
+        return buffer.size();
+    }
+
+    private void enqueue(String receiptHandle, Integer visibilityTimeoutSeconds) {
+        if (receiptHandle == null || receiptHandle.isBlank()) {
+            return;
+        }
+        if (!running) {
+            log.warn("enqueue - Acknowledger for {} is closed, message will be redelivered", queueUrl);
+            return;
+        }
+        buffer.add(new Ack(receiptHandle, visibilityTimeoutSeconds, 0));
+    }
+
+    private void flushLoop() {
+        log.info("flushLoop - Starting for queue {}", queueUrl);
+        List<Ack> deletes = new ArrayList<>(SQS_MAX_BATCH_SIZE);
+        List<Ack> changes = new ArrayList<>(SQS_MAX_BATCH_SIZE);
+        while (running || !buffer.isEmpty()) {
+            try {
+                Ack first = buffer.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+
+                (first.isDelete() ? deletes : changes).add(first);
+                long deadline = System.nanoTime() + maxLingerNanos;
+                while (deletes.size() < SQS_MAX_BATCH_SIZE && changes.size() < SQS_MAX_BATCH_SIZE) {
+                    long remaining = deadline - System.nanoTime();
+                    Ack next = remaining > 0 ? buffer.poll(remaining, TimeUnit.NANOSECONDS) : buffer.poll();
+                    if (next == null) break;
+                    (next.isDelete() ? deletes : changes).add(next);
+                }
+
+                if (!deletes.isEmpty()) {
+                    List<Ack> toDelete = List.copyOf(deletes);
+                    deletes.clear();
+                    deleteBatch(toDelete);
+                }
+                if (!changes.isEmpty()) {
+                    List<Ack> toChange = List.copyOf(changes);
+                    changes.clear();
+                    changeVisibilityBatch(toChange);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RejectedExecutionException e) {
+                log.warn("flushLoop - {} acks dropped on shutdown, messages will be redelivered", deletes.size() + changes.size());
+                deletes.clear();
+                changes.clear();
+            }
+        }
+        log.info("flushLoop - Stopped for queue {}", queueUrl);
+    }
+
+    private void deleteBatch(List<Ack> acks) {
+        List<DeleteMessageBatchRequestEntry> entries = new ArrayList<>(acks.size());
+        for (int i = 0; i < acks.size(); i++) {
+            entries.add(DeleteMessageBatchRequestEntry.builder()
+                    .id(String.valueOf(i))
+                    .receiptHandle(acks.get(i).receiptHandle())
+                    .build());
+        }
+
+        track(deleteCall.apply(DeleteMessageBatchRequest.builder()
+                .queueUrl(queueUrl)
+                .entries(entries)
+                .build()), (response, throwable) -> {
+            if (throwable != null) {
+                Throwable cause = unwrap(throwable);
+                log.error("deleteBatch - DeleteMessageBatch failed for {} messages on {}: {}", acks.size(), queueUrl, cause.getMessage(), cause);
+                acks.forEach(this::retry);
+                return;
+            }
+            if (response != null && response.hasFailed()) {
+                handleFailures(acks, response.failed());
+            }
+            log.debug("deleteBatch - Deleted {} messages from {}", acks.size(), queueUrl);
+        });
+    }
+
+    private void changeVisibilityBatch(List<Ack> acks) {
+        List<ChangeMessageVisibilityBatchRequestEntry> entries = new ArrayList<>(acks.size());
+        for (int i = 0; i < acks.size(); i++) {
+            entries.add(ChangeMessageVisibilityBatchRequestEntry.builder()
+                    .id(String.valueOf(i))
+                    .receiptHandle(acks.get(i).receiptHandle())
+                    .visibilityTimeout(acks.get(i).visibilityTimeoutSeconds())
+                    .build());
+        }
+
+        track(changeVisibilityCall.apply(ChangeMessageVisibilityBatchRequest.builder()
+                .queueUrl(queueUrl)
+                .entries(entries)
+                .build()), (response, throwable) -> {
+            if (throwable != null) {
+                Throwable cause = unwrap(throwable);
+                log.error("changeVisibilityBatch - ChangeMessageVisibilityBatch failed for {} messages on {}: {}", acks.size(), queueUrl, cause.getMessage(), cause);
+                acks.forEach(this::retry);
+                return;
+            }
+            if (response != null && response.hasFailed()) {
+                handleFailures(acks, response.failed());
+            }
+            log.debug("changeVisibilityBatch - Changed visibility of {} messages on {}", acks.size(), queueUrl);
+        });
+    }
+
+    // in-flight calls are awaited on close
+    private <T> void track(CompletableFuture<T> call, BiConsumer<T, Throwable> onDone) {
+        CompletableFuture<Void> done = call.whenComplete(onDone).handle((ignored, throwable) -> null);
+        inFlight.add(done);
+        done.whenComplete((ignored, throwable) -> inFlight.remove(done));
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+    }
+
+    private void handleFailures(List<Ack> acks, List<BatchResultErrorEntry> failures) {
+        for (BatchResultErrorEntry failure : failures) {
+            Ack ack = acks.get(Integer.parseInt(failure.id()));
+            if (Boolean.TRUE.equals(failure.senderFault())) {
+                log.warn("handleFailures - Dropping {} on {}: code={}, message={}",
+                        ack.isDelete() ? "delete" : "visibility change", queueUrl, failure.code(), failure.message());
+                continue;
+            }
+            retry(ack);
+        }
+    }
+
+    private void retry(Ack ack) {
+        if (ack.attempt() >= maxRetries) {
+            log.error("retry - Giving up on {} after {} attempts on {}, message will be redelivered",
+                    ack.isDelete() ? "delete" : "visibility change", ack.attempt() + 1, queueUrl);
+            return;
+        }
+        long backoff = RETRY_BASE_BACKOFF_MS << ack.attempt();
+        CompletableFuture.delayedExecutor(backoff, TimeUnit.MILLISECONDS).execute(() -> {
+            if (running) {
+                buffer.add(ack.retry());
+            }
+        });
+    }
+
+    /**
+     * Stops accepting acks, flushes what is buffered and waits briefly for in-flight batches.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            flusher.join(Duration.ofSeconds(5));
+            CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("close - Batch calls still in flight on {}, messages will be redelivered", queueUrl);
+        }
+        if (sendExecutor != null) {
+            sendExecutor.shutdownNow();
+        }
+        if (!buffer.isEmpty()) {
+            log.warn("close - {} acks not flushed on {}, messages will be redelivered", buffer.size(), queueUrl);
+            buffer.clear();
+        }
+    }
+}
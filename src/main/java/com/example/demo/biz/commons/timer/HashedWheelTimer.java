@@ -0,0 +1,284 @@
+package com.example.demo.biz.commons.timer;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Deadline timer for large numbers of short-lived timeouts that are usually cancelled before they fire.
+ * <p>
+ * Timeouts are hashed into a ring of {@code ticksPerWheel} buckets by deadline; a single worker thread advances one
+ * bucket per {@code tickDuration} and runs what is due there. Scheduling and cancelling are O(1) and lock-free for the
+ * caller: both only enqueue, and the worker moves entries into and out of buckets on its next tick. Deadlines are
+ * therefore honoured with a precision of one tick, and tasks run on the worker thread, so they must be short.
+ */
+@Slf4j
+public class HashedWheelTimer implements AutoCloseable {
+
+    // upper bound of new timeouts moved into the wheel per tick, so a burst cannot stall expiry
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+
+    private final Queue<Entry> added = new ConcurrentLinkedQueue<>();
+    private final Queue<Entry> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final long startNanos;
+    private final Thread worker;
+
+    private volatile boolean running = true;
+
+    // only touched by the worker thread
+    private long tick;
+
+    public interface Timeout {
+
+        /**
+         * @return {@code true} if the task had neither run nor been cancelled yet
+         */
+        boolean cancel();
+
+        boolean isCancelled();
+
+        boolean isExpired();
+    }
+
+    public HashedWheelTimer(Duration tickDuration, int ticksPerWheel, String name) {
+        Objects.requireNonNull(tickDuration, "tickDuration must not be null");
+        if (tickDuration.isNegative() || tickDuration.isZero()) {
+            throw new IllegalArgumentException("tickDuration must be positive: " + tickDuration);
+        }
+        if (ticksPerWheel <= 0 || ticksPerWheel > 1 << 30) {
+            throw new IllegalArgumentException("ticksPerWheel must be in (0, 2^30]: " + ticksPerWheel);
+        }
+        this.tickNanos = tickDuration.toNanos();
+        int size = ticksPerWheel == 1 ? 1 : Integer.highestOneBit(ticksPerWheel - 1) << 1;
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.startNanos = System.nanoTime();
+        this.worker = Thread.ofPlatform().name(name).daemon(true).start(this::run);
+    }
+
+    /**
+     * Schedules {@code task} to run once, {@code delay} from now rounded up to the next tick.
+     *
+     * @throws RejectedExecutionException if the timer has been closed
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        Objects.requireNonNull(task, "task must not be null");
+        Objects.requireNonNull(unit, "unit must not be null");
+        if (!running) {
+            throw new RejectedExecutionException("Timer " + worker.getName() + " is closed");
+        }
+        long deadline = System.nanoTime() - startNanos + Math.max(0, unit.toNanos(delay));
+        Entry entry = new Entry(task, deadline);
+        pending.incrementAndGet();
+        added.add(entry);
+        return entry;
+    }
+
+    /**
+     * @return timeouts scheduled and neither expired nor cancelled yet
+     */
+    public int pending() {
+        return pending.get();
+    }
+
+    public int wheelSize() {
+        return wheel.length;
+    }
+
+    private void run() {
+        while (running) {
+            if (!waitForNextTick()) {
+                break;
+            }
+            removeCancelled();
+            transferAdded();
+            wheel[(int) (tick & mask)].expire();
+            tick++;
+        }
+        log.debug("run - Timer {} stopped with {} timeouts pending", worker.getName(), pending.get());
+    }
+
+    /**
+     * Sleeps until the end of the current tick, so every entry due in it has reached its deadline.
+     *
+     * @return {@code false} when closed
+     */
+    private boolean waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        while (true) {
+            long sleepNanos = deadline - (System.nanoTime() - startNanos);
+            if (sleepNanos <= 0) {
+                return true;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(sleepNanos);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    return false;
+                }
+            }
+        }
+    }
+
+    private void transferAdded() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Entry entry = added.poll();
+            if (entry == null) {
+                return;
+            }
+            if (entry.state.get() != Entry.ST_INIT) {
+                continue;
+            }
+            long dueTick = entry.deadline / tickNanos;
+            entry.remainingRounds = (dueTick - tick) / wheel.length;
+            // already overdue entries go into the current bucket and fire on this tick
+            wheel[(int) (Math.max(dueTick, tick) & mask)].add(entry);
+        }
+    }
+
+    private void removeCancelled() {
+        Entry entry;
+        while ((entry = cancelled.poll()) != null) {
+            if (entry.bucket != null) {
+                entry.bucket.remove(entry);
+            }
+        }
+    }
+
+    /**
+     * Stops the worker; timeouts that have not fired are dropped without running.
+     */
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(Duration.ofSeconds(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        added.clear();
+        cancelled.clear();
+    }
+
+    private final class Entry implements Timeout {
+
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(ST_INIT);
+
+        // bucket links, only touched by the worker thread
+        private long remainingRounds;
+        private Bucket bucket;
+        private Entry next;
+        private Entry prev;
+
+        private Entry(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!state.compareAndSet(ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            pending.decrementAndGet();
+            cancelled.add(this);
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state.get() == ST_CANCELLED;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return state.get() == ST_EXPIRED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(ST_INIT, ST_EXPIRED)) {
+                return;
+            }
+            pending.decrementAndGet();
+            try {
+                task.run();
+            } catch (Throwable t) {
+                log.warn("expire - Timeout task on {} failed: {}", worker.getName(), t.getMessage(), t);
+            }
+        }
+    }
+
+    private final class Bucket {
+
+        private Entry head;
+        private Entry tail;
+
+        private void add(Entry entry) {
+            entry.bucket = this;
+            if (head == null) {
+                head = tail = entry;
+            } else {
+                tail.next = entry;
+                entry.prev = tail;
+                tail = entry;
+            }
+        }
+
+        private void expire() {
+            Entry entry = head;
+            while (entry != null) {
+                Entry next = entry.next;
+                if (entry.remainingRounds <= 0) {
+                    remove(entry);
+                    entry.expire();
+                } else if (entry.isCancelled()) {
+                    remove(entry);
+                } else {
+                    entry.remainingRounds--;
+                }
+                entry = next;
+            }
+        }
+
+        private void remove(Entry entry) {
+            if (entry.bucket != this) {
+                return;
+            }
+            if (entry.prev != null) {
+                entry.prev.next = entry.next;
+            } else {
+                head = entry.next;
+            }
+            if (entry.next != null) {
+                entry.next.prev = entry.prev;
+            } else {
+                tail = entry.prev;
+            }
+            entry.next = null;
+            entry.prev = null;
+            entry.bucket = null;
+        }
+    }
+}
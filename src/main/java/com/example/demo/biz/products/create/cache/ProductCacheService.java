@@ -1,68 +1,157 @@
 package com.example.demo.biz.products.create.cache;
 
-import com.example.commons.constants.RequestStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Optional;
 
+/**
+ * Status of product creates by correlationId: {@link State#IN_PROGRESS} once the request is queued, then
+ * {@link State#CREATED} with the product id once the reply is consumed.
+ * <p>
+ * Size-bounded and expired per state, so ids whose status is never read are reclaimed without a scan. A created id is
+ * removed by the read that returns it ({@link #takeCreated}). Defaults apply until {@link #configure} is called at
+ * startup.
+ */
 @Slf4j
 public enum ProductCacheService {
 
     INSTANCE;
 
-    private static final int DEFAULT_CAPACITY = 128;
-    
-    private static final ConcurrentHashMap<String, Object> cache = new ConcurrentHashMap<>(DEFAULT_CAPACITY);
+    // compile-time constants: enum statics other than these are not yet initialized when INSTANCE is built
+    private static final long DEFAULT_MAX_SIZE = 100_000;
+    private static final long DEFAULT_IN_PROGRESS_TTL_MINUTES = 5;
+    private static final long DEFAULT_CREATED_TTL_MINUTES = 5;
 
-    public static void add(String key, RequestStatus value) {
-        log.info("Adding key: {} with value: {}", key, value);
+    private volatile Cache<String, CreateStatus> cache =
+            build(DEFAULT_MAX_SIZE, Duration.ofMinutes(DEFAULT_IN_PROGRESS_TTL_MINUTES), Duration.ofMinutes(DEFAULT_CREATED_TTL_MINUTES));
+
+    /**
+     * Replaces the backing cache with one using the given limits; current entries are carried over.
+     */
+    public synchronized Cache<String, ?> configure(long maxSize, Duration inProgressTtl, Duration createdTtl) {
+        Objects.requireNonNull(inProgressTtl, "inProgressTtl must not be null");
+        Objects.requireNonNull(createdTtl, "createdTtl must not be null");
+        Cache<String, CreateStatus> configured = build(maxSize, inProgressTtl, createdTtl);
+        configured.putAll(cache.asMap());
+        cache = configured;
+        log.info("Configured cache with maxSize: {}, inProgressTtl: {}, createdTtl: {}", maxSize, inProgressTtl, createdTtl);
+        return configured;
+    }
+
+    private static Cache<String, CreateStatus> build(long maxSize, Duration inProgressTtl, Duration createdTtl) {
+        long inProgressNanos = inProgressTtl.toNanos();
+        long createdNanos = createdTtl.toNanos();
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, CreateStatus>() {
+                    @Override
+                    public long expireAfterCreate(String key, CreateStatus value, long currentTime) {
+                        return value.isCreated() ? createdNanos : inProgressNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CreateStatus value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CreateStatus value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .removalListener((String key, CreateStatus value, RemovalCause cause) -> {
+                    if (cause.wasEvicted()) {
+                        log.debug("Evicted key: {} with value: {} ({})", key, value, cause);
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Marks the create as queued, unless a status is already recorded for the key.
+     */
+    public void add(String key) {
+        validateKey(key);
+        var previous = cache.asMap().putIfAbsent(key, CreateStatus.IN_PROGRESS);
+        log.debug("Added key: {}, previous value: {}", key, previous);
+    }
+
+    public void update(String key, String productId) {
         validateKey(key);
-        validateValue(value);
-        var result = cache.putIfAbsent(key, value);
-        log.info("Added key: {} with value: {}, previous value: {}", key, value, result);
+        validateValue(productId);
+        cache.put(key, CreateStatus.created(productId));
+        log.debug("Updated key: {} with productId: {}", key, productId);
     }
 
-    public static Object get(String key) {
-        log.info("Getting value for key: {}", key);
+    /**
+     * @return the recorded status, without removing it
+     */
+    public CreateStatus get(String key) {
         validateKey(key);
-        var result = cache.get(key);
-        log.info("Got value: {} for key: {}", result, key);
-        return result;
+        return cache.getIfPresent(key);
     }
 
-    public static void update(String key, Object value) {
-        log.info("Updating key: {} with value: {}", key, value);
+    /**
+     * Removes the key if its product has been created.
+     *
+     * @return the product id, or empty while the create is in progress or unknown
+     */
+    public Optional<String> takeCreated(String key) {
         validateKey(key);
-        validateValue(value);
-        cache.put(key, value);
-        log.info("Updated key: {} with value: {}", key, value);
+        CreateStatus[] taken = new CreateStatus[1];
+        cache.asMap().computeIfPresent(key, (k, status) -> {
+            if (!status.isCreated()) {
+                return status;
+            }
+            taken[0] = status;
+            return null;
+        });
+        log.debug("Took key: {} value: {}", key, taken[0]);
+        return Optional.ofNullable(taken[0]).map(CreateStatus::productId);
     }
 
-    public static Object remove(String key) {
-        log.info("Removing key: {}", key);
+    public CreateStatus remove(String key) {
         validateKey(key);
-        var removed = cache.remove(key);
-        log.info("Removed value: {} for key: {}", removed, key);
+        var removed = cache.asMap().remove(key);
+        log.debug("Removed value: {} for key: {}", removed, key);
         return removed;
     }
 
-    public static void clear() {
-        cache.clear();
+    public void clear() {
+        cache.invalidateAll();
         log.info("Cache cleared successfully");
     }
 
-    public static Map<String, Object> getCache() {
-        log.info("Getting cache");
-        display();
-        return cache;
+    /**
+     * @return a live, weakly consistent view of the entries
+     */
+    public Map<String, CreateStatus> getCache() {
+        return cache.asMap();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
     }
 
-    public static void display() {
-        log.info("Displaying cache content size {}:", cache.size());
-        if (!cache.isEmpty())
-            cache.forEach((k, v) -> log.info("key: {}, value: {}", k, v));
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public void display() {
+        long size = cache.estimatedSize();
+        log.debug("Displaying cache content size {}:", size);
+        if (size > 0 && log.isTraceEnabled()) {
+            cache.asMap().forEach((k, v) -> log.trace("key: {}, value: {}", k, v));
+        }
     }
 
     private static void validateKey(String key) {
@@ -82,4 +171,22 @@ public enum ProductCacheService {
             throw e;
         }
     }
+
+    public record CreateStatus(State state, String productId) {
+
+        private static final CreateStatus IN_PROGRESS = new CreateStatus(State.IN_PROGRESS, null);
+
+        public static CreateStatus created(String productId) {
+            return new CreateStatus(State.CREATED, productId);
+        }
+
+        public boolean isCreated() {
+            return state == State.CREATED;
+        }
+    }
+
+    public enum State {
+        IN_PROGRESS,
+        CREATED
+    }
 }
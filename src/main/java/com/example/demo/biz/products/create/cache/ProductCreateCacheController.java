@@ -16,9 +16,8 @@ public class ProductCreateCacheController {
 
     @GetMapping("/cache")
     public HttpEntity<?> getCacheData() {
-        var cache = ProductCacheService.getCache();
-        log.info("products - cache - size: {}", cache.size());
-        cache.forEach((k, v) -> log.info(">>>> key: {}, value: {}", k, v));
+        var cache = ProductCacheService.INSTANCE.getCache();
+        log.info("products - cache - size: {}", ProductCacheService.INSTANCE.size());
         return ResponseEntity.ok(cache);
     }
 
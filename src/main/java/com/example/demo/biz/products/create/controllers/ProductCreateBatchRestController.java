@@ -0,0 +1,84 @@
+package com.example.demo.biz.products.create.controllers;
+
+import com.example.commons.dto.create.ProductRequestDto;
+import com.example.demo.biz.commons.dto.BatchIdResponse;
+import com.example.demo.biz.products.create.cache.ProductCacheService;
+import com.example.demo.biz.products.create.queues.producer.IProductCreateQueueProducer;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.*;
+
+/**
+ * Bulk create: every product in the body gets its own correlationId and the whole set is handed to the producer in
+ * one call, which sends it with {@code SendMessageBatch} in groups of up to 10.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/product/batch")
+public class ProductCreateBatchRestController {
+
+    private final IProductCreateQueueProducer productCreateQueueProducer;
+
+    private final Validator validator;
+
+    @Value("${products.create.batch.maxItems:100}")
+    private int maxItems;
+
+    @PostMapping(consumes = "application/json", produces = "application/json")
+    public ResponseEntity<BatchIdResponse> createAll(@RequestBody List<ProductRequestDto> products) {
+        log.info("=================================================================================================");
+
+        if (products == null || products.isEmpty()) {
+            log.error("createAll - Empty product list");
+            return ResponseEntity.badRequest().build();
+        }
+        if (products.size() > maxItems) {
+            log.error("createAll - {} products exceeds the limit of {}", products.size(), maxItems);
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        for (int i = 0; i < products.size(); i++) {
+            if (products.get(i) == null || !validator.validate(products.get(i)).isEmpty()) {
+                log.error("createAll - Invalid product request at index {}", i);
+                return ResponseEntity.badRequest().build();
+            }
+        }
+
+        Map<String, ProductRequestDto> byCorrelationId = new LinkedHashMap<>();
+        products.forEach(product -> byCorrelationId.put(UUID.randomUUID().toString(), product));
+
+        Map<String, Exception> failures;
+        try {
+            failures = productCreateQueueProducer.produceAll(byCorrelationId);
+        } catch (Exception e) {
+            log.error("createAll - Exception producing {} products", byCorrelationId.size(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+
+        List<String> ids = new ArrayList<>(byCorrelationId.size());
+        Map<String, String> failed = new LinkedHashMap<>();
+        byCorrelationId.keySet().forEach(correlationId -> {
+            Exception failure = failures.get(correlationId);
+            if (failure != null) {
+                failed.put(correlationId, String.valueOf(failure.getMessage()));
+                return;
+            }
+            ProductCacheService.INSTANCE.add(correlationId);
+            ids.add(correlationId);
+        });
+
+        log.info("createAll - Enqueued {} of {} products", ids.size(), byCorrelationId.size());
+        HttpStatus status = ids.isEmpty() ? HttpStatus.INTERNAL_SERVER_ERROR : HttpStatus.OK;
+        return ResponseEntity.status(status).body(new BatchIdResponse(ids, failed));
+    }
+
+}
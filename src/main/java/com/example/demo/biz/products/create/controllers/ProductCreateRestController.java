@@ -15,7 +15,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
-import static com.example.commons.constants.RequestStatus.IN_PROGRESS;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -23,6 +24,8 @@ import static com.example.commons.constants.RequestStatus.IN_PROGRESS;
 @RequestMapping("/api/product")
 public class ProductCreateRestController {
 
+    private static final long DUPLICATE_WAIT_SECONDS = 5;
+
     private final IProductCreateQueueProducer productCreateQueueProducer;
 
     @GetMapping(path = "/{id}", produces = "application/json")
@@ -34,26 +37,27 @@ public class ProductCreateRestController {
             return ResponseEntity.badRequest().build();
         }
 
-        if (IdempotentRequestCache.INSTANCE.isInProgress(id)) {
+        if (!IdempotentRequestCache.INSTANCE.tryClaim(id).owner()) {
             log.info("ProductCreateRestController::getCreatedId - correlation id is in progress");
             return ResponseEntity.ok().build();
         }
 
         log.info("ProductCreateRestController::getCreatedId - correlation id is not in cache");
-        IdempotentRequestCache.INSTANCE.putIfAbsent(id, IdempotentRequestCache.Status.RECEIVED);
 
-        Object productId = ProductCacheService.get(id);
+        try {
+            // a created id is handed out once and then dropped from the cache
+            Optional<String> productId = ProductCacheService.INSTANCE.takeCreated(id);
 
-        log.info("ProductCreateRestController::getCreatedId - product - id: {} value is: {}", id, productId);
+            if (productId.isEmpty()) {
+                log.info("ProductCreateRestController::getCreatedId - product id is unknown or IN_PROGRESS");
+                return ResponseEntity.ok().build();
+            }
 
-        if (productId == null || productId.equals(IN_PROGRESS)) {
-            log.info("ProductCreateRestController::getCreatedId - product id is null or IN_PROGRESS");
-            return ResponseEntity.ok().build();
+            log.info("ProductCreateRestController::getCreatedId - product id: {}", productId.get());
+            return new ResponseEntity<>(productId.get(), HttpStatus.CREATED);
+        } finally {
+            IdempotentRequestCache.INSTANCE.remove(id);
         }
-
-        log.info("ProductCreateRestController::getCreatedId - product id: {}", productId);
-        IdempotentRequestCache.INSTANCE.remove(id);
-        return new ResponseEntity<>(productId, HttpStatus.CREATED);
     }
 
     @PostMapping
@@ -74,21 +78,25 @@ public class ProductCreateRestController {
             throw new IllegalArgumentException("No correlation Id - Product id must be provided");
         }
 
-        if (IdempotentRequestCache.INSTANCE.isInProgress(correlationId)) {
-            log.info("ProductCreateRestController::create - correlation id is in progress");
-            return ResponseEntity.ok().build();
+        IdempotentRequestCache.Claim<IdResponse> claim = IdempotentRequestCache.INSTANCE.tryClaim(correlationId);
+        if (!claim.owner()) {
+            log.info("ProductCreateRestController::create - correlation id is in progress, sharing its result");
+            IdResponse shared = claim.result().copy()
+                    .completeOnTimeout(null, DUPLICATE_WAIT_SECONDS, TimeUnit.SECONDS)
+                    .exceptionally(t -> null)
+                    .join();
+            return shared == null ? ResponseEntity.ok().build() : ResponseEntity.ok(shared);
         }
 
         log.info("ProductCreateRestController::create - Generated from product UUID: {}", correlationId);
 
-        IdempotentRequestCache.INSTANCE.putIfAbsent(correlationId, IdempotentRequestCache.Status.RECEIVED);
-
         try {
             productCreateQueueProducer.produce(correlationId, product);
-            ProductCacheService.add(correlationId, IN_PROGRESS);
-            ProductCacheService.display();
+            ProductCacheService.INSTANCE.add(correlationId);
+            IdempotentRequestCache.INSTANCE.complete(correlationId, new IdResponse(correlationId));
         } catch (Exception e) {
             log.error("ProductCreateRestController::create - Exception: ", e);
+            IdempotentRequestCache.INSTANCE.fail(correlationId, e);
         } finally {
             IdempotentRequestCache.INSTANCE.remove(correlationId);
         }
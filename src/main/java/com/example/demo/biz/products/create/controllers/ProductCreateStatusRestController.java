@@ -0,0 +1,141 @@
+package com.example.demo.biz.products.create.controllers;
+
+import com.example.commons.utils.ParameterValidationUtils;
+import com.example.demo.biz.products.create.cache.ProductCacheService;
+import com.example.demo.biz.products.create.status.ProductCreateStatusNotifier;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Push variants of {@link ProductCreateRestController#getCreatedId}: the request is parked on the
+ * {@link ProductCreateStatusNotifier} and answered as soon as the create consumer writes the product id, so a client
+ * needs one status request per create instead of polling.
+ * <p>
+ * {@code /await} is a long poll answering {@code 201} with the product id, or {@code 200} with no body if the create
+ * is still in progress at the deadline. {@code /events} is an SSE stream sending one {@code created} event with the
+ * product id, or a {@code timeout} event.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/product/{id}")
+public class ProductCreateStatusRestController {
+
+    private final ProductCreateStatusNotifier productCreateStatusNotifier;
+
+    // sends run off the consumer thread so a slow client never stalls it
+    private final ExecutorService sendExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("product-create-sse-", 0).factory());
+
+    @Value("${products.create.status.timeout.seconds:30}")
+    private long timeoutSeconds;
+
+    @GetMapping(path = "/await", produces = "application/json")
+    public DeferredResult<ResponseEntity<?>> awaitCreatedId(@PathVariable String id) {
+        log.info("awaitCreatedId - New request with correlationId: {}", id);
+
+        // the notifier deadline completes the request; the container timeout is only a backstop
+        DeferredResult<ResponseEntity<?>> deferredResult = new DeferredResult<>(Duration.ofSeconds(timeoutSeconds + 5).toMillis());
+
+        if (!ParameterValidationUtils.isValidCorrelationIdValue(id)) {
+            log.error("awaitCreatedId - Invalid correlation id value - {}", id);
+            deferredResult.setResult(ResponseEntity.badRequest().build());
+            return deferredResult;
+        }
+
+        CompletableFuture<String> created = productCreateStatusNotifier.await(id, Duration.ofSeconds(timeoutSeconds));
+        deferredResult.onTimeout(() -> deferredResult.setResult(ResponseEntity.ok().build()));
+        deferredResult.onCompletion(() -> created.cancel(false));
+
+        created.whenComplete((productId, throwable) -> {
+            if (throwable != null) {
+                deferredResult.setResult(inProgressOrError(id, throwable));
+                return;
+            }
+            ProductCacheService.INSTANCE.remove(id);
+            log.info("awaitCreatedId - product id: {} for correlationId: {}", productId, id);
+            deferredResult.setResult(new ResponseEntity<>(productId, HttpStatus.CREATED));
+        });
+        return deferredResult;
+    }
+
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> createdIdEvents(@PathVariable String id) {
+        log.info("createdIdEvents - New request with correlationId: {}", id);
+
+        if (!ParameterValidationUtils.isValidCorrelationIdValue(id)) {
+            log.error("createdIdEvents - Invalid correlation id value - {}", id);
+            return ResponseEntity.badRequest().build();
+        }
+
+        SseEmitter emitter = new SseEmitter(Duration.ofSeconds(timeoutSeconds + 5).toMillis());
+        CompletableFuture<String> created = productCreateStatusNotifier.await(id, Duration.ofSeconds(timeoutSeconds));
+        emitter.onCompletion(() -> created.cancel(false));
+        emitter.onTimeout(() -> created.cancel(false));
+        emitter.onError(e -> created.cancel(false));
+
+        created.whenCompleteAsync((productId, throwable) -> {
+            try {
+                if (throwable == null) {
+                    ProductCacheService.INSTANCE.remove(id);
+                    emitter.send(SseEmitter.event().name("created").data(productId));
+                } else if (unwrap(throwable) instanceof TimeoutException) {
+                    emitter.send(SseEmitter.event().name("timeout").data(id));
+                }
+                emitter.complete();
+            } catch (Exception e) {
+                log.warn("createdIdEvents - Client gone for correlationId: {}: {}", id, e.getMessage());
+                emitter.completeWithError(e);
+            }
+        }, sendExecutor);
+
+        return ResponseEntity.ok(emitter);
+    }
+
+    private ResponseEntity<?> inProgressOrError(String id, Throwable throwable) {
+        Throwable cause = unwrap(throwable);
+        if (cause instanceof TimeoutException || cause instanceof CancellationException) {
+            log.info("awaitCreatedId - product id for correlationId: {} is still IN_PROGRESS", id);
+            return ResponseEntity.ok().build();
+        }
+        log.error("awaitCreatedId - exception - Error waiting for {}", id, cause);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+    }
+
+    @PreDestroy
+    void shutdownExecutor() {
+        try {
+            sendExecutor.shutdown();
+            if (!sendExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                sendExecutor.shutdownNow();
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            sendExecutor.shutdownNow();
+        }
+    }
+}
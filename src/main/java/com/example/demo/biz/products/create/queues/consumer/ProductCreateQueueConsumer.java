@@ -1,24 +1,38 @@
 package com.example.demo.biz.products.create.queues.consumer;
 
 import com.example.commons.utils.QueueAttributeUtils;
+import com.example.demo.biz.commons.queues.SqsAcknowledgementService;
 import com.example.demo.biz.products.create.cache.ProductCacheService;
+import com.example.demo.biz.products.create.status.ProductCreateStatusNotifier;
+import com.example.demo.biz.products.findAll.pages.ProductFindAllPageCache;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.services.sqs.SqsClient;
-import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
 import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
 
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static com.example.commons.constants.AppConstants.CORRELATION_ID;
 
+/**
+ * Consumer of the create reply queue.
+ * <p>
+ * {@code pollers} dedicated threads each long-poll for up to {@value #MAX_NUMBER_OF_MESSAGES} messages and receive
+ * again as soon as a batch is handled, so confirmations are picked up at queue speed rather than once per scheduler
+ * tick. On shutdown the pollers finish their in-flight receive and batch before stopping.
+ */
 @Slf4j
 @RequiredArgsConstructor
 @Component
@@ -26,13 +40,43 @@ public class ProductCreateQueueConsumer implements IProductCreateQueueConsumer {
 
     private final SqsClient sqsClient;
 
+    private final SqsAcknowledgementService sqsAcknowledgementService;
+
+    private final ProductFindAllPageCache productFindAllPageCache;
+
+    private final ProductCreateStatusNotifier productCreateStatusNotifier;
+
     @Value("${aws.sqs.queue.create.web.consumer.url}")
     private String queueUrl;
 
-    private static final int MAX_NUMBER_OF_MESSAGES = 5;
-    private static final int WAIT_TIME_SECONDS = 10;
+    @Value("${products.create.consumer.pollers:2}")
+    private int pollers;
+
+    @Value("${products.create.consumer.waitTimeSeconds:20}")
+    private int waitTimeSeconds;
+
+    private static final int MAX_NUMBER_OF_MESSAGES = 10;
+    private static final long RECEIVE_ERROR_BACKOFF_MS = 1_000L;
+
+    private ExecutorService pollingExecutor;
+
+    private volatile boolean running;
 
     @PostConstruct
+    public void start() {
+        validateConfiguration();
+
+        running = true;
+        pollingExecutor = Executors.newFixedThreadPool(pollers, Thread.ofPlatform()
+                .name("product-create-poller-", 0)
+                .daemon(true)
+                .factory());
+        for (int i = 0; i < pollers; i++) {
+            pollingExecutor.execute(this::poll);
+        }
+        log.info("ProductCreateQueueConsumer::start - {} pollers for queue {}", pollers, queueUrl);
+    }
+
     public void validateConfiguration() {
 
         if (queueUrl == null || queueUrl.isBlank()) {
@@ -46,9 +90,61 @@ public class ProductCreateQueueConsumer implements IProductCreateQueueConsumer {
         } catch (URISyntaxException e) {
             throw new IllegalStateException("Invalid SQS queue URL: " + queueUrl, e);
         }
+        if (pollers < 1) {
+            log.warn("ProductCreateQueueConsumer::validateConfiguration - pollers {} is too low; defaulting to 1", pollers);
+            pollers = 1;
+        }
+        if (waitTimeSeconds < 1 || waitTimeSeconds > 20) {
+            log.warn("ProductCreateQueueConsumer::validateConfiguration - waitTimeSeconds {} is out of [1, 20]; defaulting to 20", waitTimeSeconds);
+            waitTimeSeconds = 20;
+        }
+    }
+
+    /**
+     * Stops receiving; a poller inside a long-poll stops once it returns and its batch is handled.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (pollingExecutor == null) return;
+        pollingExecutor.shutdown();
+        try {
+            if (!pollingExecutor.awaitTermination(waitTimeSeconds + 5L, TimeUnit.SECONDS)) {
+                log.warn("ProductCreateQueueConsumer::stop - Pollers did not terminate in time, forcing shutdownNow");
+                pollingExecutor.shutdownNow();
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            pollingExecutor.shutdownNow();
+        }
+        log.info("ProductCreateQueueConsumer::stop - Pollers stopped");
+    }
+
+    private void poll() {
+        log.info("ProductCreateQueueConsumer::poll - Starting on thread {}", Thread.currentThread().getName());
+        while (running && !Thread.currentThread().isInterrupted()) {
+            try {
+                consume();
+            } catch (SdkException e) {
+                if (!running) break;
+                log.error("ProductCreateQueueConsumer::poll - Receive failed: {}", e.getMessage(), e);
+                sleepQuietly(RECEIVE_ERROR_BACKOFF_MS);
+            } catch (Exception e) {
+                log.error("ProductCreateQueueConsumer::poll - Unexpected error: {}", e.getMessage(), e);
+                sleepQuietly(RECEIVE_ERROR_BACKOFF_MS);
+            }
+        }
+        log.info("ProductCreateQueueConsumer::poll - Stopped on thread {}", Thread.currentThread().getName());
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 
-    @Scheduled(fixedDelayString = "${sqs.poll.fixedDelay.ms:1000}")
     @Override
     public void consume() {
         log.trace("=================================================================================================");
@@ -62,51 +158,72 @@ public class ProductCreateQueueConsumer implements IProductCreateQueueConsumer {
             return;
         }
 
-        for (Message m : messages) {
-            QueueAttributeUtils.logMessageSummary(m);
-
-            String correlationId = m.messageAttributes().get(CORRELATION_ID).stringValue();
-            if (correlationId == null || correlationId.isBlank()) {
-                log.warn("ProductCreateQueueConsumer::consume - Missing CORRELATION_ID for messageId={}", m.messageId());
-                continue;
+        boolean created = false;
+        try {
+            for (Message m : messages) {
+                try {
+                    if (isCreateReply(m)) {
+                        created = true;
+                        handle(m);
+                    }
+                } catch (Exception e) {
+                    log.error("ProductCreateQueueConsumer::consume - Failed to handle messageId={}, leaving it for redelivery", m.messageId(), e);
+                }
             }
-            String messageBody = m.body();
-            if (messageBody == null || messageBody.isBlank()) {
-                log.warn("ProductCreateQueueConsumer::consume - Missing BODY for messageId={}, correlationId={}", m.messageId(), correlationId);
-                continue;
+        } finally {
+            // a new product can shift any find-all page, so cached pages are dropped once per batch
+            if (created) {
+                productFindAllPageCache.invalidateAll();
             }
-            log.info("ProductCreateQueueConsumer::consume - Response received - messageId={}, correlationId={}, body={}",
-                    m.messageId(),
-                    correlationId,
-                    messageBody
-            );
-            ProductCacheService.update(correlationId, messageBody);
-            ProductCacheService.display();
-            delete(m.receiptHandle());
         }
     }
 
+    private boolean isCreateReply(Message m) {
+        QueueAttributeUtils.logMessageSummary(m);
+
+        String correlationId = correlationId(m);
+        if (correlationId == null || correlationId.isBlank()) {
+            log.warn("ProductCreateQueueConsumer::isCreateReply - Missing CORRELATION_ID for messageId={}", m.messageId());
+            return false;
+        }
+        if (m.body() == null || m.body().isBlank()) {
+            log.warn("ProductCreateQueueConsumer::isCreateReply - Missing BODY for messageId={}, correlationId={}", m.messageId(), correlationId);
+            return false;
+        }
+        return true;
+    }
+
+    private void handle(Message m) {
+        String correlationId = correlationId(m);
+        String messageBody = m.body();
+        log.info("ProductCreateQueueConsumer::handle - Response received - messageId={}, correlationId={}, body={}",
+                m.messageId(),
+                correlationId,
+                messageBody
+        );
+        ProductCacheService.INSTANCE.update(correlationId, messageBody);
+        productCreateStatusNotifier.notifyCreated(correlationId, messageBody);
+        delete(m.receiptHandle());
+    }
+
+    private static String correlationId(Message m) {
+        MessageAttributeValue attribute = m.messageAttributes().get(CORRELATION_ID);
+        return attribute == null ? null : attribute.stringValue();
+    }
+
     private ReceiveMessageRequest buildReceiveRequest() {
         return ReceiveMessageRequest.builder()
                 .queueUrl(queueUrl)
                 .maxNumberOfMessages(MAX_NUMBER_OF_MESSAGES)
-                .waitTimeSeconds(WAIT_TIME_SECONDS)
+                .waitTimeSeconds(waitTimeSeconds)
                 .messageAttributeNames(CORRELATION_ID)
                 .build();
     }
 
     @Override
     public void delete(String receiptHandle) {
-        try {
-            var deleteRequest = DeleteMessageRequest.builder()
-                    .queueUrl(queueUrl)
-                    .receiptHandle(receiptHandle)
-                    .build();
-            sqsClient.deleteMessage(deleteRequest);
-            log.info("ProductCreateQueueConsumer::delete - Deleted message with receiptHandle={}", receiptHandle);
-        } catch (Exception e) {
-            log.error("ProductCreateQueueConsumer::delete - Exception: ", e);
-        }
+        sqsAcknowledgementService.delete(queueUrl, receiptHandle);
+        log.debug("ProductCreateQueueConsumer::delete - Queued delete for receiptHandle={}", receiptHandle);
     }
 
 }
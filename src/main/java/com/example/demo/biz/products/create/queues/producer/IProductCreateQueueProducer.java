@@ -2,9 +2,29 @@ package com.example.demo.biz.products.create.queues.producer;
 
 import com.example.commons.dto.create.ProductRequestDto;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @FunctionalInterface
 public interface IProductCreateQueueProducer {
 
     void produce(String correlationId, ProductRequestDto product);
 
+    /**
+     * Enqueues every product under its correlationId.
+     *
+     * @return the failure for each correlationId that was not sent; empty when all were sent
+     */
+    default Map<String, Exception> produceAll(Map<String, ProductRequestDto> products) {
+        Map<String, Exception> failures = new LinkedHashMap<>();
+        products.forEach((correlationId, product) -> {
+            try {
+                produce(correlationId, product);
+            } catch (Exception e) {
+                failures.put(correlationId, e);
+            }
+        });
+        return failures;
+    }
+
 }
@@ -0,0 +1,157 @@
+package com.example.demo.biz.products.create.queues.producer;
+
+import com.example.commons.dto.create.ProductRequestDto;
+import com.example.commons.utils.SendMessageQueueUtils;
+import com.example.demo.biz.commons.queues.SendMessageBatcher;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.utils.StringUtils;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drop-in {@link IProductCreateQueueProducer} that coalesces concurrent creates into
+ * {@code SendMessageBatch} calls through a {@link SendMessageBatcher}.
+ */
+@RequiredArgsConstructor
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "products.create.producer.type", havingValue = "batching")
+public class ProductCreateBatchingQueueProducer implements IProductCreateQueueProducer {
+
+    private static final long DEFAULT_SEND_TIMEOUT_MS = 5_000L;
+
+    private final ObjectMapper objectMapper;
+
+    private final SqsClient sqsClient;
+
+    @Value("${aws.sqs.queue.create.web.producer.url}")
+    private String queueUrl;
+
+    @Value("${products.create.producer.batch.maxBatchSize:10}")
+    private int maxBatchSize;
+
+    @Value("${products.create.producer.batch.maxLingerMs:5}")
+    private long maxLingerMs;
+
+    @Value("${products.create.producer.batch.sendTimeoutMs:5000}")
+    private long sendTimeoutMs;
+
+    private SendMessageBatcher sendMessageBatcher;
+
+    @PostConstruct
+    public void validateConfiguration() {
+        if (StringUtils.isBlank(queueUrl)) {
+            throw new IllegalStateException("aws.sqs.queue.create.web.producer.url must be configured");
+        }
+        try {
+            var uri = new URI(queueUrl);
+            if (!"http".equalsIgnoreCase(uri.getScheme()) && !"https".equalsIgnoreCase(uri.getScheme())) {
+                throw new IllegalStateException("Invalid SQS queue URL scheme: " + uri.getScheme());
+            }
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Invalid SQS queue URL: " + queueUrl, e);
+        }
+        if (maxBatchSize < 1 || maxBatchSize > SendMessageBatcher.SQS_MAX_BATCH_SIZE) {
+            log.warn("ProductCreateBatchingQueueProducer::validateConfiguration - maxBatchSize {} out of range; defaulting to {}",
+                    maxBatchSize, SendMessageBatcher.SQS_MAX_BATCH_SIZE);
+            maxBatchSize = SendMessageBatcher.SQS_MAX_BATCH_SIZE;
+        }
+        if (sendTimeoutMs < 1) {
+            log.warn("ProductCreateBatchingQueueProducer::validateConfiguration - sendTimeoutMs {} must be positive; defaulting to {}",
+                    sendTimeoutMs, DEFAULT_SEND_TIMEOUT_MS);
+            sendTimeoutMs = DEFAULT_SEND_TIMEOUT_MS;
+        }
+        sendMessageBatcher = new SendMessageBatcher(sqsClient, queueUrl, maxBatchSize, Duration.ofMillis(Math.max(0, maxLingerMs)), "create-producer");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (sendMessageBatcher != null) {
+            sendMessageBatcher.close();
+        }
+    }
+
+    @Override
+    public void produce(String correlationId, ProductRequestDto product) {
+        try {
+            String messageId = submit(correlationId, product).join();
+            log.info("ProductCreateBatchingQueueProducer::produce - Message sent successfully. queue: {}, correlationId: {}, messageId={}",
+                    queueUrl,
+                    correlationId,
+                    messageId
+            );
+        } catch (CompletionException e) {
+            log.error("ProductCreateBatchingQueueProducer::produce - Send failed for correlationId: {}", correlationId, e.getCause());
+            if (e.getCause() instanceof SdkException sdkException) {
+                throw sdkException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Submits every product before waiting on any, so they share batches instead of lingering one by one.
+     */
+    @Override
+    public Map<String, Exception> produceAll(Map<String, ProductRequestDto> products) {
+        Map<String, CompletableFuture<String>> submitted = new LinkedHashMap<>();
+        products.forEach((correlationId, product) -> submitted.put(correlationId, submit(correlationId, product)));
+
+        Map<String, Exception> failures = new LinkedHashMap<>();
+        submitted.forEach((correlationId, future) -> {
+            try {
+                log.info("ProductCreateBatchingQueueProducer::produceAll - Message sent successfully. queue: {}, correlationId: {}, messageId={}",
+                        queueUrl, correlationId, future.join());
+            } catch (CompletionException e) {
+                log.error("ProductCreateBatchingQueueProducer::produceAll - Send failed for correlationId: {}", correlationId, e.getCause());
+                failures.put(correlationId, e.getCause() instanceof Exception cause ? cause : e);
+            }
+        });
+        return failures;
+    }
+
+    private CompletableFuture<String> submit(String correlationId, ProductRequestDto product) {
+        String message = getMessage(product);
+        if (StringUtils.isBlank(message)) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Failed to serialize ProductRequestDto for SQS message"));
+        }
+        // a batch that never flushes surfaces like a timed-out SendMessage instead of parking the caller
+        return sendMessageBatcher.submit(SendMessageQueueUtils.buildSendMessageRequest(queueUrl, correlationId, message))
+                .orTimeout(sendTimeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionallyCompose(throwable -> CompletableFuture.failedFuture(throwable instanceof TimeoutException
+                        ? ApiCallTimeoutException.create(sendTimeoutMs)
+                        : throwable));
+    }
+
+    private String getMessage(ProductRequestDto product) {
+        try {
+            return objectMapper.writeValueAsString(product);
+        } catch (JsonProcessingException e) {
+            log.error("ProductCreateBatchingQueueProducer::produce - Error serializing message: {}", e.getMessage(), e);
+            return null;
+        }
+    }
+
+}
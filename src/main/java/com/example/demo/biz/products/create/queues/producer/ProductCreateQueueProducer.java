@@ -2,23 +2,33 @@ package com.example.demo.biz.products.create.queues.producer;
 
 import com.example.commons.dto.create.ProductRequestDto;
 import com.example.commons.utils.SendMessageQueueUtils;
+import com.example.demo.biz.commons.queues.SendMessageBatcher;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RequiredArgsConstructor
 @Slf4j
 @Component
+@ConditionalOnProperty(name = "products.create.producer.type", havingValue = "sync", matchIfMissing = true)
 public class ProductCreateQueueProducer implements IProductCreateQueueProducer {
 
     private final ObjectMapper objectMapper;
@@ -73,6 +83,38 @@ public class ProductCreateQueueProducer implements IProductCreateQueueProducer {
         }
     }
 
+    /**
+     * Sends the products with {@code SendMessageBatch}, up to {@link SendMessageBatcher#SQS_MAX_BATCH_SIZE} per call.
+     */
+    @Override
+    public Map<String, Exception> produceAll(Map<String, ProductRequestDto> products) {
+        Map<String, Exception> failures = new LinkedHashMap<>();
+        List<String> correlationIds = new ArrayList<>(products.size());
+        List<SendMessageRequest> requests = new ArrayList<>(products.size());
+
+        products.forEach((correlationId, product) -> {
+            var message = getMessage(product);
+            if (message == null || message.isBlank()) {
+                failures.put(correlationId, new IllegalStateException("Failed to serialize ProductRequestDto for SQS message"));
+                return;
+            }
+            correlationIds.add(correlationId);
+            requests.add(SendMessageQueueUtils.buildSendMessageRequest(queueUrl, correlationId, message));
+        });
+
+        List<CompletableFuture<String>> results = SendMessageBatcher.sendInBatches(sqsClient, queueUrl, requests);
+        for (int i = 0; i < results.size(); i++) {
+            try {
+                log.info("ProductCreateQueueProducer::produceAll - Message sent successfully. queue: {}, correlationId: {}, messageId={}",
+                        queueUrl, correlationIds.get(i), results.get(i).join());
+            } catch (CompletionException e) {
+                log.error("ProductCreateQueueProducer::produceAll - Send failed for correlationId: {}", correlationIds.get(i), e.getCause());
+                failures.put(correlationIds.get(i), e.getCause() instanceof Exception cause ? cause : e);
+            }
+        }
+        return failures;
+    }
+
     private String getMessage(ProductRequestDto product) {
         String message = null;
         try {
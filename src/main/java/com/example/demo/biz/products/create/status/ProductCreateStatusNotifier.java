@@ -0,0 +1,105 @@
+package com.example.demo.biz.products.create.status;
+
+import com.example.demo.biz.commons.cache.CorrelationTable;
+import com.example.demo.biz.commons.timer.HashedWheelTimer;
+import com.example.demo.biz.products.create.cache.ProductCacheService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Requests waiting for a product create to finish, keyed by correlationId.
+ * <p>
+ * All waiters of a correlationId share one future, completed by the create consumer through {@link #notifyCreated}
+ * once the product id is written to the {@link ProductCacheService}. A waiter that registers after that finds the id
+ * in the cache instead, so the notification is never lost. The entry is dropped when the create is notified or its
+ * last waiter leaves.
+ */
+@Slf4j
+@Component
+public class ProductCreateStatusNotifier {
+
+    private static final Duration DEADLINE_TICK = Duration.ofMillis(100);
+    private static final int DEADLINE_TICKS_PER_WHEEL = 512;
+
+    private final CorrelationTable<Waiters> waiters = new CorrelationTable<>();
+
+    private final HashedWheelTimer deadlineTimer = new HashedWheelTimer(DEADLINE_TICK, DEADLINE_TICKS_PER_WHEEL, "product-create-status-deadline");
+
+    private static final class Waiters {
+        private final CompletableFuture<String> created = new CompletableFuture<>();
+        // only changed inside the table's compute for this correlationId
+        private int count;
+    }
+
+    /**
+     * Waits for the product id of the correlationId. Cancelling the returned future unregisters the caller.
+     *
+     * @return a future completed with the product id, or exceptionally with a {@link TimeoutException} after
+     * {@code timeout}
+     */
+    public CompletableFuture<String> await(String correlationId, Duration timeout) {
+        Objects.requireNonNull(correlationId, "correlationId must not be null");
+        Objects.requireNonNull(timeout, "timeout must not be null");
+
+        Waiters entry = waiters.compute(correlationId, (id, existing) -> {
+            Waiters joined = existing != null ? existing : new Waiters();
+            joined.count++;
+            return joined;
+        });
+        CompletableFuture<String> waiter = entry.created.copy();
+        HashedWheelTimer.Timeout deadline = deadlineTimer.schedule(
+                () -> waiter.completeExceptionally(new TimeoutException("Product not created within " + timeout.toMillis() + " ms for correlationId: " + correlationId)),
+                timeout.toMillis(), TimeUnit.MILLISECONDS);
+        waiter.whenComplete((productId, throwable) -> {
+            deadline.cancel();
+            leave(correlationId, entry);
+        });
+        log.debug("await - correlationId: {}, timeout: {} ms", correlationId, timeout.toMillis());
+
+        // registered before checking, so an id written in between is seen either here or by notifyCreated
+        var status = ProductCacheService.INSTANCE.get(correlationId);
+        if (status != null && status.isCreated()) {
+            entry.created.complete(status.productId());
+        }
+        return waiter;
+    }
+
+    /**
+     * @return {@code true} if at least one request was waiting for the correlationId
+     */
+    public boolean notifyCreated(String correlationId, String productId) {
+        Waiters entry = waiters.remove(correlationId);
+        if (entry == null) {
+            return false;
+        }
+        log.debug("notifyCreated - correlationId: {}, productId: {}", correlationId, productId);
+        return entry.created.complete(productId);
+    }
+
+    public int size() {
+        return waiters.size();
+    }
+
+    private void leave(String correlationId, Waiters entry) {
+        waiters.computeIfPresent(correlationId, (id, current) -> {
+            if (current != entry) {
+                return current;
+            }
+            return --current.count == 0 ? null : current;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        waiters.forEachValue(entry -> entry.created.cancel(false));
+        waiters.clear();
+        deadlineTimer.close();
+    }
+}
@@ -4,6 +4,7 @@ import com.example.commons.dto.find.ProductFindAllRequestDto;
 import com.example.commons.utils.ParameterValidationUtils;
 import com.example.demo.biz.commons.dto.IdResponse;
 import com.example.demo.biz.products.findAll.cache.ProductFindAllCacheService;
+import com.example.demo.biz.products.findAll.queues.consumer.reply.IProductFindAllReplyDispatcher;
 import com.example.demo.biz.products.findAll.queues.producer.IProductFindAllQueueProducer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,6 +27,8 @@ public class ProductFindAllRestController {
 
     private final IProductFindAllQueueProducer productFindAllQueueProducer;
 
+    private final IProductFindAllReplyDispatcher productFindAllReplyDispatcher;
+
     @GetMapping
     public ResponseEntity<?> findAll(
             @RequestParam("uuid") String correlationId,
@@ -44,12 +47,24 @@ public class ProductFindAllRestController {
         if (!ProductFindAllCacheService.containsKey(correlationId)) {
             log.info("ProductFindAllRestController::findAll - Request UUID: {} is not in cache - producing message", correlationId);
             try {
-                ProductFindAllRequestDto dto = buildRequestDto(correlationId, limit, offset);
-                productFindAllQueueProducer.produce(correlationId, dto);
                 ProductFindAllCacheService.add(correlationId, List.of());
+                // the reply dispatcher fills the cache entry the client polls
+                productFindAllReplyDispatcher.register(correlationId).thenAccept(products -> {
+                    log.info("ProductFindAllRestController::findAll - Caching {} products for correlationId: {}", products.size(), correlationId);
+                    ProductFindAllCacheService.update(correlationId, products);
+                });
+                ProductFindAllRequestDto dto = buildRequestDto(correlationId, limit, offset);
+                productFindAllQueueProducer.produceAsync(correlationId, dto).exceptionally(throwable -> {
+                    log.error("ProductFindAllRestController::findAll - Send failed for correlationId: {}", correlationId, throwable);
+                    productFindAllReplyDispatcher.cancel(correlationId);
+                    ProductFindAllCacheService.remove(correlationId);
+                    return null;
+                });
                 ProductFindAllCacheService.display();
             } catch (Exception e) {
                 log.error("ProductFindAllRestController::findAll - ProductFindAllRestController::findAll - Exception: ", e);
+                productFindAllReplyDispatcher.cancel(correlationId);
+                ProductFindAllCacheService.remove(correlationId);
             }
             return ResponseEntity.ok(new IdResponse(correlationId));
         }
@@ -43,11 +43,18 @@ public class ProductFindAllSyncRestController {
 
         ParameterValidationUtils.isValidCorrelationIdValue(correlationId);
 
+        // register before producing so the reply cannot arrive ahead of its waiter
+        CompletableFuture<List<ProductResponseDto>> reply = iProductFindAllSyncQueueConsumer.consume(correlationId);
+
         ProductFindAllRequestDto requestDto = buildRequestDto(correlationId, limit, offset);
-        productFindAllQueueProducer.produce(correlationId, requestDto);
+        try {
+            productFindAllQueueProducer.produce(correlationId, requestDto);
+        } catch (RuntimeException e) {
+            iProductFindAllSyncQueueConsumer.cancel(correlationId);
+            throw e;
+        }
 
-        return iProductFindAllSyncQueueConsumer
-                .consume(correlationId)
+        return reply
                 .orTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS)
                 .exceptionally(throwable -> handleConsumptionError(correlationId, throwable))
                 .thenApply(products -> transformResponse(correlationId, products));
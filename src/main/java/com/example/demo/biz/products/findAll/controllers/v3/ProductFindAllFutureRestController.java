@@ -1,8 +1,10 @@
 package com.example.demo.biz.products.findAll.controllers.v3;
 
+import com.example.commons.dto.create.ProductResponseDto;
 import com.example.commons.dto.find.ProductFindAllRequestDto;
 import com.example.commons.utils.ParameterValidationUtils;
 import com.example.demo.biz.commons.cache.IdempotentRequestCache;
+import com.example.demo.biz.products.findAll.queues.consumer.reply.IProductFindAllReplyDispatcher;
 import com.example.demo.biz.products.findAll.queues.consumer.v3.service.IProductFindAllV3QueueConsumer;
 import com.example.demo.biz.products.findAll.queues.producer.IProductFindAllQueueProducer;
 import lombok.RequiredArgsConstructor;
@@ -16,6 +18,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.time.Duration;
+import java.util.List;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -27,6 +30,8 @@ public class ProductFindAllFutureRestController {
 
     private final IProductFindAllV3QueueConsumer productFindAllV3QueueConsumer;
 
+    private final IProductFindAllReplyDispatcher productFindAllReplyDispatcher;
+
     private static final int DEFAULT_LIMIT = 10;
     private static final int DEFAULT_OFFSET = 0;
     private static final int MIN_LIMIT = 1;
@@ -49,28 +54,32 @@ public class ProductFindAllFutureRestController {
         int safeLimit = normalizeLimit(limit);
         int safeOffset = normalizeOffset(offset);
 
-        if (IdempotentRequestCache.INSTANCE.isInProgress(correlationId)) {
+        if (!IdempotentRequestCache.INSTANCE.tryClaim(correlationId).owner()) {
             log.info("ProductFindAllFutureRestController::findAll - correlationId {} is in progress", correlationId);
             return ResponseEntity.status(HttpStatus.ACCEPTED).body("Processing");
         }
 
         log.info("ProductFindAllFutureRestController::findAll - Generated from product UUID: {}", correlationId);
-        IdempotentRequestCache.INSTANCE.putIfAbsent(correlationId, IdempotentRequestCache.Status.RECEIVED);
 
         ProductFindAllRequestDto requestDto = buildRequestDto(correlationId, safeLimit, safeOffset);
         try {
+            productFindAllReplyDispatcher.register(correlationId);
+
             log.info("ProductFindAllFutureRestController::findAll - Producing for correlationId: {}", correlationId);
             productFindAllQueueProducer.produce(correlationId, requestDto);
             log.info("ProductFindAllFutureRestController::findAll - Consuming for correlationId: {}", correlationId);
-            productFindAllV3QueueConsumer.consume(correlationId);
+            List<ProductResponseDto> products = productFindAllV3QueueConsumer.consume(correlationId);
+            IdempotentRequestCache.INSTANCE.complete(correlationId, products);
         } catch (Exception e) {
             log.error("ProductFindAllFutureRestController::findAll - Error producing/consuming for {}", correlationId, e);
-            IdempotentRequestCache.INSTANCE.remove(correlationId);
+            IdempotentRequestCache.INSTANCE.fail(correlationId, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Failed to enqueue request");
+        } finally {
+            productFindAllReplyDispatcher.cancel(correlationId);
+            IdempotentRequestCache.INSTANCE.remove(correlationId);
         }
 
         log.info("ProductFindAllFutureRestController::findAll - Waiting for response for correlationId: {}", correlationId);
-        IdempotentRequestCache.INSTANCE.putIfAbsent(correlationId, IdempotentRequestCache.Status.PROCESSING);
 
 //        try {
 //            CompletableFuture<List<ProductResponseDto>> responseFuture = CompletableCacheService.INSTANCE.createIfAbsent(correlationId);
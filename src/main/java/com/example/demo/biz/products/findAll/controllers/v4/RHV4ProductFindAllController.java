@@ -4,6 +4,7 @@ import com.example.commons.dto.create.ProductResponseDto;
 import com.example.commons.dto.find.ProductFindAllRequestDto;
 import com.example.commons.utils.ParameterValidationUtils;
 import com.example.demo.biz.commons.cache.IdempotentRequestCache;
+import com.example.demo.biz.products.findAll.queues.consumer.reply.IProductFindAllReplyDispatcher;
 import com.example.demo.biz.products.findAll.queues.consumer.v4.service.IProductFindAllV4QueueService;
 import com.example.demo.biz.products.findAll.queues.producer.IProductFindAllQueueProducer;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +18,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -29,6 +31,7 @@ public class RHV4ProductFindAllController {
 
     private final IProductFindAllQueueProducer productFindAllQueueProducer;
     private final IProductFindAllV4QueueService iProductFindAllV4QueueService;
+    private final IProductFindAllReplyDispatcher productFindAllReplyDispatcher;
 
     @GetMapping
     public HttpEntity<List<ProductResponseDto>> findAll(
@@ -43,13 +46,19 @@ public class RHV4ProductFindAllController {
             return ResponseEntity.badRequest().body(List.of());
         }
 
-        if (IdempotentRequestCache.INSTANCE.isInProgress(correlationId)) {
-            log.info("ProductFindAllV4Controller::findAll - correlationId {} is in progress", correlationId);
-            return ResponseEntity.status(HttpStatus.ACCEPTED).body(List.of());
+        IdempotentRequestCache.Claim<List<ProductResponseDto>> claim = IdempotentRequestCache.INSTANCE.tryClaim(correlationId);
+        if (!claim.owner()) {
+            log.info("ProductFindAllV4Controller::findAll - correlationId {} is in progress, sharing its result", correlationId);
+            List<ProductResponseDto> shared = claim.result().copy()
+                    .completeOnTimeout(null, 10, TimeUnit.SECONDS)
+                    .exceptionally(t -> null)
+                    .join();
+            return shared == null || shared.isEmpty()
+                    ? ResponseEntity.status(HttpStatus.ACCEPTED).body(List.of())
+                    : ResponseEntity.ok(shared);
         }
 
         log.info("ProductFindAllV4Controller::findAll - Generated from product correlationId: {}", correlationId);
-        IdempotentRequestCache.INSTANCE.putIfAbsent(correlationId, IdempotentRequestCache.Status.RECEIVED);
 
         ProductFindAllRequestDto requestDto = new ProductFindAllRequestDto(
                 correlationId,
@@ -59,6 +68,8 @@ public class RHV4ProductFindAllController {
 
         try {
 
+            productFindAllReplyDispatcher.register(correlationId);
+
             log.info("ProductFindAllV4Controller::findAll - Producing for correlationId: {}", correlationId);
             productFindAllQueueProducer.produce(correlationId, requestDto);
 
@@ -70,6 +81,7 @@ public class RHV4ProductFindAllController {
                 return ResponseEntity.status(HttpStatus.ACCEPTED).body(List.of());
             }
 
+            IdempotentRequestCache.INSTANCE.complete(correlationId, products);
             log.info("ProductFindAllV4Controller::findAll - Returning {} products for correlationId: {}",
                     products.size(),
                     correlationId
@@ -78,8 +90,10 @@ public class RHV4ProductFindAllController {
 
         } catch (Exception e) {
             log.error("ProductFindAllV4Controller::findAll - Error producing/consuming for {}", correlationId, e);
+            IdempotentRequestCache.INSTANCE.fail(correlationId, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(List.of());
         } finally {
+            productFindAllReplyDispatcher.cancel(correlationId);
             IdempotentRequestCache.INSTANCE.remove(correlationId);
         }
     }
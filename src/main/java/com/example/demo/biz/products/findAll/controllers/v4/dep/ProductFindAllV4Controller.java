@@ -43,12 +43,11 @@ public class ProductFindAllV4Controller {
     ) {
         log.info("ProductFindAllV4Controller::findAll - Request UUID: {}", correlationId);
 
-        ResponseEntity<List<ProductResponseDto>> validationError = validateRequest(correlationId);
+        ResponseEntity<List<ProductResponseDto>> validationError = validateAndClaim(correlationId);
         if (validationError != null) {
             return validationError;
         }
 
-        IdempotentRequestCache.INSTANCE.putIfAbsent(correlationId, IdempotentRequestCache.Status.RECEIVED);
         ProductFindAllRequestDto requestDto = buildRequestDto(correlationId, limit, offset);
 
         try {
@@ -74,12 +73,12 @@ public class ProductFindAllV4Controller {
         }
     }
 
-    private ResponseEntity<List<ProductResponseDto>> validateRequest(String correlationId) {
+    private ResponseEntity<List<ProductResponseDto>> validateAndClaim(String correlationId) {
         if (ParameterValidationUtils.isNotValidCorrelationId(correlationId)) {
             log.error("ProductFindAllV4Controller::findAll - Invalid correlation id value - {}", correlationId);
             return ResponseEntity.badRequest().body(List.of());
         }
-        if (IdempotentRequestCache.INSTANCE.isInProgress(correlationId)) {
+        if (!IdempotentRequestCache.INSTANCE.tryClaim(correlationId).owner()) {
             log.info("ProductFindAllV4Controller::findAll - correlationId {} is in progress", correlationId);
             return ResponseEntity.status(HttpStatus.ACCEPTED).body(List.of());
         }
@@ -105,12 +104,11 @@ public class ProductFindAllV4Controller {
     ) {
         log.info("ProductFindAllV4Controller::findAll - Request UUID: {}", correlationId);
 
-        ResponseEntity<List<ProductResponseDto>> validationError = validateRequest(correlationId);
+        ResponseEntity<List<ProductResponseDto>> validationError = validateAndClaim(correlationId);
         if (validationError != null) {
             return validationError;
         }
 
-        IdempotentRequestCache.INSTANCE.putIfAbsent(correlationId, IdempotentRequestCache.Status.RECEIVED);
         ProductFindAllRequestDto requestDto = buildRequestDto(correlationId, limit, offset);
 
         try {
@@ -188,12 +186,11 @@ public class ProductFindAllV4Controller {
     ) {
         log.info("ProductFindAllV4Controller::findAll - Request UUID: {}", correlationId);
 
-        ResponseEntity<List<ProductResponseDto>> validationError = validateRequest(correlationId);
+        ResponseEntity<List<ProductResponseDto>> validationError = validateAndClaim(correlationId);
         if (validationError != null) {
             return validationError;
         }
 
-        IdempotentRequestCache.INSTANCE.putIfAbsent(correlationId, IdempotentRequestCache.Status.RECEIVED);
         ProductFindAllRequestDto requestDto = buildRequestDto(correlationId, limit, offset);
 
         try {
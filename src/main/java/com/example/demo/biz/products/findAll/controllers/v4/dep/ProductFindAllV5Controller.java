@@ -47,13 +47,12 @@ public class ProductFindAllV5Controller {
         int safeLimit = normalizeLimit(limit);
         int safeOffset = normalizeOffset(offset);
 
-        if (IdempotentRequestCache.INSTANCE.isInProgress(correlationId)) {
+        if (!IdempotentRequestCache.INSTANCE.tryClaim(correlationId).owner()) {
             log.info("ProductFindAllFutureRestController::findAll - correlationId {} is in progress", correlationId);
             return ResponseEntity.status(HttpStatus.ACCEPTED).body("Processing");
         }
 
         log.info("ProductFindAllFutureRestController::findAll - Generated from product UUID: {}", correlationId);
-        IdempotentRequestCache.INSTANCE.putIfAbsent(correlationId, IdempotentRequestCache.Status.RECEIVED);
 
         ProductFindAllRequestDto requestDto = buildRequestDto(correlationId, safeLimit, safeOffset);
         try {
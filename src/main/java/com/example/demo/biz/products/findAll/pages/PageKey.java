@@ -0,0 +1,17 @@
+package com.example.demo.biz.products.findAll.pages;
+
+/**
+ * A find-all page as the backend sees it, after defaulting missing or out-of-range parameters.
+ */
+public record PageKey(int limit, int offset) {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int DEFAULT_OFFSET = 0;
+
+    public static PageKey of(Integer limit, Integer offset) {
+        return new PageKey(
+                (limit == null || limit < 1) ? DEFAULT_LIMIT : limit,
+                (offset == null || offset < 0) ? DEFAULT_OFFSET : offset
+        );
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.demo.biz.products.findAll.pages;
+
+import com.example.commons.dto.create.ProductResponseDto;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Read-through cache of find-all pages in front of the {@link ProductFindAllPageCoalescer}.
+ * <p>
+ * A miss fetches the page under the caller's correlationId; concurrent misses for the same page share that fetch.
+ * Pages are served for {@code ttl} after they were loaded. Once older than {@code refreshAfter}, the next read still
+ * gets the cached page while a background fetch, under a fresh correlationId, replaces it (stale-while-revalidate).
+ * Empty or failed fetches are not cached. {@link #invalidateAll()} is called when a product is created, since a new
+ * product can shift every page.
+ */
+@Slf4j
+@Component
+public class ProductFindAllPageCache {
+
+    private final ProductFindAllPageCoalescer productFindAllPageCoalescer;
+
+    private final boolean enabled;
+
+    private final AsyncLoadingCache<PageKey, List<ProductResponseDto>> pages;
+
+    @Autowired
+    public ProductFindAllPageCache(
+            ProductFindAllPageCoalescer productFindAllPageCoalescer,
+            @Value("${products.findAll.pageCache.enabled:true}") boolean enabled,
+            @Value("${products.findAll.pageCache.maxSize:1000}") long maxSize,
+            @Value("${products.findAll.pageCache.ttlSeconds:30}") long ttlSeconds,
+            @Value("${products.findAll.pageCache.refreshSeconds:10}") long refreshSeconds,
+            @Value("${products.findAll.pageCache.fetchTimeoutSeconds:10}") long fetchTimeoutSeconds,
+            ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        this(productFindAllPageCoalescer, enabled, maxSize, Duration.ofSeconds(ttlSeconds), Duration.ofSeconds(refreshSeconds),
+                Duration.ofSeconds(fetchTimeoutSeconds), Ticker.systemTicker());
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, pages.synchronous(), "find_all_pages"));
+    }
+
+    public ProductFindAllPageCache(
+            ProductFindAllPageCoalescer productFindAllPageCoalescer,
+            boolean enabled,
+            long maxSize,
+            Duration ttl,
+            Duration refreshAfter,
+            Duration fetchTimeout,
+            Ticker ticker
+    ) {
+        if (refreshAfter.compareTo(ttl) >= 0) {
+            throw new IllegalStateException("products.findAll.pageCache.refreshSeconds must be lower than ttlSeconds");
+        }
+        this.productFindAllPageCoalescer = productFindAllPageCoalescer;
+        this.enabled = enabled;
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .refreshAfterWrite(refreshAfter)
+                .recordStats()
+                .ticker(ticker)
+                .buildAsync((page, executor) -> load(UUID.randomUUID().toString(), page, fetchTimeout));
+    }
+
+    /**
+     * Returns the cached page or fetches it under {@code correlationId}.
+     *
+     * @return a future of the products, or of {@code null} when the backend returned no products
+     */
+    public CompletableFuture<List<ProductResponseDto>> get(String correlationId, PageKey page, Duration timeout) {
+        if (!enabled) {
+            return productFindAllPageCoalescer.fetch(correlationId, page, timeout);
+        }
+        return pages.get(page, (key, executor) -> load(correlationId, key, timeout));
+    }
+
+    public void invalidateAll() {
+        if (enabled) {
+            pages.synchronous().invalidateAll();
+            log.debug("invalidateAll - Find-all page cache invalidated");
+        }
+    }
+
+    public long size() {
+        return pages.synchronous().estimatedSize();
+    }
+
+    // a null value tells Caffeine not to keep the entry
+    private CompletableFuture<List<ProductResponseDto>> load(String correlationId, PageKey page, Duration timeout) {
+        log.debug("load - Fetching page {} with correlationId: {}", page, correlationId);
+        return productFindAllPageCoalescer.fetch(correlationId, page, timeout)
+                .thenApply(products -> products == null || products.isEmpty() ? null : List.copyOf(products));
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.demo.biz.products.findAll.pages;
+
+import com.example.commons.dto.create.ProductResponseDto;
+import com.example.commons.dto.find.ProductFindAllRequestDto;
+import com.example.demo.biz.products.findAll.queues.consumer.reply.IProductFindAllReplyDispatcher;
+import com.example.demo.biz.products.findAll.queues.producer.IProductFindAllQueueProducer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-flight for find-all pages: while a request for a {@link PageKey} is in flight, identical page lookups attach
+ * to it instead of producing their own request, and all of them receive the one reply.
+ * <p>
+ * The first caller (the leader) produces under its own correlationId. {@code find_all_page_requests} counts callers by
+ * {@code role}, so followers / (leaders + followers) is the share of SQS round-trips saved.
+ * <p>
+ * The reply registration is owned here, not by the callers: it ends when the reply arrives, when its deadline passes
+ * or when the send fails. Each caller gets its own {@code copy()} of the shared future, so a caller that gives up
+ * (cancels its copy, or its request completes) does not fail the others attached to the page.
+ * <p>
+ * Only the reads that go through {@link ProductFindAllPageCache} are coalesced, i.e.
+ * {@code /api/v9/products/async}. The blocking find-all endpoints (v1 to v9, including the sync
+ * {@code /api/v9/products}) and the v9 stream still produce one request per call.
+ */
+@Slf4j
+@Component
+public class ProductFindAllPageCoalescer {
+
+    private final IProductFindAllQueueProducer productFindAllQueueProducer;
+
+    private final IProductFindAllReplyDispatcher productFindAllReplyDispatcher;
+
+    private final boolean enabled;
+
+    private final Map<PageKey, CompletableFuture<List<ProductResponseDto>>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter leaders;
+
+    private final Counter followers;
+
+    @Autowired
+    public ProductFindAllPageCoalescer(
+            IProductFindAllQueueProducer productFindAllQueueProducer,
+            IProductFindAllReplyDispatcher productFindAllReplyDispatcher,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${products.findAll.coalescing.enabled:true}") boolean enabled
+    ) {
+        this(productFindAllQueueProducer, productFindAllReplyDispatcher, meterRegistry.getIfAvailable(SimpleMeterRegistry::new), enabled);
+    }
+
+    public ProductFindAllPageCoalescer(
+            IProductFindAllQueueProducer productFindAllQueueProducer,
+            IProductFindAllReplyDispatcher productFindAllReplyDispatcher,
+            MeterRegistry meterRegistry,
+            boolean enabled
+    ) {
+        this.productFindAllQueueProducer = productFindAllQueueProducer;
+        this.productFindAllReplyDispatcher = productFindAllReplyDispatcher;
+        this.enabled = enabled;
+        this.leaders = Counter.builder("find_all_page_requests").tag("role", "leader").register(meterRegistry);
+        this.followers = Counter.builder("find_all_page_requests").tag("role", "follower").register(meterRegistry);
+        meterRegistry.gaugeMapSize("find_all_pages_in_flight", List.of(), inFlight);
+    }
+
+    /**
+     * Fetches the page, sharing the reply of an identical request already in flight.
+     * <p>
+     * The returned future completes with the products, or exceptionally with a
+     * {@link java.util.concurrent.TimeoutException} when no reply arrives within {@code timeout}, or with the send
+     * failure when the request could not be produced; followers attached to it fail the same way.
+     */
+    public CompletableFuture<List<ProductResponseDto>> fetch(String correlationId, PageKey page, Duration timeout) {
+        if (!enabled) {
+            leaders.increment();
+            return produce(correlationId, page, timeout);
+        }
+
+        CompletableFuture<List<ProductResponseDto>> created = new CompletableFuture<>();
+        CompletableFuture<List<ProductResponseDto>> shared = inFlight.putIfAbsent(page, created);
+        if (shared != null) {
+            followers.increment();
+            log.debug("fetch - correlationId: {} attached to in-flight page {}", correlationId, page);
+            return shared.copy();
+        }
+
+        leaders.increment();
+        log.debug("fetch - correlationId: {} producing page {}", correlationId, page);
+        produce(correlationId, page, timeout).whenComplete((products, throwable) -> {
+            inFlight.remove(page, created);
+            if (throwable != null) {
+                created.completeExceptionally(throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable);
+            } else {
+                created.complete(products);
+            }
+        });
+        return created.copy();
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    // register before producing so a fast reply is not missed; a failed send drops the registration
+    private CompletableFuture<List<ProductResponseDto>> produce(String correlationId, PageKey page, Duration timeout) {
+        CompletableFuture<List<ProductResponseDto>> reply = productFindAllReplyDispatcher.register(correlationId, timeout);
+        return productFindAllQueueProducer.produceAsync(correlationId, toRequestDto(correlationId, page))
+                .whenComplete((sent, throwable) -> {
+                    if (throwable != null) {
+                        log.error("produce - Send failed for correlationId: {}", correlationId, throwable);
+                        productFindAllReplyDispatcher.cancel(correlationId);
+                    }
+                })
+                .thenCompose(sent -> reply);
+    }
+
+    private static ProductFindAllRequestDto toRequestDto(String correlationId, PageKey page) {
+        return new ProductFindAllRequestDto(correlationId, page.limit(), page.offset());
+    }
+}
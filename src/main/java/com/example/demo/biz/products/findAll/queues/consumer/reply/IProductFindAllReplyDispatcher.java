@@ -0,0 +1,48 @@
+package com.example.demo.biz.products.findAll.queues.consumer.reply;
+
+import com.example.commons.dto.create.ProductResponseDto;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Owns the find-all reply queue and hands each reply to the caller waiting on its correlationId.
+ * <p>
+ * Callers should {@link #register(String)} before producing the request so an early reply is never missed.
+ */
+public interface IProductFindAllReplyDispatcher {
+
+    /**
+     * Registers a waiter for the given correlationId, or returns the one already registered.
+     */
+    CompletableFuture<List<ProductResponseDto>> register(String correlationId);
+
+    /**
+     * Same as {@link #register(String)} but with the waiter's deadline set to {@code timeout} from now; on expiry the
+     * future completes exceptionally with a {@link java.util.concurrent.TimeoutException}.
+     */
+    CompletableFuture<List<ProductResponseDto>> register(String correlationId, Duration timeout);
+
+    /**
+     * Waits up to {@code timeout} for the reply, registering first if needed.
+     *
+     * @return the products, or an empty list on timeout or failure
+     */
+    List<ProductResponseDto> await(String correlationId, Duration timeout);
+
+    /**
+     * Streams every reply page for the correlationId to {@code onPage} as it is dispatched, until {@link #cancel(String)}
+     * or the deadline, which runs {@code onDeadline}.
+     *
+     * @return {@code false} if a stream is already open for this correlationId
+     */
+    boolean openStream(String correlationId, Duration timeout, Consumer<List<ProductResponseDto>> onPage, Runnable onDeadline);
+
+    /**
+     * Drops the waiter or stream registered for the correlationId, if any.
+     */
+    void cancel(String correlationId);
+
+}
@@ -0,0 +1,107 @@
+package com.example.demo.biz.products.findAll.queues.consumer.reply;
+
+import com.example.commons.dto.create.ProductResponseDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Replies that arrived while nobody was waiting for their correlationId, parked in memory so a slightly late waiter
+ * can pick them up without another SQS round-trip.
+ * <p>
+ * Only correlationIds {@link #expect expected} on this instance within the last {@code ttl} are parked: the reply queue
+ * is shared with other instances, and a reply nobody here asked for belongs to one of them.
+ * <p>
+ * Bounded by {@code maxSize} and expired {@code ttl} after the first page was parked; Caffeine evicts in amortised
+ * O(1) per entry, so there is no periodic full scan. Exposed as the {@code find_all_orphan_replies} cache metrics.
+ */
+@Slf4j
+@Component
+public class OrphanReplyStore {
+
+    private final Cache<String, List<ProductResponseDto>> orphans;
+
+    private final Cache<String, Boolean> expected;
+
+    @Autowired
+    public OrphanReplyStore(
+            @Value("${products.findAll.reply.orphan.maxSize:10000}") long maxSize,
+            @Value("${products.findAll.reply.orphan.ttlSeconds:60}") long ttlSeconds,
+            ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        this(maxSize, Duration.ofSeconds(ttlSeconds));
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, orphans, "find_all_orphan_replies"));
+    }
+
+    public OrphanReplyStore(long maxSize, Duration ttl) {
+        this.orphans = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .removalListener((String correlationId, List<ProductResponseDto> products, RemovalCause cause) -> {
+                    if (cause.wasEvicted()) {
+                        log.debug("removalListener - Evicted orphan reply for correlationId: {} ({})", correlationId, cause);
+                    }
+                })
+                .build();
+        this.expected = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Records that a waiter or stream was registered here for the correlationId.
+     */
+    public void expect(String correlationId) {
+        expected.put(correlationId, Boolean.TRUE);
+    }
+
+    /**
+     * @return {@code true} if the correlationId was {@link #expect expected} within the last {@code ttl}
+     */
+    public boolean isExpected(String correlationId) {
+        return expected.getIfPresent(correlationId) != null;
+    }
+
+    /**
+     * Parks a page; pages for the same correlationId are appended in arrival order.
+     */
+    public void park(String correlationId, List<ProductResponseDto> products) {
+        orphans.asMap().merge(correlationId, List.copyOf(products), (parked, page) -> {
+            List<ProductResponseDto> merged = new ArrayList<>(parked.size() + page.size());
+            merged.addAll(parked);
+            merged.addAll(page);
+            return List.copyOf(merged);
+        });
+        log.debug("park - Parked {} products for correlationId: {}", products.size(), correlationId);
+    }
+
+    /**
+     * Removes and returns what is parked for the correlationId.
+     */
+    public Optional<List<ProductResponseDto>> take(String correlationId) {
+        return Optional.ofNullable(orphans.asMap().remove(correlationId));
+    }
+
+    public long size() {
+        return orphans.estimatedSize();
+    }
+
+    public void cleanUp() {
+        orphans.cleanUp();
+        expected.cleanUp();
+    }
+}
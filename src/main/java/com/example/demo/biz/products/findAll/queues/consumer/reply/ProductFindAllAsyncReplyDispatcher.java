@@ -0,0 +1,250 @@
+package com.example.demo.biz.products.findAll.queues.consumer.reply;
+
+import com.example.commons.dto.create.ProductResponseDto;
+import com.example.demo.biz.commons.queues.InFlightMessageTracker;
+import com.example.demo.biz.commons.queues.SqsAcknowledgementService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.*;
+import software.amazon.awssdk.utils.StringUtils;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * {@link SqsAsyncClient} variant of {@link ProductFindAllReplyDispatcher}.
+ * <p>
+ * Each of the {@code concurrentPolls} long-polls is a future chain (receive, route, receive again), so no thread is
+ * parked while SQS holds the request open; the Netty event loops do the I/O. Deletes and releases go through the shared
+ * {@link SqsAcknowledgementService} as in the sync dispatcher, on an acknowledger for this queue backed by the same
+ * {@link SqsAsyncClient}, so receive, delete and change-visibility are all non-blocking calls. Received messages are
+ * tracked by an {@link InFlightMessageTracker} until they are routed.
+ * <p>
+ * Unlike the sync dispatcher, the number of long-polls is fixed at {@code concurrentPolls} and does not follow the
+ * queue depth: an idle chain costs no thread, only an open connection.
+ * <p>
+ * {@link #stop()} waits, up to one long-poll plus a margin, for the receives still in flight.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "products.findAll.reply.type", havingValue = "async")
+public class ProductFindAllAsyncReplyDispatcher implements IProductFindAllReplyDispatcher {
+
+    private static final int MAX_MESSAGES_PER_POLL = 10;
+    private static final long RECEIVE_ERROR_BACKOFF_MS = 1_000L;
+    private static final long SHUTDOWN_MARGIN_SECONDS = 5L;
+
+    private final ObjectMapper objectMapper;
+
+    private final SqsAsyncClient sqsAsyncClient;
+
+    private final ReplyCorrelationRegistry replyCorrelationRegistry;
+
+    private ReplyMessageRouter replyMessageRouter;
+
+    private final SqsAcknowledgementService sqsAcknowledgementService;
+
+    @Value("${aws.sqs.queue.find.web.consumer.url}")
+    private String queueUrl;
+
+    @Value("${products.findAll.reply.async.concurrentPolls:4}")
+    private int concurrentPolls;
+
+    @Value("${products.findAll.reply.waitTimeSeconds:20}")
+    private int waitTimeSeconds;
+
+    @Value("${products.findAll.reply.visibilityTimeoutSeconds:30}")
+    private int visibilityTimeoutSeconds;
+
+    @Value("${products.findAll.reply.registrationTimeoutSeconds:30}")
+    private int registrationTimeoutSeconds;
+
+    @Value("${products.findAll.reply.release.baseSeconds:5}")
+    private int releaseBaseSeconds;
+
+    @Value("${products.findAll.reply.release.maxSeconds:60}")
+    private int releaseMaxSeconds;
+
+    @Value("${products.findAll.reply.unknown.baseSeconds:1}")
+    private int unknownBaseSeconds;
+
+    @Value("${products.findAll.reply.unknown.maxReceives:10}")
+    private int unknownMaxReceives;
+
+    @Value("${products.findAll.reply.maxInFlightSeconds:120}")
+    private int maxInFlightSeconds;
+
+    private InFlightMessageTracker inFlightTracker;
+
+    // the current receive chain of each poller, awaited on stop
+    private final Map<Integer, CompletableFuture<Void>> polls = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+
+    public ProductFindAllAsyncReplyDispatcher(ObjectMapper objectMapper, SqsAsyncClient sqsAsyncClient, ReplyCorrelationRegistry replyCorrelationRegistry,
+                                              SqsAcknowledgementService sqsAcknowledgementService) {
+        this.objectMapper = objectMapper;
+        this.sqsAsyncClient = sqsAsyncClient;
+        this.replyCorrelationRegistry = replyCorrelationRegistry;
+        this.sqsAcknowledgementService = sqsAcknowledgementService;
+    }
+
+    @PostConstruct
+    public void start() {
+        validateConfiguration();
+
+        running = true;
+        for (int i = 0; i < concurrentPolls; i++) {
+            poll(i);
+        }
+        log.info("start - {} async long-polls started for queue {}", concurrentPolls, queueUrl);
+    }
+
+    public void validateConfiguration() {
+        if (StringUtils.isBlank(queueUrl)) {
+            throw new IllegalStateException("aws.sqs.queue.find.web.consumer.url must be configured");
+        }
+        try {
+            var uri = new URI(queueUrl);
+            if (!"http".equalsIgnoreCase(uri.getScheme()) && !"https".equalsIgnoreCase(uri.getScheme())) {
+                throw new IllegalStateException("Invalid SQS queue URL scheme: " + uri.getScheme());
+            }
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Invalid SQS queue URL: " + queueUrl, e);
+        }
+        if (concurrentPolls < 1) {
+            log.warn("validateConfiguration - concurrentPolls {} is too low; defaulting to 1", concurrentPolls);
+            concurrentPolls = 1;
+        }
+        if (visibilityTimeoutSeconds < 3) {
+            log.warn("validateConfiguration - visibilityTimeoutSeconds {} is too low; defaulting to 30", visibilityTimeoutSeconds);
+            visibilityTimeoutSeconds = 30;
+        }
+        if (unknownMaxReceives < 2) {
+            log.warn("validateConfiguration - unknown.maxReceives {} is too low; defaulting to 10", unknownMaxReceives);
+            unknownMaxReceives = 10;
+        }
+        if (replyMessageRouter == null) {
+            replyMessageRouter = new ReplyMessageRouter(objectMapper, replyCorrelationRegistry, unknownMaxReceives);
+        }
+        if (inFlightTracker == null) {
+            inFlightTracker = new InFlightMessageTracker(sqsAcknowledgementService.acknowledger(queueUrl, sqsAsyncClient), visibilityTimeoutSeconds,
+                    Duration.ofSeconds(Math.max(visibilityTimeoutSeconds, maxInFlightSeconds)), "find-all-reply-async");
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        long timeoutSeconds = waitTimeSeconds + SHUTDOWN_MARGIN_SECONDS;
+        try {
+            CompletableFuture.allOf(polls.values().toArray(CompletableFuture[]::new)).get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            log.warn("stop - Long-polls still in flight after {} s, cancelling", timeoutSeconds);
+            polls.values().forEach(poll -> poll.cancel(true));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            polls.values().forEach(poll -> poll.cancel(true));
+        } catch (ExecutionException e) {
+            // failures are logged by the chain itself
+        }
+        polls.clear();
+        if (inFlightTracker != null) {
+            inFlightTracker.close();
+        }
+        log.info("stop - Async long-polls stopped");
+    }
+
+    @Override
+    public CompletableFuture<List<ProductResponseDto>> register(String correlationId) {
+        return replyCorrelationRegistry.register(correlationId, Duration.ofSeconds(registrationTimeoutSeconds));
+    }
+
+    @Override
+    public CompletableFuture<List<ProductResponseDto>> register(String correlationId, Duration timeout) {
+        return replyCorrelationRegistry.register(correlationId, timeout);
+    }
+
+    @Override
+    public List<ProductResponseDto> await(String correlationId, Duration timeout) {
+        return replyCorrelationRegistry.await(correlationId, timeout);
+    }
+
+    @Override
+    public boolean openStream(String correlationId, Duration timeout, Consumer<List<ProductResponseDto>> onPage, Runnable onDeadline) {
+        return replyCorrelationRegistry.openStream(correlationId, timeout, onPage, onDeadline);
+    }
+
+    @Override
+    public void cancel(String correlationId) {
+        replyCorrelationRegistry.cancel(correlationId);
+        replyCorrelationRegistry.closeStream(correlationId);
+    }
+
+    private void poll(int poller) {
+        if (!running) {
+            log.info("poll - Stopped poller {}", poller);
+            return;
+        }
+
+        ReceiveMessageRequest receiveRequest = ReceiveMessageRequest.builder()
+                .queueUrl(queueUrl)
+                .maxNumberOfMessages(MAX_MESSAGES_PER_POLL)
+                .waitTimeSeconds(waitTimeSeconds)
+                .visibilityTimeout(visibilityTimeoutSeconds)
+                .messageAttributeNames(QueueAttributeName.ALL.toString())
+                .messageSystemAttributeNames(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT)
+                .build();
+
+        CompletableFuture<Void> cycle = sqsAsyncClient.receiveMessage(receiveRequest)
+                .thenAccept(response -> {
+                    if (response == null || !response.hasMessages() || response.messages().isEmpty()) {
+                        return;
+                    }
+                    log.debug("poll - Poller {} received {} messages", poller, response.messages().size());
+                    inFlightTracker.track(response.messages());
+                    dispatch(response.messages());
+                });
+        // registered before chaining, so a cycle that completes inline cannot overwrite its successor
+        polls.put(poller, cycle);
+        cycle.whenComplete((ignored, throwable) -> {
+            if (throwable == null || !running) {
+                poll(poller);
+                return;
+            }
+            log.error("poll - Poller {} receive failed: {}", poller, throwable.getMessage(), throwable);
+            CompletableFuture.delayedExecutor(RECEIVE_ERROR_BACKOFF_MS, TimeUnit.MILLISECONDS)
+                    .execute(() -> poll(poller));
+        });
+    }
+
+    /**
+     * Routes one received batch, then queues the handled and stale replies for deletion and releases the rest, foreign
+     * ones from {@code unknown.baseSeconds} and unroutable ones for this instance from {@code release.baseSeconds}, both
+     * doubling with every receive.
+     */
+    public void dispatch(List<Message> messages) {
+        ReplyMessageRouter.Routed routed;
+        try {
+            routed = replyMessageRouter.route(messages);
+        } finally {
+            inFlightTracker.untrack(messages);
+        }
+        sqsAcknowledgementService.delete(queueUrl, routed.toDelete());
+        routed.toReturn().forEach(m -> sqsAcknowledgementService.changeVisibility(queueUrl, m.receiptHandle(),
+                InFlightMessageTracker.backoffSeconds(m, unknownBaseSeconds, releaseMaxSeconds)));
+        routed.toRelease().forEach(m -> sqsAcknowledgementService.changeVisibility(queueUrl, m.receiptHandle(),
+                InFlightMessageTracker.backoffSeconds(m, releaseBaseSeconds, releaseMaxSeconds)));
+    }
+}
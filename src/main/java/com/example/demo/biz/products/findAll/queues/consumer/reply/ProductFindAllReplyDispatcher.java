@@ -0,0 +1,395 @@
+package com.example.demo.biz.products.findAll.queues.consumer.reply;
+
+import com.example.commons.dto.create.ProductResponseDto;
+import com.example.demo.biz.commons.queues.InFlightMessageTracker;
+import com.example.demo.biz.commons.queues.SqsAcknowledgementService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.*;
+import software.amazon.awssdk.utils.StringUtils;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Single long-running consumer of the find-all reply queue.
+ * <p>
+ * Pollers receive in batches of {@value #MAX_MESSAGES_PER_POLL} and complete the future registered for each reply's
+ * correlationId, so a request costs one SQS round-trip instead of polling until its own reply shows up. Replies for
+ * correlationIds this instance never registered are made visible again for the consumer that owns them, after a short
+ * delay that doubles on every receive, and deleted as stale once received {@code unknown.maxReceives} times.
+ * <p>
+ * The poller count follows {@code ApproximateNumberOfMessages} between {@code minPollers} and {@code maxPollers}, so an
+ * idle instance keeps a single long-poll. Received batches go to a bounded worker pool, and a poller takes a permit for
+ * a free worker or queue slot before it receives, so when the workers fall behind the pollers wait instead of receiving
+ * batches nobody can process. Deletes and releases go through the shared {@link SqsAcknowledgementService}, which
+ * coalesces them across batches.
+ * <p>
+ * Messages stay tracked by an {@link InFlightMessageTracker} from receive until they are routed, so their visibility
+ * is extended while they wait for a worker. Unroutable replies for this instance are released with a delay that doubles
+ * on every redelivery, which keeps them from cycling through the pollers.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "products.findAll.reply.type", havingValue = "sync", matchIfMissing = true)
+public class ProductFindAllReplyDispatcher implements IProductFindAllReplyDispatcher {
+
+    private static final int MAX_MESSAGES_PER_POLL = 10;
+    private static final long RECEIVE_ERROR_BACKOFF_MS = 1_000L;
+    private static final long PERMIT_WAIT_MS = 1_000L;
+
+    private final ObjectMapper objectMapper;
+
+    private final SqsClient sqsClient;
+
+    private final ReplyCorrelationRegistry replyCorrelationRegistry;
+
+    private ReplyMessageRouter replyMessageRouter;
+
+    private final SqsAcknowledgementService sqsAcknowledgementService;
+
+    @Value("${aws.sqs.queue.find.web.consumer.url}")
+    private String queueUrl;
+
+    @Value("${products.findAll.reply.minPollers:1}")
+    private int minPollers;
+
+    @Value("${products.findAll.reply.maxPollers:4}")
+    private int maxPollers;
+
+    @Value("${products.findAll.reply.workers:4}")
+    private int workers;
+
+    @Value("${products.findAll.reply.workQueueCapacity:16}")
+    private int workQueueCapacity;
+
+    @Value("${products.findAll.reply.maxInFlightSeconds:120}")
+    private int maxInFlightSeconds;
+
+    @Value("${products.findAll.reply.release.baseSeconds:5}")
+    private int releaseBaseSeconds;
+
+    @Value("${products.findAll.reply.release.maxSeconds:60}")
+    private int releaseMaxSeconds;
+
+    @Value("${products.findAll.reply.unknown.baseSeconds:1}")
+    private int unknownBaseSeconds;
+
+    @Value("${products.findAll.reply.unknown.maxReceives:10}")
+    private int unknownMaxReceives;
+
+    @Value("${products.findAll.reply.waitTimeSeconds:20}")
+    private int waitTimeSeconds;
+
+    @Value("${products.findAll.reply.visibilityTimeoutSeconds:30}")
+    private int visibilityTimeoutSeconds;
+
+    @Value("${products.findAll.reply.registrationTimeoutSeconds:30}")
+    private int registrationTimeoutSeconds;
+
+    private ExecutorService pollingExecutor;
+
+    private ThreadPoolExecutor processingExecutor;
+
+    // one per batch a worker is running or the work queue holds
+    private Semaphore batchPermits;
+
+    private InFlightMessageTracker inFlightTracker;
+
+    private final AtomicInteger activePollers = new AtomicInteger();
+
+    private volatile int targetPollers;
+
+    private volatile boolean running;
+
+    public ProductFindAllReplyDispatcher(ObjectMapper objectMapper, SqsClient sqsClient, ReplyCorrelationRegistry replyCorrelationRegistry,
+                                         SqsAcknowledgementService sqsAcknowledgementService) {
+        this.objectMapper = objectMapper;
+        this.sqsClient = sqsClient;
+        this.replyCorrelationRegistry = replyCorrelationRegistry;
+        this.sqsAcknowledgementService = sqsAcknowledgementService;
+    }
+
+    @PostConstruct
+    public void start() {
+        validateConfiguration();
+
+        running = true;
+        batchPermits = new Semaphore(workers + workQueueCapacity);
+        processingExecutor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workQueueCapacity),
+                Thread.ofVirtual().name("find-all-reply-worker-", 0).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        pollingExecutor = Executors.newCachedThreadPool(Thread.ofPlatform()
+                .name("find-all-reply-poller-", 0)
+                .daemon(true)
+                .factory());
+        scaleTo(minPollers);
+        log.info("start - {} to {} pollers, {} workers for queue {}", minPollers, maxPollers, workers, queueUrl);
+    }
+
+    public void validateConfiguration() {
+        if (StringUtils.isBlank(queueUrl)) {
+            throw new IllegalStateException("aws.sqs.queue.find.web.consumer.url must be configured");
+        }
+        try {
+            var uri = new URI(queueUrl);
+            if (!"http".equalsIgnoreCase(uri.getScheme()) && !"https".equalsIgnoreCase(uri.getScheme())) {
+                throw new IllegalStateException("Invalid SQS queue URL scheme: " + uri.getScheme());
+            }
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Invalid SQS queue URL: " + queueUrl, e);
+        }
+        if (minPollers < 1) {
+            log.warn("validateConfiguration - minPollers {} is too low; defaulting to 1", minPollers);
+            minPollers = 1;
+        }
+        if (maxPollers < minPollers) {
+            log.warn("validateConfiguration - maxPollers {} is below minPollers; defaulting to {}", maxPollers, minPollers);
+            maxPollers = minPollers;
+        }
+        if (workers < 1) {
+            log.warn("validateConfiguration - workers {} is too low; defaulting to 1", workers);
+            workers = 1;
+        }
+        if (workQueueCapacity < 1) {
+            log.warn("validateConfiguration - workQueueCapacity {} is too low; defaulting to 1", workQueueCapacity);
+            workQueueCapacity = 1;
+        }
+        if (visibilityTimeoutSeconds < 3) {
+            log.warn("validateConfiguration - visibilityTimeoutSeconds {} is too low; defaulting to 30", visibilityTimeoutSeconds);
+            visibilityTimeoutSeconds = 30;
+        }
+        if (unknownMaxReceives < 2) {
+            log.warn("validateConfiguration - unknown.maxReceives {} is too low; defaulting to 10", unknownMaxReceives);
+            unknownMaxReceives = 10;
+        }
+        if (replyMessageRouter == null) {
+            replyMessageRouter = new ReplyMessageRouter(objectMapper, replyCorrelationRegistry, unknownMaxReceives);
+        }
+        if (inFlightTracker == null) {
+            inFlightTracker = new InFlightMessageTracker(sqsAcknowledgementService.acknowledger(queueUrl), visibilityTimeoutSeconds,
+                    Duration.ofSeconds(Math.max(visibilityTimeoutSeconds, maxInFlightSeconds)), "find-all-reply");
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        shutdown(pollingExecutor, "Pollers");
+        shutdown(processingExecutor, "Workers");
+        if (inFlightTracker != null) {
+            inFlightTracker.close();
+        }
+        log.info("stop - Pollers stopped");
+    }
+
+    private static void shutdown(ExecutorService executor, String name) {
+        if (executor == null) return;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("stop - {} did not terminate in time, forcing shutdownNow", name);
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Reads the queue depth and moves the poller count towards it: up at once, down one poller per interval.
+     */
+    @Scheduled(initialDelayString = "${products.findAll.reply.scaleIntervalSeconds:5}",
+            fixedDelayString = "${products.findAll.reply.scaleIntervalSeconds:5}", timeUnit = TimeUnit.SECONDS)
+    public void rescale() {
+        if (!running || maxPollers <= minPollers) return;
+        try {
+            var response = sqsClient.getQueueAttributes(GetQueueAttributesRequest.builder()
+                    .queueUrl(queueUrl)
+                    .attributeNames(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES)
+                    .build());
+            Map<QueueAttributeName, String> attributes = response == null ? Map.of() : response.attributes();
+            int depth = Integer.parseInt(attributes.getOrDefault(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES, "0"));
+            int desired = desiredPollers(depth);
+            int next = desired >= targetPollers ? desired : targetPollers - 1;
+            if (next != targetPollers) {
+                log.info("rescale - Queue depth {}, pollers {} -> {}", depth, targetPollers, next);
+            }
+            scaleTo(next);
+        } catch (SdkException | NumberFormatException e) {
+            log.warn("rescale - Could not read queue depth, keeping {} pollers: {}", targetPollers, e.getMessage());
+        }
+    }
+
+    /**
+     * One poller per full receive batch waiting in the queue, clamped to {@code [minPollers, maxPollers]}.
+     */
+    public int desiredPollers(int approximateDepth) {
+        int byDepth = (Math.max(0, approximateDepth) + MAX_MESSAGES_PER_POLL - 1) / MAX_MESSAGES_PER_POLL;
+        return Math.clamp(byDepth, minPollers, maxPollers);
+    }
+
+    public int getTargetPollers() {
+        return targetPollers;
+    }
+
+    private void scaleTo(int desired) {
+        targetPollers = desired;
+        while (running) {
+            int current = activePollers.get();
+            if (current >= desired) break;
+            if (activePollers.compareAndSet(current, current + 1)) {
+                pollingExecutor.execute(this::poll);
+            }
+        }
+    }
+
+    // surplus pollers leave after their in-flight receive, so a scale-down never drops a batch
+    private boolean retire() {
+        int current = activePollers.get();
+        return current > targetPollers && activePollers.compareAndSet(current, current - 1);
+    }
+
+    @Override
+    public CompletableFuture<List<ProductResponseDto>> register(String correlationId) {
+        return replyCorrelationRegistry.register(correlationId, Duration.ofSeconds(registrationTimeoutSeconds));
+    }
+
+    @Override
+    public CompletableFuture<List<ProductResponseDto>> register(String correlationId, Duration timeout) {
+        return replyCorrelationRegistry.register(correlationId, timeout);
+    }
+
+    @Override
+    public List<ProductResponseDto> await(String correlationId, Duration timeout) {
+        return replyCorrelationRegistry.await(correlationId, timeout);
+    }
+
+    @Override
+    public boolean openStream(String correlationId, Duration timeout, Consumer<List<ProductResponseDto>> onPage, Runnable onDeadline) {
+        return replyCorrelationRegistry.openStream(correlationId, timeout, onPage, onDeadline);
+    }
+
+    @Override
+    public void cancel(String correlationId) {
+        replyCorrelationRegistry.cancel(correlationId);
+        replyCorrelationRegistry.closeStream(correlationId);
+    }
+
+    private void poll() {
+        log.info("poll - Starting on thread {}", Thread.currentThread().getName());
+        boolean retired = false;
+        while (running && !Thread.currentThread().isInterrupted()) {
+            if (retire()) {
+                retired = true;
+                break;
+            }
+            boolean permitHeld = false;
+            try {
+                if (!batchPermits.tryAcquire(PERMIT_WAIT_MS, TimeUnit.MILLISECONDS)) {
+                    log.debug("poll - Workers saturated, waiting before the next receive");
+                    continue;
+                }
+                permitHeld = true;
+                List<Message> messages = receive();
+                if (messages.isEmpty()) {
+                    continue;
+                }
+                inFlightTracker.track(messages);
+                try {
+                    processingExecutor.execute(() -> {
+                        try {
+                            dispatch(messages);
+                        } finally {
+                            batchPermits.release();
+                        }
+                    });
+                    permitHeld = false;
+                } catch (RejectedExecutionException e) {
+                    // only once the workers are shut down: the permit kept every other batch within capacity
+                    inFlightTracker.untrack(messages);
+                    sqsAcknowledgementService.changeVisibility(queueUrl, messages, 0);
+                    log.warn("poll - Workers shut down, released batch of {} for redelivery", messages.size());
+                    break;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (SdkException e) {
+                if (!running) break;
+                log.error("poll - Receive failed: {}", e.getMessage(), e);
+                sleepQuietly(RECEIVE_ERROR_BACKOFF_MS);
+            } catch (Exception e) {
+                log.error("poll - Unexpected error: {}", e.getMessage(), e);
+            } finally {
+                if (permitHeld) {
+                    batchPermits.release();
+                }
+            }
+        }
+        if (!retired) {
+            activePollers.decrementAndGet();
+        }
+        log.info("poll - Stopped on thread {}", Thread.currentThread().getName());
+    }
+
+    private List<Message> receive() {
+        ReceiveMessageRequest receiveRequest = ReceiveMessageRequest.builder()
+                .queueUrl(queueUrl)
+                .maxNumberOfMessages(MAX_MESSAGES_PER_POLL)
+                .waitTimeSeconds(waitTimeSeconds)
+                .visibilityTimeout(visibilityTimeoutSeconds)
+                .messageAttributeNames(QueueAttributeName.ALL.toString())
+                .messageSystemAttributeNames(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT)
+                .build();
+
+        ReceiveMessageResponse response = sqsClient.receiveMessage(receiveRequest);
+        if (response == null || !response.hasMessages()) {
+            return List.of();
+        }
+        log.debug("receive - Received {} messages", response.messages().size());
+        return response.messages();
+    }
+
+    /**
+     * Routes one received batch, then queues the handled and stale replies for deletion and releases the rest, foreign
+     * ones from {@code unknown.baseSeconds} and unroutable ones for this instance from {@code release.baseSeconds}, both
+     * doubling with every receive.
+     */
+    public void dispatch(List<Message> messages) {
+        ReplyMessageRouter.Routed routed;
+        try {
+            routed = replyMessageRouter.route(messages);
+        } finally {
+            inFlightTracker.untrack(messages);
+        }
+        sqsAcknowledgementService.delete(queueUrl, routed.toDelete());
+        routed.toReturn().forEach(m -> sqsAcknowledgementService.changeVisibility(queueUrl, m.receiptHandle(),
+                InFlightMessageTracker.backoffSeconds(m, unknownBaseSeconds, releaseMaxSeconds)));
+        routed.toRelease().forEach(m -> sqsAcknowledgementService.changeVisibility(queueUrl, m.receiptHandle(),
+                InFlightMessageTracker.backoffSeconds(m, releaseBaseSeconds, releaseMaxSeconds)));
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.example.demo.biz.products.findAll.queues.consumer.reply;
+
+import com.example.commons.dto.create.ProductResponseDto;
+import com.example.demo.biz.commons.cache.CorrelationTable;
+import com.example.demo.biz.commons.timer.HashedWheelTimer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * Pending find-all replies keyed by correlationId.
+ * <p>
+ * Each registration is a {@link CompletableFuture} completed by the reply poller; deadlines live on one shared
+ * {@link HashedWheelTimer}, so a waiting request holds no monitor, no thread and no heap-ordered scheduled task, and
+ * cancelling it on completion is O(1).
+ * <p>
+ * A correlationId can instead be opened as a stream, in which case every reply page is handed to its listener as it
+ * is dispatched rather than completing a single future.
+ * <p>
+ * Replies that arrive before their waiter are parked in the {@link OrphanReplyStore} and handed over on registration.
+ * Every registration is remembered there for the orphan TTL, so {@link #isKnown} can tell a late reply for this instance
+ * from a reply that belongs to another consumer of the queue.
+ */
+@Slf4j
+@Component
+public class ReplyCorrelationRegistry {
+
+    private final CorrelationTable<Pending> pending = new CorrelationTable<>();
+
+    private final CorrelationTable<Stream> streams = new CorrelationTable<>();
+
+    private static final Duration DEADLINE_TICK = Duration.ofMillis(10);
+    private static final int DEADLINE_TICKS_PER_WHEEL = 512;
+
+    private final HashedWheelTimer deadlineTimer = new HashedWheelTimer(DEADLINE_TICK, DEADLINE_TICKS_PER_WHEEL, "find-all-reply-deadline");
+
+    private final OrphanReplyStore orphanReplyStore;
+
+    private record Pending(CompletableFuture<List<ProductResponseDto>> future, HashedWheelTimer.Timeout deadline) {
+    }
+
+    private static final class Stream {
+        private final Consumer<List<ProductResponseDto>> onPage;
+        private volatile HashedWheelTimer.Timeout deadline;
+
+        private Stream(Consumer<List<ProductResponseDto>> onPage) {
+            this.onPage = onPage;
+        }
+    }
+
+    public ReplyCorrelationRegistry() {
+        this(new OrphanReplyStore(10_000, Duration.ofSeconds(60)));
+    }
+
+    @Autowired
+    public ReplyCorrelationRegistry(OrphanReplyStore orphanReplyStore) {
+        this.orphanReplyStore = orphanReplyStore;
+    }
+
+    /**
+     * Registers the correlationId, or returns the existing registration with its deadline moved to {@code timeout}
+     * from now. On expiry the future completes exceptionally with a {@link TimeoutException}.
+     */
+    public CompletableFuture<List<ProductResponseDto>> register(String correlationId, Duration timeout) {
+        Objects.requireNonNull(correlationId, "correlationId must not be null");
+        Objects.requireNonNull(timeout, "timeout must not be null");
+
+        Pending entry = pending.compute(correlationId, (id, existing) -> {
+            if (existing != null && !existing.future().isDone()) {
+                existing.deadline().cancel();
+                return new Pending(existing.future(), scheduleDeadline(id, existing.future(), timeout));
+            }
+            log.debug("register - correlationId: {}, timeout: {} ms", id, timeout.toMillis());
+            CompletableFuture<List<ProductResponseDto>> future = new CompletableFuture<>();
+            return new Pending(future, scheduleDeadline(id, future, timeout));
+        });
+
+        entry.future().whenComplete((products, throwable) -> release(correlationId, entry.future()));
+        orphanReplyStore.expect(correlationId);
+        claimOrphan(correlationId);
+        return entry.future();
+    }
+
+    /**
+     * Blocks until the reply arrives or the deadline passes, then unregisters.
+     *
+     * @return the products, or an empty list on timeout, cancellation or failure
+     */
+    public List<ProductResponseDto> await(String correlationId, Duration timeout) {
+        var future = register(correlationId, timeout);
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                log.warn("await - Timed out after {} ms waiting for correlationId: {}", timeout.toMillis(), correlationId);
+            } else {
+                log.error("await - Failed waiting for correlationId: {}", correlationId, e);
+            }
+            return List.of();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("await - Interrupted waiting for correlationId: {}", correlationId);
+            return List.of();
+        } catch (CancellationException e) {
+            log.warn("await - Cancelled waiting for correlationId: {}", correlationId);
+            return List.of();
+        } finally {
+            cancel(correlationId);
+        }
+    }
+
+    /**
+     * @return {@code true} if a waiter was registered and this call completed it
+     */
+    public boolean complete(String correlationId, List<ProductResponseDto> products) {
+        Pending entry = pending.get(correlationId);
+        if (entry == null) {
+            return false;
+        }
+        return entry.future().complete(products);
+    }
+
+    public boolean isRegistered(String correlationId) {
+        Pending entry = pending.get(correlationId);
+        return entry != null && !entry.future().isDone();
+    }
+
+    /**
+     * @return {@code true} if the correlationId has a waiter or stream here, or had one within the orphan TTL
+     */
+    public boolean isKnown(String correlationId) {
+        return isRegistered(correlationId) || isStreaming(correlationId) || orphanReplyStore.isExpected(correlationId);
+    }
+
+    public void cancel(String correlationId) {
+        Pending entry = pending.get(correlationId);
+        if (entry != null && entry.future().cancel(false)) {
+            log.debug("cancel - correlationId: {}", correlationId);
+        }
+    }
+
+    public int size() {
+        return pending.size();
+    }
+
+    public int pendingDeadlines() {
+        return deadlineTimer.pending();
+    }
+
+    /**
+     * Opens a stream for the correlationId; {@code onDeadline} runs on the timer thread if the stream is still open
+     * after {@code timeout}.
+     *
+     * @return {@code false} if a stream is already open for this correlationId
+     */
+    public boolean openStream(String correlationId, Duration timeout, Consumer<List<ProductResponseDto>> onPage, Runnable onDeadline) {
+        Objects.requireNonNull(correlationId, "correlationId must not be null");
+        Objects.requireNonNull(onPage, "onPage must not be null");
+
+        Stream stream = new Stream(onPage);
+        if (streams.putIfAbsent(correlationId, stream) != null) {
+            log.warn("openStream - Stream already open for correlationId: {}", correlationId);
+            return false;
+        }
+        log.debug("openStream - correlationId: {}, timeout: {} ms", correlationId, timeout.toMillis());
+        stream.deadline = deadlineTimer.schedule(() -> {
+            if (streams.remove(correlationId, stream)) {
+                log.warn("openStream - Deadline reached for stream correlationId: {}", correlationId);
+                onDeadline.run();
+            }
+        }, timeout.toMillis(), TimeUnit.MILLISECONDS);
+        orphanReplyStore.expect(correlationId);
+        claimOrphan(correlationId);
+        return true;
+    }
+
+    /**
+     * @return {@code true} if a stream is open and the page was handed to its listener
+     */
+    public boolean publish(String correlationId, List<ProductResponseDto> page) {
+        Stream stream = streams.get(correlationId);
+        if (stream == null) {
+            return false;
+        }
+        stream.onPage.accept(page);
+        return true;
+    }
+
+    public boolean isStreaming(String correlationId) {
+        return streams.containsKey(correlationId);
+    }
+
+    public void closeStream(String correlationId) {
+        Stream stream = streams.remove(correlationId);
+        if (stream != null && stream.deadline != null) {
+            log.debug("closeStream - correlationId: {}", correlationId);
+            stream.deadline.cancel();
+        }
+    }
+
+    /**
+     * Parks a reply nobody is waiting for. A waiter or stream that registered in the meantime gets it right away.
+     */
+    public void park(String correlationId, List<ProductResponseDto> products) {
+        orphanReplyStore.park(correlationId, products);
+        claimOrphan(correlationId);
+    }
+
+    // both sides publish before checking the other, so a reply racing a registration is never stranded
+    private void claimOrphan(String correlationId) {
+        Pending entry = pending.get(correlationId);
+        if (entry != null && !entry.future().isDone()) {
+            orphanReplyStore.take(correlationId).ifPresent(products -> {
+                if (entry.future().complete(products)) {
+                    log.debug("claimOrphan - Completed correlationId: {} from {} parked products", correlationId, products.size());
+                } else {
+                    orphanReplyStore.park(correlationId, products);
+                }
+            });
+            return;
+        }
+        if (streams.containsKey(correlationId)) {
+            orphanReplyStore.take(correlationId).ifPresent(products -> {
+                if (!publish(correlationId, products)) {
+                    orphanReplyStore.park(correlationId, products);
+                }
+            });
+        }
+    }
+
+    private HashedWheelTimer.Timeout scheduleDeadline(String correlationId, CompletableFuture<List<ProductResponseDto>> future, Duration timeout) {
+        return deadlineTimer.schedule(() -> {
+            if (future.completeExceptionally(new TimeoutException("No reply within " + timeout.toMillis() + " ms for correlationId: " + correlationId))) {
+                log.warn("scheduleDeadline - Deadline reached for correlationId: {}", correlationId);
+            }
+        }, timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void release(String correlationId, CompletableFuture<List<ProductResponseDto>> future) {
+        pending.computeIfPresent(correlationId, (id, entry) -> {
+            if (entry.future() != future) {
+                return entry;
+            }
+            entry.deadline().cancel();
+            return null;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pending.forEachValue(entry -> entry.future().cancel(false));
+        pending.clear();
+        streams.clear();
+        deadlineTimer.close();
+    }
+}
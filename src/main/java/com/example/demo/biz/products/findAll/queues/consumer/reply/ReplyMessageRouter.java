@@ -0,0 +1,172 @@
+package com.example.demo.biz.products.findAll.queues.consumer.reply;
+
+import com.example.commons.dto.create.ProductResponseDto;
+import com.example.commons.utils.QueueAttributeUtils;
+import com.example.demo.biz.commons.queues.InFlightMessageTracker;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.utils.StringUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Transport-independent half of the reply dispatchers: hands each received reply to the registry and decides which
+ * messages are acknowledged and which go back to the queue.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ReplyMessageRouter {
+
+    private final ObjectMapper objectMapper;
+
+    private final ReplyCorrelationRegistry replyCorrelationRegistry;
+
+    // receives after which a reply nobody here knows is taken as stale and deleted
+    private final int maxUnknownReceives;
+
+    /**
+     * @param toDelete  replies that were handled, or dropped as stale
+     * @param toRelease replies for this instance that could not be handed over yet
+     * @param toReturn  replies for correlationIds not registered here, to go back to the queue for their owner
+     */
+    public record Routed(List<Message> toDelete, List<Message> toRelease, List<Message> toReturn) {
+    }
+
+    /**
+     * Routes one received batch: matched replies, empty ones included, complete their waiter and late ones for a recent
+     * registration are parked, both are deleted; replies that cannot be parsed or handed over are released. Replies for
+     * correlationIds not registered here are returned, since another consumer of the queue may be waiting for them,
+     * until they have been received {@code maxUnknownReceives} times: by then they outlived any registration, from
+     * before a restart or past the orphan TTL, and are deleted.
+     * <p>
+     * Like the polling v2 consumer this replaced, a waiter gets every page for its correlationId in the batch that
+     * first holds one, combined in arrival order; pages received later are parked for the orphan TTL rather than
+     * delivered. Callers that expect several pages open a stream instead.
+     */
+    public Routed route(List<Message> messages) {
+        List<Message> toDelete = new ArrayList<>();
+        List<Message> toRelease = new ArrayList<>();
+        List<Message> toReturn = new ArrayList<>();
+        Map<String, Reply> replies = new LinkedHashMap<>();
+
+        for (Message m : messages) {
+            String correlationId = null;
+            try {
+                correlationId = QueueAttributeUtils.extractCorrelationId(m);
+                if (StringUtils.isBlank(correlationId) || StringUtils.isBlank(m.body())) {
+                    log.warn("route - Missing CORRELATION_ID or BODY for messageId={}, deleting", m.messageId());
+                    toDelete.add(m);
+                    continue;
+                }
+
+                if (!replyCorrelationRegistry.isKnown(correlationId)) {
+                    returnOrDrop(m, correlationId, toDelete, toReturn);
+                    continue;
+                }
+
+                if (replyCorrelationRegistry.isStreaming(correlationId)) {
+                    routePage(m, correlationId, toDelete, toRelease);
+                    continue;
+                }
+
+                Optional<List<ProductResponseDto>> products = parseProducts(m.body());
+                if (products.isEmpty()) {
+                    log.warn("route - Unparseable body for messageId={}, correlationId: {}", m.messageId(), correlationId);
+                    toRelease.add(m);
+                    continue;
+                }
+
+                replies.computeIfAbsent(correlationId, id -> new Reply()).add(m, products.get());
+            } catch (Exception e) {
+                log.error("route - Failed to process messageId={}: {}", m.messageId(), e.getMessage(), e);
+                if (correlationId != null && replyCorrelationRegistry.isKnown(correlationId)) {
+                    toRelease.add(m);
+                } else {
+                    returnOrDrop(m, correlationId, toDelete, toReturn);
+                }
+            }
+        }
+
+        replies.forEach((correlationId, reply) -> deliver(correlationId, reply, toDelete, toRelease));
+        return new Routed(toDelete, toRelease, toReturn);
+    }
+
+    private void deliver(String correlationId, Reply reply, List<Message> toDelete, List<Message> toRelease) {
+        try {
+            if (!replyCorrelationRegistry.isRegistered(correlationId)) {
+                log.debug("deliver - Waiter for correlationId: {} already gone, parking {} messages", correlationId, reply.messages.size());
+                replyCorrelationRegistry.park(correlationId, reply.products);
+                toDelete.addAll(reply.messages);
+                return;
+            }
+            if (!replyCorrelationRegistry.complete(correlationId, reply.products)) {
+                log.debug("deliver - Waiter for correlationId: {} expired before reply, releasing {} messages", correlationId, reply.messages.size());
+                toRelease.addAll(reply.messages);
+                return;
+            }
+            log.debug("deliver - Completed correlationId: {} with {} products from {} messages", correlationId, reply.products.size(), reply.messages.size());
+            toDelete.addAll(reply.messages);
+        } catch (Exception e) {
+            log.error("deliver - Failed to deliver correlationId: {}: {}", correlationId, e.getMessage(), e);
+            toRelease.addAll(reply.messages);
+        }
+    }
+
+    // the pages of one correlationId within a batch
+    private static final class Reply {
+        private final List<Message> messages = new ArrayList<>();
+        private final List<ProductResponseDto> products = new ArrayList<>();
+
+        private void add(Message message, List<ProductResponseDto> page) {
+            messages.add(message);
+            products.addAll(page);
+        }
+    }
+
+    private void returnOrDrop(Message m, String correlationId, List<Message> toDelete, List<Message> toReturn) {
+        int receiveCount = InFlightMessageTracker.receiveCount(m);
+        if (receiveCount >= maxUnknownReceives) {
+            log.warn("route - correlationId: {} unknown after {} receives, deleting stale messageId={}", correlationId, receiveCount, m.messageId());
+            toDelete.add(m);
+            return;
+        }
+        log.debug("route - correlationId: {} is not registered here, returning messageId={}", correlationId, m.messageId());
+        toReturn.add(m);
+    }
+
+    /**
+     * Stream pages are forwarded one by one; an empty page is still published so the listener can treat it as the end.
+     */
+    private void routePage(Message m, String correlationId, List<Message> toDelete, List<Message> toRelease) {
+        Optional<List<ProductResponseDto>> page = parseProducts(m.body());
+        if (page.isEmpty()) {
+            log.warn("routePage - Unparseable body for messageId={}, correlationId: {}", m.messageId(), correlationId);
+            toRelease.add(m);
+            return;
+        }
+        if (!replyCorrelationRegistry.publish(correlationId, page.get())) {
+            log.debug("routePage - Stream for correlationId: {} closed before reply, releasing messageId={}", correlationId, m.messageId());
+            toRelease.add(m);
+            return;
+        }
+        log.debug("routePage - Published {} products for correlationId: {}", page.get().size(), correlationId);
+        toDelete.add(m);
+    }
+
+    private Optional<List<ProductResponseDto>> parseProducts(String messageBody) {
+        try {
+            return Optional.ofNullable(objectMapper.readValue(messageBody, new TypeReference<List<ProductResponseDto>>() {
+            }));
+        } catch (Exception e) {
+            log.warn("parseProducts - Failed to parse message body: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
@@ -9,6 +9,6 @@ public interface IProductFindAllSyncQueueConsumer {
 
     CompletableFuture<List<ProductResponseDto>> consume(String correlationId);
 
-    void delete(String receiptHandle);
+    void cancel(String correlationId);
 
 }
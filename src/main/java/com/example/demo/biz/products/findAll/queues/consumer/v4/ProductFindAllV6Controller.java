@@ -4,6 +4,7 @@ import com.example.commons.dto.create.ProductResponseDto;
 import com.example.commons.dto.find.ProductFindAllRequestDto;
 import com.example.commons.utils.ParameterValidationUtils;
 import com.example.demo.biz.commons.cache.IdempotentRequestCache;
+import com.example.demo.biz.products.findAll.queues.consumer.reply.IProductFindAllReplyDispatcher;
 import com.example.demo.biz.products.findAll.queues.consumer.v4.service.IProductFindAllV4QueueService;
 import com.example.demo.biz.products.findAll.queues.producer.IProductFindAllQueueProducer;
 import lombok.RequiredArgsConstructor;
@@ -34,6 +35,8 @@ public class ProductFindAllV6Controller {
 
     private final IProductFindAllV4QueueService productFindAllV4QueueService;
 
+    private final IProductFindAllReplyDispatcher productFindAllReplyDispatcher;
+
     private final Object lock = new Object();
     private volatile boolean completed = true;
 
@@ -45,14 +48,14 @@ public class ProductFindAllV6Controller {
     ) {
         log.info("ProductFindAllV6Controller::findAll - Request UUID: {}", correlationId);
 
-        ResponseEntity<List<ProductResponseDto>> validationError = validateRequest(correlationId);
+        ResponseEntity<List<ProductResponseDto>> validationError = validateAndClaim(correlationId);
         if (validationError != null) {
             return validationError;
         }
 
-        IdempotentRequestCache.INSTANCE.putIfAbsent(correlationId, IdempotentRequestCache.Status.RECEIVED);
-
         try {
+            productFindAllReplyDispatcher.register(correlationId);
+
             // produce
             log.info("ProductFindAllV6Controller::findAll - Producing for correlationId: {}", correlationId);
             ProductFindAllRequestDto requestDto = buildRequestDto(correlationId, limit, offset);
@@ -67,7 +70,7 @@ public class ProductFindAllV6Controller {
             waitForResponse(correlationId);
 
             log.info("ProductFindAllV6Controller::findAll - Completed for correlationId: {}", correlationId);
-            IdempotentRequestCache.INSTANCE.putIfAbsent(correlationId, IdempotentRequestCache.Status.COMPLETED);
+            IdempotentRequestCache.INSTANCE.complete(correlationId, products.get());
 
             if (products.get() == null || products.get().isEmpty()) {
                 log.warn("ProductFindAllV6Controller::findAll - No products yet for correlationId: {} returning accepted", correlationId);
@@ -81,6 +84,7 @@ public class ProductFindAllV6Controller {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(List.of());
         } finally {
             log.info("ProductFindAllV6Controller::findAll -  finally - Removing from cache for correlationId={}", correlationId);
+            productFindAllReplyDispatcher.cancel(correlationId);
             IdempotentRequestCache.INSTANCE.remove(correlationId);
         }
     }
@@ -130,12 +134,12 @@ public class ProductFindAllV6Controller {
         }
     }
 
-    private ResponseEntity<List<ProductResponseDto>> validateRequest(String correlationId) {
+    private ResponseEntity<List<ProductResponseDto>> validateAndClaim(String correlationId) {
         if (ParameterValidationUtils.isNotValidCorrelationId(correlationId)) {
             log.error("ProductFindAllV6Controller::findAll - Invalid correlation id value - {}", correlationId);
             return ResponseEntity.badRequest().body(List.of());
         }
-        if (IdempotentRequestCache.INSTANCE.isInProgress(correlationId)) {
+        if (!IdempotentRequestCache.INSTANCE.tryClaim(correlationId).owner()) {
             log.info("ProductFindAllV6Controller::findAll - correlationId {} is in progress", correlationId);
             return ResponseEntity.status(HttpStatus.ACCEPTED).body(List.of());
         }
@@ -4,6 +4,7 @@ import com.example.commons.dto.create.ProductResponseDto;
 import com.example.commons.dto.find.ProductFindAllRequestDto;
 import com.example.commons.utils.ParameterValidationUtils;
 import com.example.demo.biz.commons.cache.IdempotentRequestCache;
+import com.example.demo.biz.products.findAll.queues.consumer.reply.IProductFindAllReplyDispatcher;
 import com.example.demo.biz.products.findAll.queues.consumer.v5.service.IProductFindAllSyncQueueService;
 import com.example.demo.biz.products.findAll.queues.producer.IProductFindAllQueueProducer;
 import lombok.RequiredArgsConstructor;
@@ -34,6 +35,8 @@ public class ProductFindAllControllerV5 {
 
     private final IProductFindAllSyncQueueService iProductFindAllSyncQueueService;
 
+    private final IProductFindAllReplyDispatcher productFindAllReplyDispatcher;
+
     private final Object lock = new Object();
     private volatile boolean completed = true;
 
@@ -50,14 +53,14 @@ public class ProductFindAllControllerV5 {
             return ResponseEntity.badRequest().body(List.of());
         }
 
-        if (IdempotentRequestCache.INSTANCE.isInProgress(correlationId)) {
+        if (!IdempotentRequestCache.INSTANCE.tryClaim(correlationId).owner()) {
             log.info("ProductFindAllControllerV5::findAll - correlationId {} is in progress", correlationId);
             return ResponseEntity.status(HttpStatus.ACCEPTED).body(List.of());
         }
 
-        IdempotentRequestCache.INSTANCE.putIfAbsent(correlationId, IdempotentRequestCache.Status.RECEIVED);
-
         try {
+            productFindAllReplyDispatcher.register(correlationId);
+
             // produce
             log.info("ProductFindAllControllerV5::findAll - Producing for correlationId: {}", correlationId);
             ProductFindAllRequestDto requestDto = buildRequestDto(correlationId, limit, offset);
@@ -69,7 +72,7 @@ public class ProductFindAllControllerV5 {
 
 //            List<ProductResponseDto> products = fetchProducts(correlationId);
 
-            IdempotentRequestCache.INSTANCE.putIfAbsent(correlationId, IdempotentRequestCache.Status.COMPLETED);
+            IdempotentRequestCache.INSTANCE.complete(correlationId, products);
 
             if (products == null || products.isEmpty()) {
                 log.warn("ProductFindAllControllerV5::findAll - No products found for correlationId: {} returning accepted", correlationId);
@@ -88,6 +91,7 @@ public class ProductFindAllControllerV5 {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(List.of());
         } finally {
             log.info("ProductFindAllControllerV5::findAll - finally | done - Removing from cache for correlationId={}", correlationId);
+            productFindAllReplyDispatcher.cancel(correlationId);
             IdempotentRequestCache.INSTANCE.remove(correlationId);
         }
     }
@@ -3,10 +3,9 @@ package com.example.demo.biz.products.findAll.queues.consumer.v6.caches;
 import com.example.commons.dto.create.ProductResponseDto;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.HashSet;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeoutException;
 
@@ -15,10 +14,9 @@ public enum LockCacheService {
 
     INSTANCE;
 
-    private final Map<String, LockState> lockStates = new ConcurrentHashMap<>();
-
-    private final Set<String> correlations = new HashSet<>();
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
 
+    private final Map<String, LockState> lockStates = new ConcurrentHashMap<>();
 
     private static class LockState {
         final Object lock = new Object();
@@ -29,14 +27,30 @@ public enum LockCacheService {
         private String errorMessage;
     }
 
-    public void lock(String correlationId) throws TimeoutException, InterruptedException {
+    /**
+     * Creates the lock state ahead of {@link #lock}, so a {@link #complete} that arrives first is kept.
+     */
+    public void open(String correlationId) {
+        lockStates.computeIfAbsent(correlationId, k -> new LockState());
+    }
+
+    public List<ProductResponseDto> lock(String correlationId) throws TimeoutException, InterruptedException {
+        return lock(correlationId, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Waits until the correlationId is completed or unlocked, then drops its state.
+     *
+     * @return the products it was completed with, or {@code null} if it was unlocked without products
+     */
+    public List<ProductResponseDto> lock(String correlationId, Duration timeout) throws TimeoutException, InterruptedException {
         log.info("LockCacheService::lock - correlationId: {}, Locking for thread: {}", correlationId, Thread.currentThread().getName());
 
         LockState lockState = lockStates.computeIfAbsent(correlationId, k -> new LockState());
 
         try {
             synchronized (lockState.lock) {
-                long timeoutMillis = 30_000;
+                long timeoutMillis = timeout.toMillis();
                 long startTime = System.currentTimeMillis();
                 long remainingTime = timeoutMillis;
 
@@ -55,6 +69,7 @@ public enum LockCacheService {
                 }
 
                 log.info("LockCacheService::lock - Received signal for correlationId: {}", correlationId);
+                return lockState.products;
             }
         } finally {
             lockStates.remove(correlationId);
@@ -63,22 +78,31 @@ public enum LockCacheService {
     }
 
     public void unlock(String correlationId) {
-        log.info("LockCacheService::unlock - correlationId: {}, Unlocking for thread: {}", correlationId, Thread.currentThread().getName());
+        complete(correlationId, null);
+    }
+
+    /**
+     * Hands the products to the thread waiting in {@link #lock} for the correlationId.
+     *
+     * @return {@code false} if there is no lock state, e.g. because the waiter already timed out
+     */
+    public boolean complete(String correlationId, List<ProductResponseDto> products) {
+        log.info("LockCacheService::complete - correlationId: {}, Unlocking for thread: {}", correlationId, Thread.currentThread().getName());
 
         LockState lockState = lockStates.get(correlationId);
 
         if (lockState == null) {
-            log.warn("LockCacheService::unlock - No lock found for correlationId: {}. It may have already timed out or been cleaned up.", correlationId);
-            return;
+            log.warn("LockCacheService::complete - No lock found for correlationId: {}. It may have already timed out or been cleaned up.", correlationId);
+            return false;
         }
 
         synchronized (lockState.lock) {
+            lockState.products = products;
             lockState.completed = true;
             lockState.lock.notifyAll();
-            log.debug("LockCacheService::unlock - Notified all waiting threads for correlationId: {}", correlationId);
-            updateCorrelationList(correlationId);
+            log.debug("LockCacheService::complete - Notified all waiting threads for correlationId: {}", correlationId);
         }
-
+        return true;
     }
 
     public List<ProductResponseDto> getProducts(String correlationId) {
@@ -96,20 +120,6 @@ public enum LockCacheService {
         return lockState.products;
     }
 
-    public Set<String> getCorrelationsList() {
-        lockStates.entrySet().stream()
-                .filter(entry -> !entry.getValue().completed)
-                .map(Map.Entry::getKey)
-                .filter(id -> !correlations.contains(id))
-                .peek(id -> log.info("getUnprocessedRequestList - Unprocessed request: {}", id))
-                .forEach(correlations::add);
-        return correlations;
-    }
-
-    public void updateCorrelationList(String correlation) {
-        correlations.remove(correlation);
-    }
-
     public void remove(String correlationId) {
         log.info("LockCacheService::remove - correlationId: {}, Removing from cache for thread: {}", correlationId, Thread.currentThread().getName());
         lockStates.remove(correlationId);
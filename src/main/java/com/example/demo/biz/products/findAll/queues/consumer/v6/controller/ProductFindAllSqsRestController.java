@@ -4,7 +4,7 @@ import com.example.commons.dto.create.ProductResponseDto;
 import com.example.commons.dto.find.ProductFindAllRequestDto;
 import com.example.commons.utils.ParameterValidationUtils;
 import com.example.demo.biz.commons.cache.IdempotentRequestCache;
-import com.example.demo.biz.products.findAll.queues.consumer.v6.caches.LockCacheService;
+import com.example.demo.biz.products.findAll.queues.consumer.v6.service.ProductFindAllSqsQueueService;
 import com.example.demo.biz.products.findAll.queues.producer.IProductFindAllQueueProducer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,6 +26,8 @@ public class ProductFindAllSqsRestController {
 
     private final IProductFindAllQueueProducer productFindAllQueueProducer;
 
+    private final ProductFindAllSqsQueueService productFindAllSqsQueueService;
+
     @GetMapping
     public HttpEntity<List<ProductResponseDto>> findAllRequestThread(
             @RequestParam("uuid") String correlationId,
@@ -39,23 +41,21 @@ public class ProductFindAllSqsRestController {
             return ResponseEntity.badRequest().body(List.of());
         }
 
-        if (IdempotentRequestCache.INSTANCE.isInProgress(correlationId)) {
+        if (!IdempotentRequestCache.INSTANCE.tryClaim(correlationId).owner()) {
             log.info("ProductFindAllRestController::findAll - correlationId {} is in progress", correlationId);
             return ResponseEntity.status(HttpStatus.ACCEPTED).body(List.of());
         }
 
-        IdempotentRequestCache.INSTANCE.putIfAbsent(correlationId, IdempotentRequestCache.Status.RECEIVED);
-
         try {
             log.info("ProductFindAllRestController::findAll - Producing for correlationId: {}", correlationId);
             ProductFindAllRequestDto requestDto = buildRequestDto(correlationId, limit, offset);
+            productFindAllSqsQueueService.watch(correlationId);
             productFindAllQueueProducer.produce(correlationId, requestDto);
 
-            LockCacheService.INSTANCE.lock(correlationId);
+            List<ProductResponseDto> products = productFindAllSqsQueueService.await(correlationId);
 
-            IdempotentRequestCache.INSTANCE.putIfAbsent(correlationId, IdempotentRequestCache.Status.COMPLETED);
+            IdempotentRequestCache.INSTANCE.complete(correlationId, products);
 
-            List<ProductResponseDto> products = LockCacheService.INSTANCE.getProducts(correlationId);
             if (products == null || products.isEmpty()) {
                 log.warn("ProductFindAllRestController::findAll - No products found for correlationId: {} returning accepted", correlationId);
                 return ResponseEntity.status(HttpStatus.ACCEPTED).body(List.of());
@@ -74,7 +74,7 @@ public class ProductFindAllSqsRestController {
         } finally {
             log.info("ProductFindAllRestController::findAll - finally | done - Removing from cache for correlationId={}", correlationId);
             IdempotentRequestCache.INSTANCE.remove(correlationId);
-            LockCacheService.INSTANCE.remove(correlationId);
+            productFindAllSqsQueueService.release(correlationId);
         }
     }
 
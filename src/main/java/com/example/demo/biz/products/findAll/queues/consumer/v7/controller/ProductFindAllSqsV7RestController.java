@@ -4,11 +4,11 @@ import com.example.commons.dto.create.ProductResponseDto;
 import com.example.commons.dto.find.ProductFindAllRequestDto;
 import com.example.commons.utils.ParameterValidationUtils;
 import com.example.demo.biz.commons.cache.IdempotentRequestCache;
-import com.example.demo.biz.products.findAll.queues.consumer.v6.caches.LockCacheService;
-import com.example.demo.biz.products.findAll.queues.consumer.v7.caches.LockingV7CacheService;
+import com.example.demo.biz.products.findAll.queues.consumer.reply.IProductFindAllReplyDispatcher;
 import com.example.demo.biz.products.findAll.queues.producer.IProductFindAllQueueProducer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -17,6 +17,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Duration;
 import java.util.List;
 
 @Slf4j
@@ -27,6 +28,11 @@ public class ProductFindAllSqsV7RestController {
 
     private final IProductFindAllQueueProducer productFindAllQueueProducer;
 
+    private final IProductFindAllReplyDispatcher productFindAllReplyDispatcher;
+
+    @Value("${products.findAll.v7.timeout.seconds:30}")
+    private int timeoutSeconds;
+
     @GetMapping
     public HttpEntity<List<ProductResponseDto>> findAllRequestThread(
             @RequestParam("uuid") String correlationId,
@@ -40,25 +46,21 @@ public class ProductFindAllSqsV7RestController {
             return ResponseEntity.badRequest().body(List.of());
         }
 
-        if (IdempotentRequestCache.INSTANCE.isInProgress(correlationId)) {
+        if (!IdempotentRequestCache.INSTANCE.tryClaim(correlationId).owner()) {
             log.info("findAll - correlationId {} is in progress", correlationId);
             return ResponseEntity.status(HttpStatus.ACCEPTED).body(List.of());
         }
 
-        IdempotentRequestCache.INSTANCE.putIfAbsent(correlationId, IdempotentRequestCache.Status.RECEIVED);
-
         try {
+            productFindAllReplyDispatcher.register(correlationId);
+
             log.info("findAll - Producing for correlationId: {}", correlationId);
             ProductFindAllRequestDto requestDto = buildRequestDto(correlationId, limit, offset);
             productFindAllQueueProducer.produce(correlationId, requestDto);
 
-            // lock !!!
-            LockingV7CacheService.INSTANCE.lock(correlationId);
-
-            List<ProductResponseDto> products = LockingV7CacheService.INSTANCE.getProducts(correlationId);
+            List<ProductResponseDto> products = productFindAllReplyDispatcher.await(correlationId, Duration.ofSeconds(timeoutSeconds));
 
-            IdempotentRequestCache.INSTANCE.putIfAbsent(correlationId, IdempotentRequestCache.Status.COMPLETED);
-            LockingV7CacheService.INSTANCE.remove(correlationId);
+            IdempotentRequestCache.INSTANCE.complete(correlationId, products);
 
             if (products == null || products.isEmpty()) {
                 log.warn("findAll - No products found for correlationId: {} returning accepted", correlationId);
@@ -78,7 +80,7 @@ public class ProductFindAllSqsV7RestController {
         } finally {
             log.info("findAll - finally | done - Removing from cache for correlationId={}", correlationId);
             IdempotentRequestCache.INSTANCE.remove(correlationId);
-            LockCacheService.INSTANCE.remove(correlationId);
+            productFindAllReplyDispatcher.cancel(correlationId);
         }
     }
 
@@ -4,10 +4,11 @@ import com.example.commons.dto.create.ProductResponseDto;
 import com.example.commons.dto.find.ProductFindAllRequestDto;
 import com.example.commons.utils.ParameterValidationUtils;
 import com.example.demo.biz.commons.cache.IdempotentRequestCache;
-import com.example.demo.biz.products.findAll.queues.consumer.v8.caches.LockingV8CacheService;
+import com.example.demo.biz.products.findAll.queues.consumer.reply.IProductFindAllReplyDispatcher;
 import com.example.demo.biz.products.findAll.queues.producer.IProductFindAllQueueProducer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -16,6 +17,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Duration;
 import java.util.List;
 
 @Slf4j
@@ -26,6 +28,11 @@ public class ProductFindAllSqsV8RestController {
 
     private final IProductFindAllQueueProducer productFindAllQueueProducer;
 
+    private final IProductFindAllReplyDispatcher productFindAllReplyDispatcher;
+
+    @Value("${products.findAll.v8.timeout.seconds:20}")
+    private int timeoutSeconds;
+
     @GetMapping
     public HttpEntity<List<ProductResponseDto>> findAllRequestThread(
             @RequestParam("uuid") String correlationId,
@@ -39,33 +46,28 @@ public class ProductFindAllSqsV8RestController {
             return ResponseEntity.badRequest().body(List.of());
         }
 
-        if (IdempotentRequestCache.INSTANCE.isInProgress(correlationId)) {
+        if (!IdempotentRequestCache.INSTANCE.tryClaim(correlationId).owner()) {
             log.info("findAll - correlationId {} is in progress", correlationId);
             return ResponseEntity.status(HttpStatus.ACCEPTED).body(List.of());
         }
 
-        IdempotentRequestCache.INSTANCE.putIfAbsent(correlationId, IdempotentRequestCache.Status.RECEIVED);
-
         try {
+            productFindAllReplyDispatcher.register(correlationId);
+
             log.info("findAll - Producing for correlationId: {}", correlationId);
             ProductFindAllRequestDto requestDto = buildRequestDto(correlationId, limit, offset);
             productFindAllQueueProducer.produce(correlationId, requestDto);
 
-            // lock !!!
-            log.info("findAll - Locking for correlationId: {}", correlationId);
-            LockingV8CacheService.INSTANCE.lock(correlationId);
+            log.info("findAll - Waiting for correlationId: {}", correlationId);
+            List<ProductResponseDto> products = productFindAllReplyDispatcher.await(correlationId, Duration.ofSeconds(timeoutSeconds));
 
-            // unlocked !!!
-            IdempotentRequestCache.INSTANCE.putIfAbsent(correlationId, IdempotentRequestCache.Status.COMPLETED);
+            IdempotentRequestCache.INSTANCE.complete(correlationId, products);
 
-            // get products
-            log.info("findAll - Getting products for correlationId: {}", correlationId);
-            List<ProductResponseDto> products = LockingV8CacheService.INSTANCE.getProducts(correlationId);
-            if (products == null) {
+            if (products.isEmpty()) {
                 log.warn("findAll - No products found for correlationId: {} returning accepted", correlationId);
                 return ResponseEntity.status(HttpStatus.NO_CONTENT).body(List.of());
             }
-            
+
             log.info("findAll - Returning {} products for correlationId: {}", products.size(), correlationId);
             return ResponseEntity.ok(products);
         } catch (Exception e) {
@@ -74,7 +76,7 @@ public class ProductFindAllSqsV8RestController {
         } finally {
             log.info("findAll - finally | done - Removing from cache for correlationId={}", correlationId);
             IdempotentRequestCache.INSTANCE.remove(correlationId);
-            LockingV8CacheService.INSTANCE.remove(correlationId);
+            productFindAllReplyDispatcher.cancel(correlationId);
         }
     }
 
@@ -0,0 +1,127 @@
+package com.example.demo.biz.products.findAll.queues.consumer.v9.controller;
+
+import com.example.commons.dto.create.ProductResponseDto;
+import com.example.commons.utils.ParameterValidationUtils;
+import com.example.demo.biz.commons.cache.IdempotentRequestCache;
+import com.example.demo.biz.products.findAll.pages.PageKey;
+import com.example.demo.biz.products.findAll.pages.ProductFindAllPageCache;
+import com.example.demo.biz.products.findAll.pages.ProductFindAllPageCoalescer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Async variant of {@link ProductFindAllSqsV9RestController}: the servlet thread is released while the reply is
+ * pending and the {@link DeferredResult} is completed from the reply dispatcher. Identical concurrent page requests
+ * share one SQS round-trip through the {@link ProductFindAllPageCoalescer}, and recently fetched pages are served from
+ * the {@link ProductFindAllPageCache} without one.
+ * <p>
+ * A repeated request for a correlationId that is still in progress does not produce again: it waits for the owner's
+ * result and gets the same response: 200 with the products, 204 on a timeout or an empty page, 500 when the owner
+ * failed. It gets 204 as well when the owner released its claim without a result.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/v9/products/async")
+public class ProductFindAllSqsV9AsyncRestController {
+
+    private final ProductFindAllPageCache productFindAllPageCache;
+
+    @Value("${products.findAll.v9.timeout.seconds:10}")
+    private long timeoutSeconds;
+
+    @GetMapping
+    public DeferredResult<ResponseEntity<List<ProductResponseDto>>> findAllAsync(
+            @RequestParam("uuid") String correlationId,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "offset", required = false) Integer offset
+    ) {
+        log.info("findAllAsync - New request with correlationId: {}", correlationId);
+
+        // the registry deadline completes the request; the container timeout is only a backstop
+        DeferredResult<ResponseEntity<List<ProductResponseDto>>> deferredResult =
+                new DeferredResult<>(Duration.ofSeconds(timeoutSeconds + 5).toMillis());
+
+        if (ParameterValidationUtils.isNotValidCorrelationId(correlationId)) {
+            log.error("findAllAsync - Invalid correlation id value - {}", correlationId);
+            deferredResult.setResult(ResponseEntity.badRequest().body(List.of()));
+            return deferredResult;
+        }
+
+        deferredResult.onTimeout(() -> {
+            log.warn("findAllAsync - Container timeout for correlationId: {}", correlationId);
+            deferredResult.setResult(ResponseEntity.status(HttpStatus.NO_CONTENT).body(List.of()));
+        });
+
+        IdempotentRequestCache.Claim<List<ProductResponseDto>> claim = IdempotentRequestCache.INSTANCE.tryClaim(correlationId);
+        if (!claim.owner()) {
+            log.info("findAllAsync - correlationId {} is in progress, attaching to its result", correlationId);
+            claim.result().whenComplete((products, throwable) -> deferredResult.setResult(toResponse(correlationId, products, throwable)));
+            return deferredResult;
+        }
+
+        // the reply registration belongs to the coalescer, which may share it with other callers of the same page
+        deferredResult.onCompletion(() -> {
+            log.info("findAllAsync - done - Removing from cache for correlationId={}", correlationId);
+            IdempotentRequestCache.INSTANCE.remove(correlationId);
+        });
+
+        try {
+            log.info("findAllAsync - Fetching page for correlationId: {}", correlationId);
+            productFindAllPageCache.get(correlationId, PageKey.of(limit, offset), Duration.ofSeconds(timeoutSeconds))
+                    .whenComplete((products, throwable) -> {
+                        publish(correlationId, products, throwable);
+                        deferredResult.setResult(toResponse(correlationId, products, throwable));
+                    });
+        } catch (Exception e) {
+            log.error("findAllAsync - exception - Error producing for {}", correlationId, e);
+            IdempotentRequestCache.INSTANCE.fail(correlationId, e);
+            deferredResult.setResult(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(List.of()));
+        }
+
+        return deferredResult;
+    }
+
+    private void publish(String correlationId, List<ProductResponseDto> products, Throwable throwable) {
+        if (throwable != null) {
+            IdempotentRequestCache.INSTANCE.fail(correlationId, throwable);
+        } else {
+            IdempotentRequestCache.INSTANCE.complete(correlationId, products);
+        }
+    }
+
+    private ResponseEntity<List<ProductResponseDto>> toResponse(String correlationId, List<ProductResponseDto> products, Throwable throwable) {
+        if (throwable != null) {
+            Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+            if (cause instanceof TimeoutException || cause instanceof CancellationException) {
+                log.warn("findAllAsync - No products found for correlationId: {} returning no content", correlationId);
+                return ResponseEntity.status(HttpStatus.NO_CONTENT).body(List.of());
+            }
+            log.error("findAllAsync - exception - Error consuming for {}", correlationId, cause);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(List.of());
+        }
+
+        if (products == null || products.isEmpty()) {
+            log.warn("findAllAsync - Empty products for correlationId: {} returning no content", correlationId);
+            return ResponseEntity.status(HttpStatus.NO_CONTENT).body(List.of());
+        }
+
+        log.info("findAllAsync - Returning {} products for correlationId: {}", products.size(), correlationId);
+        return ResponseEntity.ok(products);
+    }
+
+}
@@ -4,7 +4,7 @@ import com.example.commons.dto.create.ProductResponseDto;
 import com.example.commons.dto.find.ProductFindAllRequestDto;
 import com.example.commons.utils.ParameterValidationUtils;
 import com.example.demo.biz.commons.cache.IdempotentRequestCache;
-import com.example.demo.biz.products.findAll.queues.consumer.v9.cache.LockingV9CacheService;
+import com.example.demo.biz.products.findAll.queues.consumer.reply.IProductFindAllReplyDispatcher;
 import com.example.demo.biz.products.findAll.queues.consumer.v9.service.ProductFindAllSqsQueueV9Service;
 import com.example.demo.biz.products.findAll.queues.producer.IProductFindAllQueueProducer;
 import lombok.RequiredArgsConstructor;
@@ -31,6 +31,8 @@ public class ProductFindAllSqsV9RestController {
 
     private final ProductFindAllSqsQueueV9Service productFindAllSqsQueueV9Service;
 
+    private final IProductFindAllReplyDispatcher productFindAllReplyDispatcher;
+
     @GetMapping
     public HttpEntity<List<ProductResponseDto>> findAllRequestThread(
             @RequestParam("uuid") String correlationId,
@@ -44,21 +46,20 @@ public class ProductFindAllSqsV9RestController {
             return ResponseEntity.badRequest().body(List.of());
         }
 
-        if (IdempotentRequestCache.INSTANCE.isInProgress(correlationId)) {
-            log.info("findAll - correlationId {} is in progress", correlationId);
-            return ResponseEntity.status(HttpStatus.ACCEPTED).body(List.of());
+        IdempotentRequestCache.Claim<List<ProductResponseDto>> claim = IdempotentRequestCache.INSTANCE.tryClaim(correlationId);
+        if (!claim.owner()) {
+            log.info("findAll - correlationId {} is in progress, waiting for its result", correlationId);
+            return awaitOwner(correlationId, claim);
         }
 
-        IdempotentRequestCache.INSTANCE.putIfAbsent(correlationId, IdempotentRequestCache.Status.RECEIVED);
-
         try {
+            // register before producing so a fast reply is not released back to the queue
+            productFindAllReplyDispatcher.register(correlationId);
+
             log.info("findAll - Producing for correlationId: {}", correlationId);
             ProductFindAllRequestDto requestDto = buildRequestDto(correlationId, limit, offset);
             productFindAllQueueProducer.produce(correlationId, requestDto);
 
-            // mark completed only when we have a definitive result
-            IdempotentRequestCache.INSTANCE.putIfAbsent(correlationId, IdempotentRequestCache.Status.COMPLETED);
-
             log.info("findAll - Getting products for correlationId: {}", correlationId);
             long startTime = System.currentTimeMillis();
             List<ProductResponseDto> products = productFindAllSqsQueueV9Service.waitForResult(correlationId, 10L);
@@ -71,18 +72,35 @@ public class ProductFindAllSqsV9RestController {
                 return ResponseEntity.status(HttpStatus.NO_CONTENT).body(List.of());
             }
 
+            IdempotentRequestCache.INSTANCE.complete(correlationId, products);
+
             logEachProduct(correlationId, products);
 
             log.info("findAll - Returning {} products for correlationId: {}", products.size(), correlationId);
             return ResponseEntity.ok(products);
         } catch (Exception e) {
             log.error("findAll - exception - Error producing/consuming for {}", correlationId, e);
+            IdempotentRequestCache.INSTANCE.fail(correlationId, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(List.of());
         } finally {
             log.info("findAll - finally | done - Removing from cache for correlationId={}", correlationId);
             IdempotentRequestCache.INSTANCE.remove(correlationId);
-            LockingV9CacheService.INSTANCE.complete(correlationId);
+            productFindAllReplyDispatcher.cancel(correlationId);
+        }
+    }
+
+    // a duplicate shares the owner's reply instead of producing a second request
+    private ResponseEntity<List<ProductResponseDto>> awaitOwner(String correlationId, IdempotentRequestCache.Claim<List<ProductResponseDto>> claim) {
+        List<ProductResponseDto> products = claim.result().copy()
+                .completeOnTimeout(null, 10L, TimeUnit.SECONDS)
+                .exceptionally(t -> null)
+                .join();
+        if (products == null || products.isEmpty()) {
+            log.warn("awaitOwner - No shared result for correlationId: {} returning no content", correlationId);
+            return ResponseEntity.status(HttpStatus.NO_CONTENT).body(List.of());
         }
+        log.info("awaitOwner - Returning {} shared products for correlationId: {}", products.size(), correlationId);
+        return ResponseEntity.ok(products);
     }
 
     private ProductFindAllRequestDto buildRequestDto(String correlationId, Integer limit, Integer offset) {
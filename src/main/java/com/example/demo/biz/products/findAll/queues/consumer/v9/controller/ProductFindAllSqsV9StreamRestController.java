@@ -0,0 +1,198 @@
+package com.example.demo.biz.products.findAll.queues.consumer.v9.controller;
+
+import com.example.commons.dto.create.ProductResponseDto;
+import com.example.commons.dto.find.ProductFindAllRequestDto;
+import com.example.commons.utils.ParameterValidationUtils;
+import com.example.demo.biz.commons.cache.IdempotentRequestCache;
+import com.example.demo.biz.products.findAll.queues.consumer.reply.IProductFindAllReplyDispatcher;
+import com.example.demo.biz.products.findAll.queues.producer.IProductFindAllQueueProducer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streams find-all reply pages as Server-Sent Events as soon as the reply dispatcher sees them.
+ * <p>
+ * Events: {@code products} per page, then {@code complete} once {@code limit} products, an empty page or a short page
+ * arrived, or {@code timeout} if the deadline passes first. A page is short, the backend having run out of data, when it
+ * is smaller than {@code pageSize}, the size the backend splits replies into; without it, when it is smaller than the
+ * largest page seen so far, so a short first page can only end the stream if {@code pageSize} is given.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/v9/products/stream")
+public class ProductFindAllSqsV9StreamRestController {
+
+    private final IProductFindAllQueueProducer productFindAllQueueProducer;
+
+    private final IProductFindAllReplyDispatcher productFindAllReplyDispatcher;
+
+    // sends run on the shared async executor, off the poller thread, so a slow client never stalls dispatch
+    private final AsyncTaskExecutor taskExecutor;
+
+    @Value("${products.findAll.v9.stream.timeout.seconds:30}")
+    private long timeoutSeconds;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(
+            @RequestParam("uuid") String correlationId,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "offset", required = false) Integer offset,
+            @RequestParam(value = "pageSize", required = false) Integer pageSize
+    ) {
+        log.info("stream - New request with correlationId: {}", correlationId);
+
+        if (ParameterValidationUtils.isNotValidCorrelationId(correlationId)) {
+            log.error("stream - Invalid correlation id value - {}", correlationId);
+            return ResponseEntity.badRequest().build();
+        }
+
+        // pages go to a single emitter, so a duplicate cannot attach and is only told the stream exists
+        if (!IdempotentRequestCache.INSTANCE.tryClaim(correlationId).owner()) {
+            log.info("stream - correlationId {} is in progress", correlationId);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).build();
+        }
+
+        ProductFindAllRequestDto requestDto = buildRequestDto(correlationId, limit, offset);
+        int expected = (limit == null || limit < 1) ? 10 : limit;
+
+        SseEmitter emitter = new SseEmitter(Duration.ofSeconds(timeoutSeconds + 5).toMillis());
+        StreamSession session = new StreamSession(correlationId, expected, (pageSize == null || pageSize < 1) ? 0 : pageSize, emitter);
+
+        emitter.onCompletion(session::release);
+        emitter.onTimeout(session::release);
+        emitter.onError(e -> session.release());
+
+        if (!productFindAllReplyDispatcher.openStream(correlationId, Duration.ofSeconds(timeoutSeconds), session::onPage, session::onDeadline)) {
+            IdempotentRequestCache.INSTANCE.remove(correlationId);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).build();
+        }
+
+        try {
+            log.info("stream - Producing for correlationId: {}", correlationId);
+            productFindAllQueueProducer.produce(correlationId, requestDto);
+        } catch (Exception e) {
+            log.error("stream - exception - Error producing for {}", correlationId, e);
+            session.release();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+
+        return ResponseEntity.ok(emitter);
+    }
+
+    private ProductFindAllRequestDto buildRequestDto(String correlationId, Integer limit, Integer offset) {
+        int normalizedLimit = (limit == null || limit < 1) ? 10 : limit;
+        int normalizedOffset = (offset == null || offset < 0) ? 0 : offset;
+        return new ProductFindAllRequestDto(correlationId, normalizedLimit, normalizedOffset);
+    }
+
+    /**
+     * Per-request state; sends are chained so pages reach the client in dispatch order.
+     */
+    private final class StreamSession {
+
+        private final String correlationId;
+        private final int expected;
+        // 0 when unknown, then inferred from the largest page
+        private final int pageSize;
+        private final SseEmitter emitter;
+
+        private final AtomicInteger received = new AtomicInteger();
+        private final AtomicInteger largestPage = new AtomicInteger();
+        private final AtomicInteger pages = new AtomicInteger();
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private CompletableFuture<Void> tail = CompletableFuture.completedFuture(null);
+
+        private StreamSession(String correlationId, int expected, int pageSize, SseEmitter emitter) {
+            this.correlationId = correlationId;
+            this.expected = expected;
+            this.pageSize = pageSize;
+            this.emitter = emitter;
+        }
+
+        void onPage(List<ProductResponseDto> page) {
+            int total = received.addAndGet(page.size());
+            int largestBefore = largestPage.getAndAccumulate(page.size(), Math::max);
+            boolean shortPage = page.size() < (pageSize > 0 ? pageSize : largestBefore);
+            boolean last = page.isEmpty() || shortPage || total >= expected;
+
+            if (!page.isEmpty()) {
+                int pageNumber = pages.incrementAndGet();
+                log.debug("onPage - correlationId: {}, page: {}, size: {}, total: {}", correlationId, pageNumber, page.size(), total);
+                enqueue(() -> send(SseEmitter.event().id(String.valueOf(pageNumber)).name("products").data(page)));
+            }
+            if (last) {
+                finish("complete", total);
+            }
+        }
+
+        void onDeadline() {
+            log.warn("onDeadline - Deadline reached for correlationId: {} after {} products", correlationId, received.get());
+            finish("timeout", received.get());
+        }
+
+        private void finish(String eventName, int total) {
+            if (!finished.compareAndSet(false, true)) {
+                return;
+            }
+            productFindAllReplyDispatcher.cancel(correlationId);
+            enqueue(() -> {
+                send(SseEmitter.event().name(eventName).data(total));
+                emitter.complete();
+            });
+        }
+
+        private synchronized void enqueue(Runnable task) {
+            tail = tail.thenRunAsync(task, this::execute);
+        }
+
+        // a send the executor refuses ends the stream, since every later send is chained behind it
+        private void execute(Runnable send) {
+            try {
+                taskExecutor.execute(send);
+            } catch (RejectedExecutionException e) {
+                log.warn("execute - Send rejected for correlationId: {}, closing the stream", correlationId);
+                emitter.completeWithError(e);
+            }
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) {
+            try {
+                emitter.send(event);
+            } catch (Exception e) {
+                log.warn("send - Client gone for correlationId: {}: {}", correlationId, e.getMessage());
+                emitter.completeWithError(e);
+            }
+        }
+
+        void release() {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            log.info("release - done - Removing from cache for correlationId={}", correlationId);
+            finished.set(true);
+            productFindAllReplyDispatcher.cancel(correlationId);
+            IdempotentRequestCache.INSTANCE.remove(correlationId);
+        }
+    }
+
+}
@@ -2,9 +2,23 @@ package com.example.demo.biz.products.findAll.queues.producer;
 
 import com.example.commons.dto.find.ProductFindAllRequestDto;
 
+import java.util.concurrent.CompletableFuture;
+
 @FunctionalInterface
 public interface IProductFindAllQueueProducer {
 
     void produce(String correlationId, ProductFindAllRequestDto dto);
 
+    /**
+     * Non-blocking variant of {@link #produce}; a failed send completes the future exceptionally instead of throwing.
+     */
+    default CompletableFuture<Void> produceAsync(String correlationId, ProductFindAllRequestDto dto) {
+        try {
+            produce(correlationId, dto);
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
 }
@@ -0,0 +1,98 @@
+package com.example.demo.biz.products.findAll.queues.producer;
+
+import com.example.commons.dto.find.ProductFindAllRequestDto;
+import com.example.commons.utils.SendMessageQueueUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.utils.StringUtils;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * {@link SqsAsyncClient} variant of {@link ProductFindAllQueueProducer}; the send runs on the Netty event loop.
+ * {@link #produceAsync} hands back the send future so callers can compose on it, and {@link #produce} only waits for it
+ * so a failed send still surfaces as an exception.
+ */
+@RequiredArgsConstructor
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "products.findAll.producer.type", havingValue = "async")
+public class ProductFindAllAsyncQueueProducer implements IProductFindAllQueueProducer {
+
+    private final ObjectMapper objectMapper;
+
+    private final SqsAsyncClient sqsAsyncClient;
+
+    @Value("${aws.sqs.queue.find.web.producer.url}")
+    private String queueUrl;
+
+    @PostConstruct
+    public void validateConfiguration() {
+        if (StringUtils.isBlank(queueUrl)) {
+            throw new IllegalStateException("aws.sqs.queue.find.web.producer.url must be configured");
+        }
+        try {
+            var uri = new URI(queueUrl);
+            if (!"http".equalsIgnoreCase(uri.getScheme()) && !"https".equalsIgnoreCase(uri.getScheme())) {
+                throw new IllegalStateException("Invalid SQS queue URL scheme: " + uri.getScheme());
+            }
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Invalid SQS queue URL: " + queueUrl, e);
+        }
+    }
+
+    @Override
+    public void produce(String correlationId, ProductFindAllRequestDto dto) {
+        try {
+            produceAsync(correlationId, dto).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> produceAsync(String correlationId, ProductFindAllRequestDto dto) {
+        String message = getMessage(dto);
+        if (StringUtils.isBlank(message)) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Failed to serialize ProductFindAllRequestDto for SQS message"));
+        }
+
+        var sendRequest = SendMessageQueueUtils.buildSendMessageRequest(queueUrl, correlationId, message);
+        return sqsAsyncClient.sendMessage(sendRequest)
+                .whenComplete((response, throwable) -> {
+                    if (throwable != null) {
+                        log.error("ProductFindAllAsyncQueueProducer::produceAsync - Send failed for correlationId: {}", correlationId, throwable);
+                        return;
+                    }
+                    log.info("ProductFindAllAsyncQueueProducer::produceAsync - Message sent successfully. queue: {}, correlationId: {}, messageId={}",
+                            queueUrl,
+                            correlationId,
+                            response.messageId()
+                    );
+                })
+                .thenApply(response -> null);
+    }
+
+    private String getMessage(ProductFindAllRequestDto dto) {
+        try {
+            return objectMapper.writeValueAsString(dto);
+        } catch (JsonProcessingException e) {
+            log.error("ProductFindAllAsyncQueueProducer::getMessage - Error serializing message: {}", e.getMessage(), e);
+            return null;
+        }
+    }
+
+}
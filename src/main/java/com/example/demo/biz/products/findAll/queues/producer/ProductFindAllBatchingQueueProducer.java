@@ -0,0 +1,135 @@
+package com.example.demo.biz.products.findAll.queues.producer;
+
+import com.example.commons.dto.find.ProductFindAllRequestDto;
+import com.example.commons.utils.SendMessageQueueUtils;
+import com.example.demo.biz.commons.queues.SendMessageBatcher;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.utils.StringUtils;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drop-in {@link IProductFindAllQueueProducer} that coalesces concurrent findAll requests into
+ * {@code SendMessageBatch} calls through a {@link SendMessageBatcher}.
+ */
+@RequiredArgsConstructor
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "products.findAll.producer.type", havingValue = "batching")
+public class ProductFindAllBatchingQueueProducer implements IProductFindAllQueueProducer {
+
+    private static final long DEFAULT_SEND_TIMEOUT_MS = 5_000L;
+
+    private final ObjectMapper objectMapper;
+
+    private final SqsClient sqsClient;
+
+    @Value("${aws.sqs.queue.find.web.producer.url}")
+    private String queueUrl;
+
+    @Value("${products.findAll.producer.batch.maxBatchSize:10}")
+    private int maxBatchSize;
+
+    @Value("${products.findAll.producer.batch.maxLingerMs:5}")
+    private long maxLingerMs;
+
+    @Value("${products.findAll.producer.batch.sendTimeoutMs:5000}")
+    private long sendTimeoutMs;
+
+    private SendMessageBatcher sendMessageBatcher;
+
+    @PostConstruct
+    public void validateConfiguration() {
+        if (StringUtils.isBlank(queueUrl)) {
+            throw new IllegalStateException("aws.sqs.queue.find.web.producer.url must be configured");
+        }
+        try {
+            var uri = new URI(queueUrl);
+            if (!"http".equalsIgnoreCase(uri.getScheme()) && !"https".equalsIgnoreCase(uri.getScheme())) {
+                throw new IllegalStateException("Invalid SQS queue URL scheme: " + uri.getScheme());
+            }
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Invalid SQS queue URL: " + queueUrl, e);
+        }
+        if (maxBatchSize < 1 || maxBatchSize > SendMessageBatcher.SQS_MAX_BATCH_SIZE) {
+            log.warn("ProductFindAllBatchingQueueProducer::validateConfiguration - maxBatchSize {} out of range; defaulting to {}",
+                    maxBatchSize, SendMessageBatcher.SQS_MAX_BATCH_SIZE);
+            maxBatchSize = SendMessageBatcher.SQS_MAX_BATCH_SIZE;
+        }
+        if (sendTimeoutMs < 1) {
+            log.warn("ProductFindAllBatchingQueueProducer::validateConfiguration - sendTimeoutMs {} must be positive; defaulting to {}",
+                    sendTimeoutMs, DEFAULT_SEND_TIMEOUT_MS);
+            sendTimeoutMs = DEFAULT_SEND_TIMEOUT_MS;
+        }
+        sendMessageBatcher = new SendMessageBatcher(sqsClient, queueUrl, maxBatchSize, Duration.ofMillis(Math.max(0, maxLingerMs)), "find-all-producer");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (sendMessageBatcher != null) {
+            sendMessageBatcher.close();
+        }
+    }
+
+    @Override
+    public void produce(String correlationId, ProductFindAllRequestDto dto) {
+        String message = getMessage(dto);
+        if (StringUtils.isBlank(message)) {
+            throw new IllegalStateException("Failed to serialize ProductFindAllRequestDto for SQS message");
+        }
+
+        var sendRequest = SendMessageQueueUtils.buildSendMessageRequest(queueUrl, correlationId, message);
+        try {
+            String messageId = bounded(sendMessageBatcher.submit(sendRequest)).join();
+            log.info("ProductFindAllBatchingQueueProducer::produce - Message sent successfully. queue: {}, correlationId: {}, messageId={}",
+                    queueUrl,
+                    correlationId,
+                    messageId
+            );
+        } catch (CompletionException e) {
+            log.error("ProductFindAllBatchingQueueProducer::produce - Send failed for correlationId: {}", correlationId, e.getCause());
+            if (e.getCause() instanceof SdkException sdkException) {
+                throw sdkException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    // a batch that never flushes surfaces like a timed-out SendMessage instead of parking the caller
+    private CompletableFuture<String> bounded(CompletableFuture<String> future) {
+        return future.orTimeout(sendTimeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionallyCompose(throwable -> CompletableFuture.failedFuture(throwable instanceof TimeoutException
+                        ? ApiCallTimeoutException.create(sendTimeoutMs)
+                        : throwable));
+    }
+
+    private String getMessage(ProductFindAllRequestDto dto) {
+        try {
+            return objectMapper.writeValueAsString(dto);
+        } catch (JsonProcessingException e) {
+            log.error("ProductFindAllBatchingQueueProducer::produce - Error serializing message: {}", e.getMessage(), e);
+            return null;
+        }
+    }
+
+}
@@ -8,6 +8,7 @@ import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.core.exception.SdkClientException;
@@ -20,6 +21,7 @@ import java.net.URISyntaxException;
 @RequiredArgsConstructor
 @Slf4j
 @Component
+@ConditionalOnProperty(name = "products.findAll.producer.type", havingValue = "sync", matchIfMissing = true)
 public class ProductFindAllQueueProducer implements IProductFindAllQueueProducer {
 
     private final ObjectMapper objectMapper;
@@ -1,23 +1,154 @@
 package com.example.demo.sys.async;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The application's shared task executor, behind {@code @Async} and injected where work is handed off directly, such as
+ * the v9 stream's Server-Sent Event sends. By default each task gets a virtual thread, optionally capped by
+ * {@code async.executor.concurrencyLimit} (callers over the cap wait for a slot). With
+ * {@code async.executor.virtualThreads=false} it is a bounded platform pool whose sizes, queue and rejection policy come
+ * from {@code async.executor.*}; a rejected task fails the caller's hand-off, or runs on the caller with
+ * {@code CALLER_RUNS}.
+ * <p>
+ * Either way it exports {@code executor.active} and {@code executor.queued} tagged {@code name=async}, and the pool also
+ * counts {@code executor.rejected}.
+ */
+@Slf4j
 @Configuration
 @EnableAsync
 public class AsyncConfiguration {
 
-    @Bean
-    public ThreadPoolTaskExecutor taskExecutor() {
+    public static final String TASK_EXECUTOR = "taskExecutor";
+
+    private static final String METRICS_NAME = "async";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${async.executor.virtualThreads:true}")
+    private boolean virtualThreads;
+
+    @Value("${async.executor.concurrencyLimit:-1}")
+    private int concurrencyLimit;
+
+    @Value("${async.executor.corePoolSize:5}")
+    private int corePoolSize;
+
+    @Value("${async.executor.maxPoolSize:10}")
+    private int maxPoolSize;
+
+    @Value("${async.executor.queueCapacity:25}")
+    private int queueCapacity;
+
+    @Value("${async.executor.keepAliveSeconds:60}")
+    private int keepAliveSeconds;
+
+    @Value("${async.executor.rejectionPolicy:ABORT}")
+    private RejectionPolicy rejectionPolicy;
+
+    public AsyncConfiguration(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+    }
+
+    @Bean(TASK_EXECUTOR)
+    public AsyncTaskExecutor taskExecutor() {
+        if (virtualThreads) {
+            return virtualThreadExecutor();
+        }
+        return threadPoolExecutor();
+    }
+
+    private AsyncTaskExecutor virtualThreadExecutor() {
+        AtomicInteger queued = new AtomicInteger();
+        AtomicInteger active = new AtomicInteger();
+
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("AsyncThread-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(concurrencyLimit);
+        // decorated before the concurrency throttle, so queued also covers callers waiting for a slot
+        executor.setTaskDecorator(task -> {
+            queued.incrementAndGet();
+            return () -> {
+                queued.decrementAndGet();
+                active.incrementAndGet();
+                try {
+                    task.run();
+                } finally {
+                    active.decrementAndGet();
+                }
+            };
+        });
+
+        Gauge.builder("executor.active", active, AtomicInteger::get)
+                .tag("name", METRICS_NAME)
+                .description("The approximate number of threads that are actively executing tasks")
+                .register(meterRegistry);
+        Gauge.builder("executor.queued", queued, AtomicInteger::get)
+                .tag("name", METRICS_NAME)
+                .description("The approximate number of tasks that are queued for execution")
+                .register(meterRegistry);
+
+        log.info("taskExecutor - Virtual threads, concurrencyLimit: {}", concurrencyLimit);
+        return executor;
+    }
+
+    private AsyncTaskExecutor threadPoolExecutor() {
+        Counter rejected = Counter.builder("executor.rejected")
+                .tag("name", METRICS_NAME)
+                .description("The number of tasks the executor refused")
+                .register(meterRegistry);
+        RejectedExecutionHandler policy = rejectionPolicy.handler();
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(5);
-        executor.setMaxPoolSize(10);
-        executor.setQueueCapacity(25);
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(Math.max(corePoolSize, maxPoolSize));
+        executor.setQueueCapacity(queueCapacity);
+        executor.setKeepAliveSeconds(keepAliveSeconds);
         executor.setThreadNamePrefix("AsyncThread-");
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejected.increment();
+            log.warn("taskExecutor - Task rejected, policy: {}, active: {}, queued: {}", rejectionPolicy, pool.getActiveCount(), pool.getQueue().size());
+            policy.rejectedExecution(task, pool);
+        });
         executor.initialize();
+
+        new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), METRICS_NAME, Tags.empty()).bindTo(meterRegistry);
+
+        log.info("taskExecutor - Platform pool, core: {}, max: {}, queue: {}, rejectionPolicy: {}",
+                executor.getCorePoolSize(), executor.getMaxPoolSize(), queueCapacity, rejectionPolicy);
         return executor;
     }
 
+    public enum RejectionPolicy {
+        ABORT,
+        CALLER_RUNS,
+        DISCARD,
+        DISCARD_OLDEST;
+
+        RejectedExecutionHandler handler() {
+            return switch (this) {
+                case ABORT -> new ThreadPoolExecutor.AbortPolicy();
+                case CALLER_RUNS -> new ThreadPoolExecutor.CallerRunsPolicy();
+                case DISCARD -> new ThreadPoolExecutor.DiscardPolicy();
+                case DISCARD_OLDEST -> new ThreadPoolExecutor.DiscardOldestPolicy();
+            };
+        }
+    }
 }
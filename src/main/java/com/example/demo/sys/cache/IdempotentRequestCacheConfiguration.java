@@ -0,0 +1,38 @@
+package com.example.demo.sys.cache;
+
+import com.example.demo.biz.commons.cache.IdempotentRequestCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@RequiredArgsConstructor
+@Configuration
+public class IdempotentRequestCacheConfiguration {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Value("${idempotent.cache.maxSize:100000}")
+    private long maxSize;
+
+    @Value("${idempotent.cache.inProgressTtlSeconds:60}")
+    private long inProgressTtlSeconds;
+
+    @Value("${idempotent.cache.completedTtlSeconds:300}")
+    private long completedTtlSeconds;
+
+    @PostConstruct
+    void configure() {
+        if (maxSize <= 0 || inProgressTtlSeconds <= 0 || completedTtlSeconds <= 0) {
+            throw new IllegalStateException("idempotent.cache.maxSize and TTLs must be positive");
+        }
+        var cache = IdempotentRequestCache.INSTANCE.configure(maxSize,
+                Duration.ofSeconds(inProgressTtlSeconds), Duration.ofSeconds(completedTtlSeconds));
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, "idempotent_requests"));
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.demo.sys.cache;
+
+import com.example.demo.biz.products.create.cache.ProductCacheService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@RequiredArgsConstructor
+@Configuration
+public class ProductCacheServiceConfiguration {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Value("${products.create.cache.maxSize:100000}")
+    private long maxSize;
+
+    @Value("${products.create.cache.inProgressTtlSeconds:300}")
+    private long inProgressTtlSeconds;
+
+    @Value("${products.create.cache.createdTtlSeconds:300}")
+    private long createdTtlSeconds;
+
+    @PostConstruct
+    void configure() {
+        if (maxSize <= 0 || inProgressTtlSeconds <= 0 || createdTtlSeconds <= 0) {
+            throw new IllegalStateException("products.create.cache.maxSize and TTLs must be positive");
+        }
+        var cache = ProductCacheService.INSTANCE.configure(maxSize,
+                Duration.ofSeconds(inProgressTtlSeconds), Duration.ofSeconds(createdTtlSeconds));
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, "product_create_status"));
+    }
+}
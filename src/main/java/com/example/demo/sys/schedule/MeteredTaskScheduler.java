@@ -0,0 +1,150 @@
+package com.example.demo.sys.schedule;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TaskScheduler} that records, per job, how long each run took ({@code scheduled_job_duration}) and how late it
+ * started against its schedule ({@code scheduled_job_lag}). Lag is measured from the start time the schedule asked for:
+ * the previous slot plus the period for fixed-rate jobs, the previous end plus the delay for fixed-delay jobs, and the
+ * trigger's next execution time otherwise.
+ */
+@Slf4j
+public class MeteredTaskScheduler implements TaskScheduler, DisposableBean {
+
+    private final TaskScheduler delegate;
+
+    private final MeterRegistry meterRegistry;
+
+    private final String schedulerName;
+
+    public MeteredTaskScheduler(TaskScheduler delegate, MeterRegistry meterRegistry, String schedulerName) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+        this.schedulerName = schedulerName;
+    }
+
+    @Override
+    public Clock getClock() {
+        return delegate.getClock();
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+        MeteredTask metered = new MeteredTask(task, null, null, null);
+        return delegate.schedule(metered, triggerContext -> {
+            Instant next = trigger.nextExecution(triggerContext);
+            metered.expected = next;
+            return next;
+        });
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Instant startTime) {
+        return delegate.schedule(new MeteredTask(task, startTime, null, null), startTime);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Instant startTime, Duration period) {
+        return delegate.scheduleAtFixedRate(new MeteredTask(task, startTime, period, null), startTime, period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Duration period) {
+        return delegate.scheduleAtFixedRate(new MeteredTask(task, getClock().instant(), period, null), period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Instant startTime, Duration delay) {
+        return delegate.scheduleWithFixedDelay(new MeteredTask(task, startTime, null, delay), startTime, delay);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Duration delay) {
+        return delegate.scheduleWithFixedDelay(new MeteredTask(task, getClock().instant(), null, delay), delay);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (delegate instanceof DisposableBean disposable) {
+            disposable.destroy();
+        } else if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+        log.info("destroy - Scheduler {} stopped", schedulerName);
+    }
+
+    /**
+     * {@code ScheduledMethodRunnable} prints the qualified method name; keep the class and method only.
+     */
+    static String jobName(Runnable task) {
+        String name = task.toString().replaceFirst("@[0-9a-f]+$", "");
+        int method = name.lastIndexOf('.');
+        int type = method > 0 ? name.lastIndexOf('.', method - 1) : -1;
+        return name.substring(type + 1);
+    }
+
+    private final class MeteredTask implements Runnable {
+
+        private final Runnable task;
+        private final Duration period;
+        private final Duration delay;
+        private final Timer duration;
+        private final Timer lag;
+
+        // runs of one task never overlap, the field is volatile for the hand-over between pool threads
+        private volatile Instant expected;
+
+        private MeteredTask(Runnable task, Instant expected, Duration period, Duration delay) {
+            this.task = task;
+            this.expected = expected;
+            this.period = period;
+            this.delay = delay;
+            String job = jobName(task);
+            this.duration = Timer.builder("scheduled_job_duration")
+                    .tag("scheduler", schedulerName)
+                    .tag("job", job)
+                    .register(meterRegistry);
+            this.lag = Timer.builder("scheduled_job_lag")
+                    .tag("scheduler", schedulerName)
+                    .tag("job", job)
+                    .register(meterRegistry);
+        }
+
+        @Override
+        public void run() {
+            Clock clock = getClock();
+            Instant scheduled = expected;
+            if (scheduled != null) {
+                Duration late = Duration.between(scheduled, clock.instant());
+                lag.record(late.isNegative() ? Duration.ZERO : late);
+            }
+            long startNanos = System.nanoTime();
+            try {
+                task.run();
+            } finally {
+                duration.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                if (period != null && scheduled != null) {
+                    expected = scheduled.plus(period);
+                } else if (delay != null) {
+                    expected = clock.instant().plus(delay);
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return task.toString();
+        }
+    }
+}
@@ -1,10 +1,49 @@
 package com.example.demo.sys.schedule;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 
+/**
+ * {@value #TASK_SCHEDULER} is the scheduler for {@code @Scheduled}: a small platform pool for short periodic jobs,
+ * such as the find-all reply poller rescale. It records per-job run time and start lag through
+ * {@link MeteredTaskScheduler}. Long-running consumers keep their own threads and do not belong here.
+ */
 @Configuration
 @EnableScheduling
-public class ScheduleConfiguration {
+public class ScheduleConfiguration implements SchedulingConfigurer {
 
+    public static final String TASK_SCHEDULER = "taskScheduler";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${scheduling.housekeeping.poolSize:2}")
+    private int housekeepingPoolSize;
+
+    public ScheduleConfiguration(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+    }
+
+    @Bean(TASK_SCHEDULER)
+    public MeteredTaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(Math.max(1, housekeepingPoolSize));
+        scheduler.setThreadNamePrefix("housekeeping-");
+        scheduler.setDaemon(true);
+        scheduler.setWaitForTasksToCompleteOnShutdown(false);
+        scheduler.initialize();
+        return new MeteredTaskScheduler(scheduler, meterRegistry, "housekeeping");
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.setTaskScheduler(taskScheduler());
+    }
 }
@@ -2,29 +2,65 @@ package com.example.demo.sys.sqs;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.SdkEventLoopGroup;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
 import software.amazon.awssdk.services.sqs.SqsClient;
 
 import java.net.URI;
+import java.time.Duration;
 
 @Slf4j
 @Configuration
 public class SqsConfiguration {
 
+    // One pooled Apache client shared by every SqsClient consumer/producer, so TCP/TLS setup is paid once per connection.
+    @Bean(destroyMethod = "close")
+    public SdkHttpClient sqsApacheHttpClient(
+            @Value("${aws.sqs.http.maxConnections:200}") int maxConnections,
+            @Value("${aws.sqs.http.connectionTimeToLiveSeconds:60}") int connectionTimeToLiveSeconds,
+            @Value("${aws.sqs.http.connectionMaxIdleSeconds:30}") int connectionMaxIdleSeconds,
+            @Value("${aws.sqs.http.tcpKeepAlive:true}") boolean tcpKeepAlive,
+            @Value("${aws.sqs.http.connectionTimeoutMillis:2000}") int connectionTimeoutMillis,
+            @Value("${aws.sqs.http.connectionAcquisitionTimeoutMillis:5000}") int connectionAcquisitionTimeoutMillis,
+            @Value("${aws.sqs.http.socketTimeoutSeconds:30}") int socketTimeoutSeconds
+    ) {
+        log.info("SqsConfiguration::sqsApacheHttpClient - maxConnections={}, connectionTtl={}s, maxIdle={}s, tcpKeepAlive={}",
+                maxConnections, connectionTimeToLiveSeconds, connectionMaxIdleSeconds, tcpKeepAlive);
+        return ApacheHttpClient.builder()
+                .maxConnections(maxConnections)
+                .connectionTimeToLive(Duration.ofSeconds(connectionTimeToLiveSeconds))
+                .connectionMaxIdleTime(Duration.ofSeconds(connectionMaxIdleSeconds))
+                .useIdleConnectionReaper(true)
+                .tcpKeepAlive(tcpKeepAlive)
+                .connectionTimeout(Duration.ofMillis(connectionTimeoutMillis))
+                .connectionAcquisitionTimeout(Duration.ofMillis(connectionAcquisitionTimeoutMillis))
+                // must outlast the 20 s long-poll
+                .socketTimeout(Duration.ofSeconds(socketTimeoutSeconds))
+                .build();
+    }
+
     @Bean
     @Profile("!local")
     public SqsClient sqsClient(
             @Value("${aws.sqs.region}") String region,
-            @Value("${aws.sqs.endpoint:}") String endpoint // optional, used for local ElasticMQ
+            @Value("${aws.sqs.endpoint:}") String endpoint, // optional, used for local ElasticMQ
+            SdkHttpClient sqsApacheHttpClient
     ) {
         var builder = SqsClient.builder()
                 .region(Region.of(region))
+                .httpClient(sqsApacheHttpClient)
                 .credentialsProvider(DefaultCredentialsProvider.builder().build());
 
         if (endpoint != null && !endpoint.isBlank()) {
@@ -54,12 +90,70 @@ public class SqsConfiguration {
     public SqsClient localSqsClient(
             @Value("${aws.sqs.region:us-east-1}") String region,
             @Value("${aws.sqs.endpoint:http://localhost:9324}") String endpoint,
-            StaticCredentialsProvider staticCredentialsProvider
+            StaticCredentialsProvider staticCredentialsProvider,
+            SdkHttpClient sqsApacheHttpClient
     ) {
         log.info("SqsConfiguration::localSqsClient - Creating SqsClient for ElasticMQ at {}", endpoint);
         return SqsClient.builder()
                 .region(Region.of(region))
                 .endpointOverride(URI.create(endpoint))
+                .httpClient(sqsApacheHttpClient)
+                .credentialsProvider(staticCredentialsProvider)
+                .build();
+    }
+
+    // SqsAsyncClient on Netty: many concurrent long-polls share a few event-loop threads.
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "aws.sqs.async.enabled", havingValue = "true")
+    public SdkAsyncHttpClient sqsNettyHttpClient(
+            @Value("${aws.sqs.async.eventLoopThreads:4}") int eventLoopThreads,
+            @Value("${aws.sqs.async.maxConcurrency:200}") int maxConcurrency,
+            @Value("${aws.sqs.async.readTimeoutSeconds:30}") int readTimeoutSeconds
+    ) {
+        log.info("SqsConfiguration::sqsNettyHttpClient - eventLoopThreads={}, maxConcurrency={}", eventLoopThreads, maxConcurrency);
+        return NettyNioAsyncHttpClient.builder()
+                .eventLoopGroupBuilder(SdkEventLoopGroup.builder().numberOfThreads(eventLoopThreads))
+                .maxConcurrency(maxConcurrency)
+                // must outlast the 20 s long-poll
+                .readTimeout(Duration.ofSeconds(readTimeoutSeconds))
+                .build();
+    }
+
+    @Bean
+    @Profile("!local")
+    @ConditionalOnProperty(name = "aws.sqs.async.enabled", havingValue = "true")
+    public SqsAsyncClient sqsAsyncClient(
+            @Value("${aws.sqs.region}") String region,
+            @Value("${aws.sqs.endpoint:}") String endpoint,
+            SdkAsyncHttpClient sqsNettyHttpClient
+    ) {
+        var builder = SqsAsyncClient.builder()
+                .region(Region.of(region))
+                .httpClient(sqsNettyHttpClient)
+                .credentialsProvider(DefaultCredentialsProvider.builder().build());
+
+        if (endpoint != null && !endpoint.isBlank()) {
+            log.info("SqsConfiguration::sqsAsyncClient - Using custom endpoint {}", endpoint);
+            builder = builder.endpointOverride(URI.create(endpoint));
+        }
+
+        return builder.build();
+    }
+
+    @Bean
+    @Profile("local")
+    @ConditionalOnProperty(name = "aws.sqs.async.enabled", havingValue = "true")
+    public SqsAsyncClient localSqsAsyncClient(
+            @Value("${aws.sqs.region:us-east-1}") String region,
+            @Value("${aws.sqs.endpoint:http://localhost:9324}") String endpoint,
+            StaticCredentialsProvider staticCredentialsProvider,
+            SdkAsyncHttpClient sqsNettyHttpClient
+    ) {
+        log.info("SqsConfiguration::localSqsAsyncClient - Creating SqsAsyncClient for ElasticMQ at {}", endpoint);
+        return SqsAsyncClient.builder()
+                .region(Region.of(region))
+                .endpointOverride(URI.create(endpoint))
+                .httpClient(sqsNettyHttpClient)
                 .credentialsProvider(staticCredentialsProvider)
                 .build();
     }
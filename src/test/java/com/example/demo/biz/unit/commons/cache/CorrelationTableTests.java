@@ -0,0 +1,118 @@
+package com.example.demo.biz.unit.commons.cache;
+
+import com.example.demo.biz.commons.cache.CorrelationTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CorrelationTableTests {
+
+    private static final String CORRELATION = "123e4567-e89b-12d3-a456-426614174000";
+
+    @Test
+    void putAndGetShouldTreatUuidSpellingsAsSameKey() {
+        CorrelationTable<String> table = new CorrelationTable<>();
+
+        assertNull(table.put(CORRELATION, "a"));
+        assertEquals("a", table.put(CORRELATION.toUpperCase(), "b"));
+
+        assertEquals("b", table.get(CORRELATION));
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    void nonUuidKeysShouldUseFallbackMap() {
+        CorrelationTable<String> table = new CorrelationTable<>();
+
+        assertNull(table.putIfAbsent("other", "a"));
+        assertEquals("a", table.putIfAbsent("other", "b"));
+        assertTrue(table.containsKey("other"));
+        assertFalse(table.containsKey("123e4567-e89b-12d3-a456-42661417400g"));
+
+        assertEquals("a", table.remove("other"));
+        assertEquals(0, table.size());
+    }
+
+    @Test
+    void removeShouldOnlyRemoveMatchingValue() {
+        CorrelationTable<String> table = new CorrelationTable<>();
+        String value = "a";
+        table.put(CORRELATION, value);
+
+        assertFalse(table.remove(CORRELATION, "b"));
+        assertTrue(table.remove(CORRELATION, value));
+        assertNull(table.get(CORRELATION));
+    }
+
+    @Test
+    void computeShouldInsertUpdateAndRemove() {
+        CorrelationTable<Integer> table = new CorrelationTable<>();
+
+        assertEquals(1, table.compute(CORRELATION, (id, v) -> v == null ? 1 : v + 1));
+        assertEquals(2, table.compute(CORRELATION, (id, v) -> v == null ? 1 : v + 1));
+        assertNull(table.computeIfPresent("missing", (id, v) -> 42));
+        assertNull(table.computeIfPresent(CORRELATION, (id, v) -> null));
+
+        assertEquals(0, table.size());
+    }
+
+    @Test
+    void tableShouldStayConsistentAcrossResizesAndRemovals() {
+        // a single small shard forces long probe runs, resizes and backward shifts
+        CorrelationTable<Integer> table = new CorrelationTable<>(1, 2);
+        Map<String, Integer> expected = new HashMap<>();
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            String id = UUID.randomUUID().toString();
+            ids.add(id);
+            table.put(id, i);
+            expected.put(id, i);
+        }
+        for (int i = 0; i < ids.size(); i += 3) {
+            assertEquals(expected.remove(ids.get(i)), table.remove(ids.get(i)));
+        }
+
+        assertEquals(expected.size(), table.size());
+        ids.forEach(id -> assertEquals(expected.get(id), table.get(id)));
+
+        List<Integer> values = new ArrayList<>();
+        table.forEachValue(values::add);
+        assertEquals(expected.size(), values.size());
+
+        table.clear();
+        assertEquals(0, table.size());
+        assertNull(table.get(ids.get(1)));
+    }
+
+    @Test
+    void concurrentWritersShouldNotLoseEntries() throws Exception {
+        CorrelationTable<Integer> table = new CorrelationTable<>(4, 2);
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<Future<List<String>>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    List<String> ids = new ArrayList<>();
+                    for (int i = 0; i < 2_000; i++) {
+                        String id = UUID.randomUUID().toString();
+                        table.put(id, i);
+                        ids.add(id);
+                    }
+                    return ids;
+                }));
+            }
+            for (Future<List<String>> future : futures) {
+                future.get().forEach(id -> assertNotNull(table.get(id)));
+            }
+        }
+        assertEquals(16_000, table.size());
+    }
+}
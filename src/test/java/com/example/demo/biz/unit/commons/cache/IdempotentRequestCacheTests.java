@@ -0,0 +1,140 @@
+package com.example.demo.biz.unit.commons.cache;
+
+import com.example.demo.biz.commons.cache.IdempotentRequestCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.demo.biz.commons.cache.IdempotentRequestCache.Status.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotentRequestCacheTests {
+
+    private static final String CORRELATION = "123e4567-e89b-12d3-a456-426614174000";
+
+    private final IdempotentRequestCache cache = IdempotentRequestCache.INSTANCE;
+
+    @AfterEach
+    void tearDown() {
+        cache.configure(100_000, Duration.ofSeconds(60), Duration.ofMinutes(5));
+        cache.remove(CORRELATION);
+    }
+
+    @Test
+    void inProgressEntriesShouldExpireBeforeCompletedOnes() throws Exception {
+        cache.configure(100, Duration.ofMillis(20), Duration.ofSeconds(60));
+
+        cache.tryClaim(CORRELATION);
+        cache.tryClaim("other");
+        cache.complete("other", "done");
+        assertEquals(RECEIVED, cache.get(CORRELATION));
+
+        Thread.sleep(50);
+
+        assertNull(cache.get(CORRELATION));
+        assertEquals(COMPLETED, cache.get("other"));
+        cache.remove("other");
+    }
+
+    @Test
+    void configureShouldKeepExistingEntries() {
+        IdempotentRequestCache.Claim<String> claim = cache.tryClaim(CORRELATION);
+
+        cache.configure(100, Duration.ofSeconds(30), Duration.ofSeconds(60));
+
+        assertEquals(RECEIVED, cache.get(CORRELATION));
+        assertFalse(cache.tryClaim(CORRELATION).owner());
+        assertFalse(claim.result().isDone());
+    }
+
+    @Test
+    void tryClaimShouldCountDuplicatesAsHitsAndOwnersAsMisses() {
+        var before = cache.stats();
+
+        cache.tryClaim(CORRELATION);
+        cache.tryClaim(CORRELATION);
+        cache.tryClaim(CORRELATION);
+
+        var after = cache.stats();
+        assertEquals(1, after.missCount() - before.missCount());
+        assertEquals(2, after.hitCount() - before.hitCount());
+    }
+
+    @Test
+    void cacheShouldStayWithinMaxSizeAndCountEvictions() {
+        var configured = cache.configure(10, Duration.ofSeconds(30), Duration.ofSeconds(60));
+
+        for (int i = 0; i < 100; i++) {
+            cache.tryClaim("c-" + i);
+        }
+        configured.cleanUp();
+
+        assertTrue(cache.size() <= 10);
+        assertTrue(cache.stats().evictionCount() > 0);
+    }
+
+    @Test
+    void tryClaimShouldGrantOneOwnerAndShareItsResult() throws Exception {
+        IdempotentRequestCache.Claim<String> first = cache.tryClaim(CORRELATION);
+        IdempotentRequestCache.Claim<String> second = cache.tryClaim(CORRELATION);
+
+        assertTrue(first.owner());
+        assertFalse(second.owner());
+        assertSame(first.result(), second.result());
+        assertEquals(RECEIVED, cache.get(CORRELATION));
+
+        cache.complete(CORRELATION, "done");
+
+        assertEquals("done", second.result().get());
+        assertEquals(COMPLETED, cache.get(CORRELATION));
+        assertTrue(cache.<String>tryClaim(CORRELATION).owner());
+    }
+
+    @Test
+    void tryClaimShouldAllowExactlyOneConcurrentOwner() throws Exception {
+        int callers = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger owners = new AtomicInteger();
+        try (ExecutorService executor = Executors.newFixedThreadPool(callers)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    if (cache.tryClaim(CORRELATION).owner()) {
+                        owners.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        assertEquals(1, owners.get());
+    }
+
+    @Test
+    void failAndRemoveShouldReleaseAttachedCallers() {
+        IdempotentRequestCache.Claim<String> owner = cache.tryClaim(CORRELATION);
+        cache.fail(CORRELATION, new IllegalStateException("boom"));
+
+        assertEquals(ERROR, cache.get(CORRELATION));
+        ExecutionException e = assertThrows(ExecutionException.class, () -> owner.result().get());
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+
+        IdempotentRequestCache.Claim<String> next = cache.tryClaim(CORRELATION);
+        assertTrue(next.owner());
+        cache.remove(CORRELATION);
+        assertNull(next.result().join());
+    }
+}
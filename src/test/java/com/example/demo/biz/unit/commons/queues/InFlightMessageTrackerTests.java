@@ -0,0 +1,95 @@
+package com.example.demo.biz.unit.commons.queues;
+
+import com.example.demo.biz.commons.queues.InFlightMessageTracker;
+import com.example.demo.biz.commons.queues.SqsMessageAcknowledger;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class InFlightMessageTrackerTests {
+
+    private static Message message(String receiptHandle, String receiveCount) {
+        var builder = Message.builder().messageId("m-" + receiptHandle).receiptHandle(receiptHandle);
+        if (receiveCount != null) {
+            builder.attributes(Map.of(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT, receiveCount));
+        }
+        return builder.build();
+    }
+
+    @Test
+    void extendShouldSkipMessagesYoungerThanOneHeartbeat() {
+        SqsMessageAcknowledger acknowledger = mock(SqsMessageAcknowledger.class);
+
+        try (InFlightMessageTracker tracker = new InFlightMessageTracker(acknowledger, 30, Duration.ofMinutes(2), "test")) {
+            tracker.track(List.of(message("rh-1", null)));
+            tracker.extend();
+
+            assertEquals(1, tracker.size());
+            verify(acknowledger, never()).changeVisibility(anyString(), anyInt());
+        }
+    }
+
+    @Test
+    void extendShouldRenewVisibilityUntilUntracked() throws Exception {
+        SqsMessageAcknowledger acknowledger = mock(SqsMessageAcknowledger.class);
+
+        // 3 s visibility -> 1 s heartbeat
+        try (InFlightMessageTracker tracker = new InFlightMessageTracker(acknowledger, 3, Duration.ofMinutes(2), "test")) {
+            Message m = message("rh-1", null);
+            tracker.track(List.of(m));
+            Thread.sleep(1_100);
+            tracker.extend();
+
+            verify(acknowledger, atLeastOnce()).changeVisibility("rh-1", 3);
+
+            tracker.untrack(List.of(m));
+            clearInvocations(acknowledger);
+            tracker.extend();
+
+            assertEquals(0, tracker.size());
+            verify(acknowledger, never()).changeVisibility(anyString(), anyInt());
+        }
+    }
+
+    @Test
+    void extendShouldStopTrackingAfterMaxInFlight() throws Exception {
+        SqsMessageAcknowledger acknowledger = mock(SqsMessageAcknowledger.class);
+
+        try (InFlightMessageTracker tracker = new InFlightMessageTracker(acknowledger, 30, Duration.ofMillis(10), "test")) {
+            tracker.track(List.of(message("rh-1", null)));
+            Thread.sleep(50);
+            tracker.extend();
+
+            assertEquals(0, tracker.size());
+            verify(acknowledger, never()).changeVisibility(anyString(), anyInt());
+        }
+    }
+
+    @Test
+    void backoffSecondsShouldDoublePerDeliveryUpToMax() {
+        assertEquals(5, InFlightMessageTracker.backoffSeconds(message("rh", null), 5, 60));
+        assertEquals(5, InFlightMessageTracker.backoffSeconds(message("rh", "1"), 5, 60));
+        assertEquals(10, InFlightMessageTracker.backoffSeconds(message("rh", "2"), 5, 60));
+        assertEquals(40, InFlightMessageTracker.backoffSeconds(message("rh", "4"), 5, 60));
+        assertEquals(60, InFlightMessageTracker.backoffSeconds(message("rh", "5"), 5, 60));
+        assertEquals(60, InFlightMessageTracker.backoffSeconds(message("rh", "1000"), 5, 60));
+        assertEquals(5, InFlightMessageTracker.backoffSeconds(message("rh", "garbage"), 5, 60));
+    }
+
+    @Test
+    void receiveCountShouldDefaultToTheFirstDelivery() {
+        assertEquals(1, InFlightMessageTracker.receiveCount(message("rh", null)));
+        assertEquals(1, InFlightMessageTracker.receiveCount(message("rh", "garbage")));
+        assertEquals(1, InFlightMessageTracker.receiveCount(message("rh", "0")));
+        assertEquals(7, InFlightMessageTracker.receiveCount(message("rh", "7")));
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.demo.biz.unit.commons.queues;
+
+import com.example.demo.biz.commons.queues.SendMessageBatcher;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SendMessageBatcherTests {
+
+    private static final String QUEUE_URL = "http://localhost/queue";
+
+    private static SendMessageRequest request(String body) {
+        return SendMessageRequest.builder().queueUrl(QUEUE_URL).messageBody(body).build();
+    }
+
+    @Test
+    void constructorShouldRejectBatchSizeAboveSqsLimit() {
+        SqsClient sqs = mock(SqsClient.class);
+        assertThrows(IllegalArgumentException.class, () -> new SendMessageBatcher(sqs, QUEUE_URL, 11, Duration.ofMillis(5), "test"));
+        assertThrows(IllegalArgumentException.class, () -> new SendMessageBatcher(sqs, QUEUE_URL, 0, Duration.ofMillis(5), "test"));
+    }
+
+    @Test
+    void shouldFlushBufferedRequestsAsOneBatchAndCompleteEachFuture() throws Exception {
+        SqsClient sqs = mock(SqsClient.class);
+        when(sqs.sendMessageBatch(any(SendMessageBatchRequest.class))).thenAnswer(invocation -> {
+            SendMessageBatchRequest batch = invocation.getArgument(0);
+            return SendMessageBatchResponse.builder()
+                    .successful(batch.entries().stream()
+                            .map(e -> SendMessageBatchResultEntry.builder().id(e.id()).messageId("mid-" + e.messageBody()).build())
+                            .toList())
+                    .build();
+        });
+
+        try (SendMessageBatcher batcher = new SendMessageBatcher(sqs, QUEUE_URL, 10, Duration.ofMillis(200), "test")) {
+            List<CompletableFuture<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                futures.add(batcher.submit(request("b" + i)));
+            }
+
+            for (int i = 0; i < 3; i++) {
+                assertEquals("mid-b" + i, futures.get(i).get(2, TimeUnit.SECONDS));
+            }
+        }
+
+        ArgumentCaptor<SendMessageBatchRequest> captor = ArgumentCaptor.forClass(SendMessageBatchRequest.class);
+        verify(sqs, times(1)).sendMessageBatch(captor.capture());
+        assertEquals(QUEUE_URL, captor.getValue().queueUrl());
+        assertEquals(3, captor.getValue().entries().size());
+    }
+
+    @Test
+    void shouldFailOnlyTheEntriesSqsRejected() throws Exception {
+        SqsClient sqs = mock(SqsClient.class);
+        when(sqs.sendMessageBatch(any(SendMessageBatchRequest.class))).thenReturn(SendMessageBatchResponse.builder()
+                .successful(SendMessageBatchResultEntry.builder().id("0").messageId("mid-0").build())
+                .failed(BatchResultErrorEntry.builder().id("1").code("InvalidMessageContents").senderFault(true).message("bad").build())
+                .build());
+
+        try (SendMessageBatcher batcher = new SendMessageBatcher(sqs, QUEUE_URL, 2, Duration.ofMillis(200), "test")) {
+            var ok = batcher.submit(request("ok"));
+            var bad = batcher.submit(request("bad"));
+
+            assertEquals("mid-0", ok.get(2, TimeUnit.SECONDS));
+            ExecutionException e = assertThrows(ExecutionException.class, () -> bad.get(2, TimeUnit.SECONDS));
+            assertInstanceOf(SqsException.class, e.getCause());
+        }
+    }
+
+    @Test
+    void shouldFailAllFuturesWhenBatchCallThrows() {
+        SqsClient sqs = mock(SqsClient.class);
+        when(sqs.sendMessageBatch(any(SendMessageBatchRequest.class))).thenThrow(SqsException.builder().message("down").build());
+
+        try (SendMessageBatcher batcher = new SendMessageBatcher(sqs, QUEUE_URL, 10, Duration.ofMillis(1), "test")) {
+            var future = batcher.submit(request("x"));
+            ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(2, TimeUnit.SECONDS));
+            assertInstanceOf(SqsException.class, e.getCause());
+        }
+    }
+
+    @Test
+    void submitAfterCloseShouldFail() {
+        SendMessageBatcher batcher = new SendMessageBatcher(mock(SqsClient.class), QUEUE_URL, 10, Duration.ofMillis(1), "test");
+        batcher.close();
+
+        var future = batcher.submit(request("late"));
+        ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(RejectedExecutionException.class, e.getCause());
+    }
+
+    @Test
+    void submitsRacingCloseShouldAllComplete() throws Exception {
+        SqsClient sqs = mock(SqsClient.class);
+        when(sqs.sendMessageBatch(any(SendMessageBatchRequest.class))).thenReturn(SendMessageBatchResponse.builder().build());
+        SendMessageBatcher batcher = new SendMessageBatcher(sqs, QUEUE_URL, 10, Duration.ofMillis(1), "test");
+
+        ConcurrentLinkedQueue<CompletableFuture<String>> futures = new ConcurrentLinkedQueue<>();
+        List<Thread> submitters = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            submitters.add(Thread.ofVirtual().start(() -> {
+                for (int j = 0; j < 500; j++) {
+                    futures.add(batcher.submit(request("x")));
+                }
+            }));
+        }
+        batcher.close();
+        for (Thread submitter : submitters) {
+            submitter.join();
+        }
+
+        assertEquals(2_000, futures.size());
+        futures.forEach(f -> assertTrue(f.isDone()));
+    }
+}
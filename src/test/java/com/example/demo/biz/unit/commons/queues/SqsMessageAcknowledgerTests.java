@@ -0,0 +1,136 @@
+package com.example.demo.biz.unit.commons.queues;
+
+import com.example.demo.biz.commons.queues.SqsMessageAcknowledger;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SqsMessageAcknowledgerTests {
+
+    private static final String QUEUE_URL = "http://localhost/queue";
+
+    private static Message message(int i) {
+        return Message.builder().messageId("m-" + i).receiptHandle("rh-" + i).build();
+    }
+
+    @Test
+    void shouldCoalesceDeletesFromSeveralBatchesIntoOneCall() {
+        SqsClient sqs = mock(SqsClient.class);
+
+        try (SqsMessageAcknowledger acknowledger = new SqsMessageAcknowledger(sqs, QUEUE_URL, Duration.ofMillis(200), "test")) {
+            acknowledger.delete(List.of(message(1), message(2)));
+            acknowledger.delete(List.of(message(3)));
+
+            ArgumentCaptor<DeleteMessageBatchRequest> captor = ArgumentCaptor.forClass(DeleteMessageBatchRequest.class);
+            verify(sqs, timeout(2_000)).deleteMessageBatch(captor.capture());
+            assertEquals(QUEUE_URL, captor.getValue().queueUrl());
+            assertEquals(List.of("rh-1", "rh-2", "rh-3"),
+                    captor.getValue().entries().stream().map(DeleteMessageBatchRequestEntry::receiptHandle).toList());
+        }
+    }
+
+    @Test
+    void shouldSplitIntoBatchesOfTenAndFlushOnClose() {
+        SqsClient sqs = mock(SqsClient.class);
+
+        SqsMessageAcknowledger acknowledger = new SqsMessageAcknowledger(sqs, QUEUE_URL, Duration.ofMillis(50), "test");
+        acknowledger.delete(IntStream.range(0, 25).mapToObj(SqsMessageAcknowledgerTests::message).toList());
+        acknowledger.close();
+
+        ArgumentCaptor<DeleteMessageBatchRequest> captor = ArgumentCaptor.forClass(DeleteMessageBatchRequest.class);
+        verify(sqs, times(3)).deleteMessageBatch(captor.capture());
+        assertEquals(25, captor.getAllValues().stream().mapToInt(r -> r.entries().size()).sum());
+        captor.getAllValues().forEach(r -> assertEquals(true, r.entries().size() <= 10));
+    }
+
+    @Test
+    void shouldSendBatchesThroughTheAsyncClientAndWaitForThemOnClose() {
+        SqsAsyncClient sqsAsync = mock(SqsAsyncClient.class);
+        CompletableFuture<DeleteMessageBatchResponse> pending = new CompletableFuture<>();
+        when(sqsAsync.deleteMessageBatch(any(DeleteMessageBatchRequest.class))).thenReturn(pending);
+        CompletableFuture.delayedExecutor(200, TimeUnit.MILLISECONDS)
+                .execute(() -> pending.complete(DeleteMessageBatchResponse.builder().build()));
+
+        SqsMessageAcknowledger acknowledger = new SqsMessageAcknowledger(sqsAsync, QUEUE_URL, Duration.ofMillis(10), 3, "test");
+        acknowledger.delete(List.of(message(1), message(2)));
+        verify(sqsAsync, timeout(2_000)).deleteMessageBatch(any(DeleteMessageBatchRequest.class));
+        acknowledger.close();
+
+        assertEquals(true, pending.isDone());
+        assertEquals(true, acknowledger.isAsync());
+    }
+
+    @Test
+    void shouldRetryAFailedAsyncCall() {
+        SqsAsyncClient sqsAsync = mock(SqsAsyncClient.class);
+        when(sqsAsync.changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(SqsException.builder().message("throttled").build()))
+                .thenReturn(CompletableFuture.completedFuture(ChangeMessageVisibilityBatchResponse.builder().build()));
+
+        try (SqsMessageAcknowledger acknowledger = new SqsMessageAcknowledger(sqsAsync, QUEUE_URL, Duration.ofMillis(10), 3, "test")) {
+            acknowledger.changeVisibility("rh-1", 0);
+
+            verify(sqsAsync, timeout(2_000).times(2)).changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class));
+        }
+    }
+
+    @Test
+    void shouldIgnoreBlankReceiptHandles() {
+        SqsClient sqs = mock(SqsClient.class);
+
+        SqsMessageAcknowledger acknowledger = new SqsMessageAcknowledger(sqs, QUEUE_URL, Duration.ofMillis(10), "test");
+        acknowledger.delete(" ");
+        acknowledger.delete((String) null);
+        acknowledger.close();
+
+        verify(sqs, never()).deleteMessageBatch(any(DeleteMessageBatchRequest.class));
+    }
+
+    @Test
+    void shouldBatchVisibilityChangesSeparatelyFromDeletes() {
+        SqsClient sqs = mock(SqsClient.class);
+
+        SqsMessageAcknowledger acknowledger = new SqsMessageAcknowledger(sqs, QUEUE_URL, Duration.ofMillis(100), "test");
+        acknowledger.delete(List.of(message(1)));
+        acknowledger.changeVisibility(List.of(message(2), message(3)), 5);
+        acknowledger.close();
+
+        ArgumentCaptor<ChangeMessageVisibilityBatchRequest> captor = ArgumentCaptor.forClass(ChangeMessageVisibilityBatchRequest.class);
+        verify(sqs, times(1)).changeMessageVisibilityBatch(captor.capture());
+        assertEquals(2, captor.getValue().entries().size());
+        assertEquals(5, captor.getValue().entries().getFirst().visibilityTimeout());
+        verify(sqs, times(1)).deleteMessageBatch(any(DeleteMessageBatchRequest.class));
+    }
+
+    @Test
+    void shouldRetryServerSideEntryFailuresAndDropSenderFaults() {
+        SqsClient sqs = mock(SqsClient.class);
+        when(sqs.deleteMessageBatch(any(DeleteMessageBatchRequest.class)))
+                .thenReturn(DeleteMessageBatchResponse.builder()
+                        .failed(BatchResultErrorEntry.builder().id("0").code("InternalError").senderFault(false).build(),
+                                BatchResultErrorEntry.builder().id("1").code("ReceiptHandleIsInvalid").senderFault(true).build())
+                        .build())
+                .thenReturn(DeleteMessageBatchResponse.builder().build());
+
+        try (SqsMessageAcknowledger acknowledger = new SqsMessageAcknowledger(sqs, QUEUE_URL, Duration.ofMillis(10), 3, "test")) {
+            acknowledger.delete(List.of(message(1), message(2)));
+
+            ArgumentCaptor<DeleteMessageBatchRequest> captor = ArgumentCaptor.forClass(DeleteMessageBatchRequest.class);
+            verify(sqs, timeout(2_000).times(2)).deleteMessageBatch(captor.capture());
+            assertEquals(List.of("rh-1"),
+                    captor.getAllValues().get(1).entries().stream().map(DeleteMessageBatchRequestEntry::receiptHandle).toList());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.demo.biz.unit.commons.timer;
+
+import com.example.demo.biz.commons.timer.HashedWheelTimer;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashedWheelTimerTests {
+
+    @Test
+    void constructorShouldRoundWheelToPowerOfTwo() {
+        try (HashedWheelTimer timer = new HashedWheelTimer(Duration.ofMillis(10), 100, "test-wheel")) {
+            assertEquals(128, timer.wheelSize());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new HashedWheelTimer(Duration.ZERO, 8, "test-wheel"));
+        assertThrows(IllegalArgumentException.class, () -> new HashedWheelTimer(Duration.ofMillis(10), 0, "test-wheel"));
+    }
+
+    @Test
+    void scheduleShouldRunTaskAfterDelay() throws Exception {
+        try (HashedWheelTimer timer = new HashedWheelTimer(Duration.ofMillis(5), 8, "test-wheel")) {
+            CountDownLatch fired = new CountDownLatch(1);
+            long start = System.nanoTime();
+
+            HashedWheelTimer.Timeout timeout = timer.schedule(fired::countDown, 50, TimeUnit.MILLISECONDS);
+
+            assertTrue(fired.await(2, TimeUnit.SECONDS));
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 50);
+            assertTrue(timeout.isExpired());
+            assertEquals(0, timer.pending());
+        }
+    }
+
+    @Test
+    void scheduleShouldHandleDelaysLongerThanOneRotation() throws Exception {
+        // 4 buckets x 5 ms -> a 60 ms delay needs three rotations
+        try (HashedWheelTimer timer = new HashedWheelTimer(Duration.ofMillis(5), 4, "test-wheel")) {
+            CountDownLatch fired = new CountDownLatch(1);
+            long start = System.nanoTime();
+
+            timer.schedule(fired::countDown, 60, TimeUnit.MILLISECONDS);
+
+            assertTrue(fired.await(2, TimeUnit.SECONDS));
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 60);
+        }
+    }
+
+    @Test
+    void cancelShouldPreventTaskFromRunning() throws Exception {
+        try (HashedWheelTimer timer = new HashedWheelTimer(Duration.ofMillis(5), 8, "test-wheel")) {
+            AtomicInteger runs = new AtomicInteger();
+            List<HashedWheelTimer.Timeout> timeouts = new ArrayList<>();
+            for (int i = 0; i < 10_000; i++) {
+                timeouts.add(timer.schedule(runs::incrementAndGet, 30, TimeUnit.MILLISECONDS));
+            }
+            assertEquals(10_000, timer.pending());
+
+            timeouts.forEach(HashedWheelTimer.Timeout::cancel);
+            assertEquals(0, timer.pending());
+            assertFalse(timeouts.getFirst().cancel());
+
+            Thread.sleep(100);
+            assertEquals(0, runs.get());
+            assertTrue(timeouts.getFirst().isCancelled());
+        }
+    }
+
+    @Test
+    void scheduleShouldRejectAfterClose() {
+        HashedWheelTimer timer = new HashedWheelTimer(Duration.ofMillis(5), 8, "test-wheel");
+        timer.close();
+
+        assertThrows(RejectedExecutionException.class, () -> timer.schedule(() -> {
+        }, 1, TimeUnit.MILLISECONDS));
+    }
+}
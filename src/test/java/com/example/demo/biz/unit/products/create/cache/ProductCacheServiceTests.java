@@ -1,43 +1,83 @@
 package com.example.demo.biz.unit.products.create.cache;
 
-import com.example.commons.constants.RequestStatus;
 import com.example.demo.biz.products.create.cache.ProductCacheService;
+import com.example.demo.biz.products.create.cache.ProductCacheService.State;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class ProductCacheServiceTests {
 
     @AfterEach
     void cleanup() {
-        ProductCacheService.clear();
+        ProductCacheService.INSTANCE.configure(100_000, Duration.ofMinutes(5), Duration.ofMinutes(5));
+        ProductCacheService.INSTANCE.clear();
     }
 
     @Test
     void addGetUpdateRemoveAndClear() {
-        ProductCacheService.add("k1", RequestStatus.IN_PROGRESS);
-        assertEquals(RequestStatus.IN_PROGRESS, ProductCacheService.get("k1"));
+        ProductCacheService.INSTANCE.add("k1");
+        assertEquals(State.IN_PROGRESS, ProductCacheService.INSTANCE.get("k1").state());
+
+        ProductCacheService.INSTANCE.update("k1", "done");
+        assertEquals(State.CREATED, ProductCacheService.INSTANCE.get("k1").state());
+        assertEquals("done", ProductCacheService.INSTANCE.get("k1").productId());
+
+        assertEquals("done", ProductCacheService.INSTANCE.remove("k1").productId());
+        assertNull(ProductCacheService.INSTANCE.getCache().get("k1"));
+
+        ProductCacheService.INSTANCE.add("k2");
+        assertFalse(ProductCacheService.INSTANCE.getCache().isEmpty());
+        ProductCacheService.INSTANCE.clear();
+        assertTrue(ProductCacheService.INSTANCE.getCache().isEmpty());
+    }
+
+    @Test
+    void addShouldNotOverwriteCreatedProduct() {
+        ProductCacheService.INSTANCE.update("k1", "id-1");
+        ProductCacheService.INSTANCE.add("k1");
 
-        ProductCacheService.update("k1", "done");
-        assertEquals("done", ProductCacheService.get("k1"));
+        assertEquals("id-1", ProductCacheService.INSTANCE.get("k1").productId());
+    }
+
+    @Test
+    void takeCreatedShouldRemoveOnlyCreatedProducts() {
+        ProductCacheService.INSTANCE.add("k1");
+        assertEquals(Optional.empty(), ProductCacheService.INSTANCE.takeCreated("k1"));
+        assertNotNull(ProductCacheService.INSTANCE.get("k1"));
+
+        ProductCacheService.INSTANCE.update("k1", "id-1");
+        assertEquals(Optional.of("id-1"), ProductCacheService.INSTANCE.takeCreated("k1"));
+        assertNull(ProductCacheService.INSTANCE.get("k1"));
+        assertEquals(Optional.empty(), ProductCacheService.INSTANCE.takeCreated("k1"));
+        assertEquals(Optional.empty(), ProductCacheService.INSTANCE.takeCreated("unknown"));
+    }
+
+    @Test
+    void configureShouldBoundSizeAndCarryEntriesOver() {
+        ProductCacheService.INSTANCE.add("k1");
+        var cache = ProductCacheService.INSTANCE.configure(10, Duration.ofMinutes(1), Duration.ofMinutes(1));
 
-        assertEquals("done", ProductCacheService.remove("k1"));
-        assertNull(ProductCacheService.getCache().get("k1"));
+        assertEquals(State.IN_PROGRESS, ProductCacheService.INSTANCE.get("k1").state());
 
-        ProductCacheService.add("k2", RequestStatus.IN_PROGRESS);
-        assertFalse(ProductCacheService.getCache().isEmpty());
-        ProductCacheService.clear();
-        assertTrue(ProductCacheService.getCache().isEmpty());
+        for (int i = 0; i < 1_000; i++) {
+            ProductCacheService.INSTANCE.add("bulk-" + i);
+        }
+        cache.cleanUp();
+        assertTrue(ProductCacheService.INSTANCE.size() <= 10);
     }
 
     @Test
     void nullKeyOrValueThrows() {
-        assertThrows(NullPointerException.class, () -> ProductCacheService.add(null, RequestStatus.IN_PROGRESS));
-        assertThrows(NullPointerException.class, () -> ProductCacheService.add("k", null));
-        assertThrows(NullPointerException.class, () -> ProductCacheService.get(null));
-        assertThrows(NullPointerException.class, () -> ProductCacheService.update(null, "v"));
-        assertThrows(NullPointerException.class, () -> ProductCacheService.update("k", null));
-        assertThrows(NullPointerException.class, () -> ProductCacheService.remove(null));
+        assertThrows(NullPointerException.class, () -> ProductCacheService.INSTANCE.add(null));
+        assertThrows(NullPointerException.class, () -> ProductCacheService.INSTANCE.get(null));
+        assertThrows(NullPointerException.class, () -> ProductCacheService.INSTANCE.update(null, "v"));
+        assertThrows(NullPointerException.class, () -> ProductCacheService.INSTANCE.update("k", null));
+        assertThrows(NullPointerException.class, () -> ProductCacheService.INSTANCE.takeCreated(null));
+        assertThrows(NullPointerException.class, () -> ProductCacheService.INSTANCE.remove(null));
     }
 }
@@ -14,15 +14,15 @@ class ProductCreateCacheControllerTests {
 
     @AfterEach
     void cleanup() {
-        ProductCacheService.clear();
+        ProductCacheService.INSTANCE.clear();
     }
 
     @Test
     void shouldReturnUnderlyingCacheMap() {
 
-        ProductCacheService.add("k1", com.example.commons.constants.RequestStatus.IN_PROGRESS);
-        ProductCacheService.add("k2", com.example.commons.constants.RequestStatus.IN_PROGRESS);
-        ProductCacheService.update("k2", "v2");
+        ProductCacheService.INSTANCE.add("k1");
+        ProductCacheService.INSTANCE.add("k2");
+        ProductCacheService.INSTANCE.update("k2", "v2");
 
         ProductCreateCacheController controller = new ProductCreateCacheController();
         ResponseEntity<?> entity = (ResponseEntity<?>) controller.getCacheData();
@@ -32,9 +32,9 @@ class ProductCreateCacheControllerTests {
 
 
         Map<String, Object> map = (Map<String, Object>) entity.getBody();
-        assertSame(ProductCacheService.getCache(), map, "Controller should expose exact cache map reference");
+        assertSame(ProductCacheService.INSTANCE.getCache(), map, "Controller should expose exact cache map reference");
         assertEquals(2, map.size());
-        assertEquals(com.example.commons.constants.RequestStatus.IN_PROGRESS, map.get("k1"));
-        assertEquals("v2", map.get("k2"));
+        assertEquals(ProductCacheService.State.IN_PROGRESS, ((ProductCacheService.CreateStatus) map.get("k1")).state());
+        assertEquals("v2", ((ProductCacheService.CreateStatus) map.get("k2")).productId());
     }
 }
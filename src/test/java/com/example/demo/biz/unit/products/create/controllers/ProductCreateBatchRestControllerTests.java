@@ -0,0 +1,113 @@
+package com.example.demo.biz.unit.products.create.controllers;
+
+import com.example.commons.dto.create.ProductRequestDto;
+import com.example.demo.biz.commons.dto.BatchIdResponse;
+import com.example.demo.biz.products.create.cache.ProductCacheService;
+import com.example.demo.biz.products.create.controllers.ProductCreateBatchRestController;
+import com.example.demo.biz.products.create.queues.producer.IProductCreateQueueProducer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.example.demo.biz.products.create.cache.ProductCacheService.State.IN_PROGRESS;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+class ProductCreateBatchRestControllerTests {
+
+    private static void setField(Object target, String fieldName, Object value) {
+        try {
+            Field f = target.getClass().getDeclaredField(fieldName);
+            f.setAccessible(true);
+            f.set(target, value);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static ProductCreateBatchRestController controller(IProductCreateQueueProducer producer, Validator validator) {
+        ProductCreateBatchRestController controller = new ProductCreateBatchRestController(producer, validator);
+        setField(controller, "maxItems", 3);
+        return controller;
+    }
+
+    @AfterEach
+    void cleanup() {
+        ProductCacheService.INSTANCE.clear();
+    }
+
+    @Test
+    void shouldRejectEmptyOrOversizedBatches() {
+        IProductCreateQueueProducer producer = mock(IProductCreateQueueProducer.class);
+        ProductCreateBatchRestController controller = controller(producer, mock(Validator.class));
+
+        assertEquals(HttpStatus.BAD_REQUEST, controller.createAll(List.of()).getStatusCode());
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, controller.createAll(List.of(
+                mock(ProductRequestDto.class), mock(ProductRequestDto.class),
+                mock(ProductRequestDto.class), mock(ProductRequestDto.class))).getStatusCode());
+        verifyNoInteractions(producer);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldRejectBatchWhenAnyProductIsInvalid() {
+        IProductCreateQueueProducer producer = mock(IProductCreateQueueProducer.class);
+        Validator validator = mock(Validator.class);
+        ProductRequestDto valid = mock(ProductRequestDto.class);
+        ProductRequestDto invalid = mock(ProductRequestDto.class);
+        when(validator.validate(valid)).thenReturn(Set.of());
+        when(validator.validate(invalid)).thenReturn(Set.of(mock(ConstraintViolation.class)));
+
+        ResponseEntity<BatchIdResponse> response = controller(producer, validator).createAll(List.of(valid, invalid));
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(producer);
+    }
+
+    @Test
+    void shouldEnqueueAllAndReportPerItemFailures() {
+        IProductCreateQueueProducer producer = mock(IProductCreateQueueProducer.class);
+        Validator validator = mock(Validator.class);
+        when(validator.validate(any())).thenReturn(Set.of());
+        when(producer.produceAll(anyMap())).thenAnswer(invocation -> {
+            Map<String, ProductRequestDto> products = invocation.getArgument(0);
+            String first = products.keySet().iterator().next();
+            return Map.of(first, new IllegalStateException("boom"));
+        });
+
+        ResponseEntity<BatchIdResponse> response = controller(producer, validator)
+                .createAll(List.of(mock(ProductRequestDto.class), mock(ProductRequestDto.class)));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        BatchIdResponse body = response.getBody();
+        assertNotNull(body);
+        assertEquals(1, body.ids().size());
+        assertEquals(1, body.failed().size());
+        assertEquals("boom", body.failed().values().iterator().next());
+        assertEquals(IN_PROGRESS, ProductCacheService.INSTANCE.get(body.ids().get(0)).state());
+        assertNull(ProductCacheService.INSTANCE.get(body.failed().keySet().iterator().next()));
+    }
+
+    @Test
+    void shouldReturnServerErrorWhenNothingWasEnqueued() {
+        IProductCreateQueueProducer producer = mock(IProductCreateQueueProducer.class);
+        Validator validator = mock(Validator.class);
+        when(validator.validate(any())).thenReturn(Set.of());
+        when(producer.produceAll(anyMap())).thenThrow(new RuntimeException("sqs down"));
+
+        ResponseEntity<BatchIdResponse> response = controller(producer, validator)
+                .createAll(List.of(mock(ProductRequestDto.class)));
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+    }
+}
@@ -12,7 +12,7 @@ import org.springframework.http.HttpEntity;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 
-import static com.example.commons.constants.RequestStatus.IN_PROGRESS;
+import static com.example.demo.biz.products.create.cache.ProductCacheService.State.IN_PROGRESS;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -20,7 +20,7 @@ class ProductCreateRestControllerTests {
 
     @AfterEach
     void cleanup() {
-        ProductCacheService.clear();
+        ProductCacheService.INSTANCE.clear();
     }
 
     @Test
@@ -76,7 +76,7 @@ class ProductCreateRestControllerTests {
         assertSame(product, dtoCaptor.getValue());
 
         // verify cache updated to IN_PROGRESS
-        assertEquals(IN_PROGRESS, ProductCacheService.get(correlationId));
+        assertEquals(IN_PROGRESS, ProductCacheService.INSTANCE.get(correlationId).state());
 
         // verify response DTO
         assertEquals(200, response.getStatusCode().value());
@@ -96,16 +96,22 @@ class ProductCreateRestControllerTests {
         assertNull(((ResponseEntity<?>) emptyResp).getBody());
 
         // IN_PROGRESS -> still empty OK
-        ProductCacheService.add("k2", IN_PROGRESS);
+        ProductCacheService.INSTANCE.add("k2");
         HttpEntity<?> inProgResp = controller.getCreatedId("k2");
         assertTrue(((ResponseEntity<?>) inProgResp).getStatusCode().is2xxSuccessful());
         assertNull(((ResponseEntity<?>) inProgResp).getBody());
 
         // set a concrete id -> 201 with body
-        ProductCacheService.update("k2", "new-id-001");
+        ProductCacheService.INSTANCE.update("k2", "new-id-001");
         HttpEntity<?> created = controller.getCreatedId("k2");
         ResponseEntity<?> createdResp = (ResponseEntity<?>) created;
         assertEquals(201, createdResp.getStatusCode().value());
         assertEquals("new-id-001", createdResp.getBody());
+
+        // a created id is returned once, then removed
+        ResponseEntity<?> afterRead = (ResponseEntity<?>) controller.getCreatedId("k2");
+        assertEquals(200, afterRead.getStatusCode().value());
+        assertNull(afterRead.getBody());
+        assertNull(ProductCacheService.INSTANCE.get("k2"));
     }
 }
@@ -0,0 +1,120 @@
+package com.example.demo.biz.unit.products.create.controllers;
+
+import com.example.demo.biz.products.create.cache.ProductCacheService;
+import com.example.demo.biz.products.create.controllers.ProductCreateStatusRestController;
+import com.example.demo.biz.products.create.status.ProductCreateStatusNotifier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ProductCreateStatusRestControllerTests {
+
+    private static final String CORRELATION = "123e4567-e89b-12d3-a456-426614174000";
+
+    private static void setField(Object target, String fieldName, Object value) {
+        try {
+            Field f = target.getClass().getDeclaredField(fieldName);
+            f.setAccessible(true);
+            f.set(target, value);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static ProductCreateStatusRestController controller(ProductCreateStatusNotifier notifier) {
+        ProductCreateStatusRestController controller = new ProductCreateStatusRestController(notifier);
+        setField(controller, "timeoutSeconds", 30L);
+        return controller;
+    }
+
+    private static ResponseEntity<?> result(DeferredResult<ResponseEntity<?>> deferredResult) {
+        assertTrue(deferredResult.hasResult());
+        return (ResponseEntity<?>) deferredResult.getResult();
+    }
+
+    @AfterEach
+    void cleanup() {
+        ProductCacheService.INSTANCE.clear();
+    }
+
+    @Test
+    void awaitShouldRejectInvalidCorrelationId() {
+        ProductCreateStatusNotifier notifier = mock(ProductCreateStatusNotifier.class);
+
+        var deferredResult = controller(notifier).awaitCreatedId("");
+
+        assertEquals(400, result(deferredResult).getStatusCode().value());
+        verifyNoInteractions(notifier);
+    }
+
+    @Test
+    void awaitShouldAnswerCreatedOnceNotifiedAndDropTheCacheEntry() {
+        ProductCreateStatusNotifier notifier = mock(ProductCreateStatusNotifier.class);
+        CompletableFuture<String> created = new CompletableFuture<>();
+        when(notifier.await(eq(CORRELATION), any(Duration.class))).thenReturn(created);
+        ProductCacheService.INSTANCE.update(CORRELATION, "id-1");
+
+        var deferredResult = controller(notifier).awaitCreatedId(CORRELATION);
+        assertFalse(deferredResult.hasResult());
+        verify(notifier).await(CORRELATION, Duration.ofSeconds(30));
+
+        created.complete("id-1");
+
+        ResponseEntity<?> entity = result(deferredResult);
+        assertEquals(201, entity.getStatusCode().value());
+        assertEquals("id-1", entity.getBody());
+        assertNull(ProductCacheService.INSTANCE.get(CORRELATION));
+    }
+
+    @Test
+    void awaitShouldAnswerOkWithoutBodyOnDeadline() {
+        ProductCreateStatusNotifier notifier = mock(ProductCreateStatusNotifier.class);
+        when(notifier.await(eq(CORRELATION), any(Duration.class)))
+                .thenReturn(CompletableFuture.failedFuture(new TimeoutException("deadline")));
+
+        ResponseEntity<?> entity = result(controller(notifier).awaitCreatedId(CORRELATION));
+
+        assertEquals(200, entity.getStatusCode().value());
+        assertNull(entity.getBody());
+    }
+
+    @Test
+    void awaitShouldAnswerServerErrorOnFailure() {
+        ProductCreateStatusNotifier notifier = mock(ProductCreateStatusNotifier.class);
+        when(notifier.await(eq(CORRELATION), any(Duration.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("boom")));
+
+        assertEquals(500, result(controller(notifier).awaitCreatedId(CORRELATION)).getStatusCode().value());
+    }
+
+    @Test
+    void eventsShouldRejectInvalidCorrelationId() {
+        ProductCreateStatusNotifier notifier = mock(ProductCreateStatusNotifier.class);
+
+        assertEquals(400, controller(notifier).createdIdEvents("").getStatusCode().value());
+        verifyNoInteractions(notifier);
+    }
+
+    @Test
+    void eventsShouldOpenStreamParkedOnNotifier() {
+        ProductCreateStatusNotifier notifier = mock(ProductCreateStatusNotifier.class);
+        when(notifier.await(eq(CORRELATION), any(Duration.class))).thenReturn(new CompletableFuture<>());
+
+        var response = controller(notifier).createdIdEvents(CORRELATION);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertNotNull(response.getBody());
+        verify(notifier).await(CORRELATION, Duration.ofSeconds(30));
+    }
+}
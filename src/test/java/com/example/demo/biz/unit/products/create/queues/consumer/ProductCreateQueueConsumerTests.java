@@ -1,20 +1,29 @@
 package com.example.demo.biz.unit.products.create.queues.consumer;
 
+import com.example.demo.biz.commons.queues.SqsAcknowledgementService;
 import com.example.demo.biz.products.create.cache.ProductCacheService;
 import com.example.demo.biz.products.create.queues.consumer.ProductCreateQueueConsumer;
+import com.example.demo.biz.products.create.status.ProductCreateStatusNotifier;
+import com.example.demo.biz.products.findAll.pages.ProductFindAllPageCache;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import software.amazon.awssdk.services.sqs.SqsClient;
 import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
 
 import java.lang.reflect.Field;
 import java.util.Collections;
+import java.util.Map;
 
+import static com.example.commons.constants.AppConstants.CORRELATION_ID;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class ProductCreateQueueConsumerTests {
@@ -23,13 +32,14 @@ class ProductCreateQueueConsumerTests {
 
     @AfterEach
     void cleanup() {
-        ProductCacheService.clear();
+        ProductCacheService.INSTANCE.clear();
     }
 
     @Test
     void validateConfigurationShouldRejectNullBlankAndInvalidUrl() throws Exception {
         SqsClient sqs = mock(SqsClient.class);
-        ProductCreateQueueConsumer consumer = new ProductCreateQueueConsumer(sqs);
+        ProductCreateQueueConsumer consumer = new ProductCreateQueueConsumer(sqs, mock(SqsAcknowledgementService.class), mock(ProductFindAllPageCache.class),
+                mock(ProductCreateStatusNotifier.class));
 
         // null
         setQueueUrl(consumer, null);
@@ -55,7 +65,10 @@ class ProductCreateQueueConsumerTests {
     @Test
     void consumeShouldReturnSafelyWhenNoMessages() throws Exception {
         SqsClient sqs = mock(SqsClient.class);
-        ProductCreateQueueConsumer consumer = new ProductCreateQueueConsumer(sqs);
+        SqsAcknowledgementService acks = mock(SqsAcknowledgementService.class);
+        ProductFindAllPageCache pageCache = mock(ProductFindAllPageCache.class);
+        ProductCreateStatusNotifier notifier = mock(ProductCreateStatusNotifier.class);
+        ProductCreateQueueConsumer consumer = new ProductCreateQueueConsumer(sqs, acks, pageCache, notifier);
         setQueueUrl(consumer, QUEUE_URL);
 
         ReceiveMessageResponse empty = ReceiveMessageResponse.builder()
@@ -65,29 +78,152 @@ class ProductCreateQueueConsumerTests {
 
         assertDoesNotThrow(consumer::consume);
         // ensure delete is never called when there are no messages
-        verify(sqs, never()).deleteMessage(any(DeleteMessageRequest.class));
+        verify(acks, never()).delete(anyString(), anyString());
+        verify(pageCache, never()).invalidateAll();
+    }
+
+    @Test
+    void consumeShouldInvalidatePageCacheOnceWhenProductsAreCreated() throws Exception {
+        SqsClient sqs = mock(SqsClient.class);
+        SqsAcknowledgementService acks = mock(SqsAcknowledgementService.class);
+        ProductFindAllPageCache pageCache = mock(ProductFindAllPageCache.class);
+        ProductCreateStatusNotifier notifier = mock(ProductCreateStatusNotifier.class);
+        ProductCreateQueueConsumer consumer = new ProductCreateQueueConsumer(sqs, acks, pageCache, notifier);
+        setQueueUrl(consumer, QUEUE_URL);
+
+        ReceiveMessageResponse response = ReceiveMessageResponse.builder()
+                .messages(message("m-1", "c-1", "id-1", "rh-1"), message("m-2", "c-2", "id-2", "rh-2"), message("m-3", "c-3", " ", "rh-3"))
+                .build();
+        when(sqs.receiveMessage(any(ReceiveMessageRequest.class))).thenReturn(response);
+
+        consumer.consume();
+
+        assertEquals("id-1", ProductCacheService.INSTANCE.get("c-1").productId());
+        assertEquals("id-2", ProductCacheService.INSTANCE.get("c-2").productId());
+        verify(acks).delete(QUEUE_URL, "rh-1");
+        verify(acks).delete(QUEUE_URL, "rh-2");
+        verify(acks, never()).delete(QUEUE_URL, "rh-3");
+        verify(pageCache, times(1)).invalidateAll();
+        verify(notifier).notifyCreated("c-1", "id-1");
+        verify(notifier).notifyCreated("c-2", "id-2");
+        verify(notifier, never()).notifyCreated(eq("c-3"), anyString());
     }
 
     @Test
-    void deleteShouldInvokeSqsDeleteMessage() throws Exception {
+    void consumeShouldNotInvalidatePageCacheWhenNoProductIsCreated() throws Exception {
+        SqsClient sqs = mock(SqsClient.class);
+        SqsAcknowledgementService acks = mock(SqsAcknowledgementService.class);
+        ProductFindAllPageCache pageCache = mock(ProductFindAllPageCache.class);
+        ProductCreateStatusNotifier notifier = mock(ProductCreateStatusNotifier.class);
+        ProductCreateQueueConsumer consumer = new ProductCreateQueueConsumer(sqs, acks, pageCache, notifier);
+        setQueueUrl(consumer, QUEUE_URL);
 
+        ReceiveMessageResponse response = ReceiveMessageResponse.builder()
+                .messages(message("m-1", "c-1", "", "rh-1"))
+                .build();
+        when(sqs.receiveMessage(any(ReceiveMessageRequest.class))).thenReturn(response);
+
+        consumer.consume();
+
+        verify(pageCache, never()).invalidateAll();
+    }
+
+    @Test
+    void consumeShouldSkipABadMessageAndStillInvalidatePageCache() throws Exception {
         SqsClient sqs = mock(SqsClient.class);
-        ProductCreateQueueConsumer consumer = new ProductCreateQueueConsumer(sqs);
+        SqsAcknowledgementService acks = mock(SqsAcknowledgementService.class);
+        ProductFindAllPageCache pageCache = mock(ProductFindAllPageCache.class);
+        ProductCreateStatusNotifier notifier = mock(ProductCreateStatusNotifier.class);
+        ProductCreateQueueConsumer consumer = new ProductCreateQueueConsumer(sqs, acks, pageCache, notifier);
+        setQueueUrl(consumer, QUEUE_URL);
+
+        Message noAttribute = Message.builder().messageId("m-0").body("id-0").receiptHandle("rh-0").build();
+        ReceiveMessageResponse response = ReceiveMessageResponse.builder()
+                .messages(message("m-1", "c-1", "id-1", "rh-1"), noAttribute, message("m-2", "c-2", "id-2", "rh-2"))
+                .build();
+        when(sqs.receiveMessage(any(ReceiveMessageRequest.class))).thenReturn(response);
+        doThrow(new RuntimeException("boom")).when(notifier).notifyCreated("c-2", "id-2");
+
+        assertDoesNotThrow(consumer::consume);
+
+        verify(acks).delete(QUEUE_URL, "rh-1");
+        verify(acks, never()).delete(QUEUE_URL, "rh-0");
+        verify(acks, never()).delete(QUEUE_URL, "rh-2");
+        verify(pageCache, times(1)).invalidateAll();
+    }
+
+    @Test
+    void deleteShouldQueueOnAcknowledgerInsteadOfCallingSqs() throws Exception {
+
+        SqsClient sqs = mock(SqsClient.class);
+        SqsAcknowledgementService acks = mock(SqsAcknowledgementService.class);
+        ProductFindAllPageCache pageCache = mock(ProductFindAllPageCache.class);
+        ProductCreateStatusNotifier notifier = mock(ProductCreateStatusNotifier.class);
+        ProductCreateQueueConsumer consumer = new ProductCreateQueueConsumer(sqs, acks, pageCache, notifier);
         setQueueUrl(consumer, QUEUE_URL);
 
         String rh = "rh-001";
         consumer.delete(rh);
 
-        ArgumentCaptor<DeleteMessageRequest> captor = ArgumentCaptor.forClass(DeleteMessageRequest.class);
-        verify(sqs, times(1)).deleteMessage(captor.capture());
-        DeleteMessageRequest req = captor.getValue();
+        verify(acks, times(1)).delete(QUEUE_URL, rh);
+        verify(sqs, never()).deleteMessage(any(DeleteMessageRequest.class));
+    }
 
-        assertEquals(QUEUE_URL, req.queueUrl());
-        assertEquals(rh, req.receiptHandle());
+    @Test
+    void startShouldLongPollContinuouslyUntilStopped() throws Exception {
+        SqsClient sqs = mock(SqsClient.class);
+        SqsAcknowledgementService acks = mock(SqsAcknowledgementService.class);
+        ProductFindAllPageCache pageCache = mock(ProductFindAllPageCache.class);
+        ProductCreateStatusNotifier notifier = mock(ProductCreateStatusNotifier.class);
+        ProductCreateQueueConsumer consumer = new ProductCreateQueueConsumer(sqs, acks, pageCache, notifier);
+        setQueueUrl(consumer, QUEUE_URL);
+        setField(consumer, "pollers", 1);
+        setField(consumer, "waitTimeSeconds", 1);
+
+        ReceiveMessageResponse batch = ReceiveMessageResponse.builder()
+                .messages(message("m-1", "c-1", "id-1", "rh-1"))
+                .build();
+        when(sqs.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenReturn(batch)
+                .thenAnswer(invocation -> {
+                    Thread.sleep(10);
+                    return ReceiveMessageResponse.builder().messages(Collections.emptyList()).build();
+                });
+
+        consumer.start();
+        try {
+            verify(notifier, timeout(2_000)).notifyCreated("c-1", "id-1");
+            verify(sqs, timeout(2_000).atLeast(2)).receiveMessage(any(ReceiveMessageRequest.class));
+        } finally {
+            consumer.stop();
+        }
+
+        ArgumentCaptor<ReceiveMessageRequest> captor = ArgumentCaptor.forClass(ReceiveMessageRequest.class);
+        verify(sqs, atLeastOnce()).receiveMessage(captor.capture());
+        assertEquals(10, captor.getValue().maxNumberOfMessages());
+        assertEquals(1, captor.getValue().waitTimeSeconds());
+        verify(acks).delete(QUEUE_URL, "rh-1");
+
+        int receives = mockingDetails(sqs).getInvocations().size();
+        Thread.sleep(50);
+        assertEquals(receives, mockingDetails(sqs).getInvocations().size());
+    }
+
+    private static Message message(String messageId, String correlationId, String body, String receiptHandle) {
+        return Message.builder()
+                .messageId(messageId)
+                .body(body)
+                .receiptHandle(receiptHandle)
+                .messageAttributes(Map.of(CORRELATION_ID, MessageAttributeValue.builder().dataType("String").stringValue(correlationId).build()))
+                .build();
     }
 
     private static void setQueueUrl(ProductCreateQueueConsumer consumer, String value) throws Exception {
-        Field f = ProductCreateQueueConsumer.class.getDeclaredField("queueUrl");
+        setField(consumer, "queueUrl", value);
+    }
+
+    private static void setField(ProductCreateQueueConsumer consumer, String fieldName, Object value) throws Exception {
+        Field f = ProductCreateQueueConsumer.class.getDeclaredField(fieldName);
         f.setAccessible(true);
         f.set(consumer, value);
     }
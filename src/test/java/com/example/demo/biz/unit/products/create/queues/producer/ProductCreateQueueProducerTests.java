@@ -7,11 +7,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import software.amazon.awssdk.services.sqs.SqsClient;
-import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
-import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+import software.amazon.awssdk.services.sqs.model.*;
 
 import java.lang.reflect.Field;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -81,4 +84,40 @@ class ProductCreateQueueProducerTests {
 
         verify(sqs, times(1)).sendMessage(any(SendMessageRequest.class));
     }
+
+    @Test
+    void produceAllShouldSendInBatchesOfTenAndReportFailedEntries() throws JsonProcessingException {
+        ObjectMapper mapper = mock(ObjectMapper.class);
+        when(mapper.writeValueAsString(any())).thenReturn("{}");
+
+        SqsClient sqs = mock(SqsClient.class);
+        when(sqs.sendMessageBatch(any(SendMessageBatchRequest.class))).thenAnswer(invocation -> {
+            SendMessageBatchRequest batch = invocation.getArgument(0);
+            return SendMessageBatchResponse.builder()
+                    .successful(batch.entries().stream()
+                            .filter(e -> !"3".equals(e.id()))
+                            .map(e -> SendMessageBatchResultEntry.builder().id(e.id()).messageId("mid-" + e.id()).build())
+                            .toList())
+                    .failed(batch.entries().stream()
+                            .filter(e -> "3".equals(e.id()))
+                            .map(e -> BatchResultErrorEntry.builder().id(e.id()).code("InternalError").senderFault(false).build())
+                            .toList())
+                    .build();
+        });
+
+        ProductCreateQueueProducer producer = new ProductCreateQueueProducer(mapper, sqs);
+        setField(producer, "queueUrl", "http://localhost/queue");
+
+        Map<String, ProductRequestDto> products = new LinkedHashMap<>();
+        for (int i = 0; i < 25; i++) {
+            products.put("id-" + i, Mockito.mock(ProductRequestDto.class));
+        }
+
+        Map<String, Exception> failures = producer.produceAll(products);
+
+        verify(sqs, times(3)).sendMessageBatch(any(SendMessageBatchRequest.class));
+        verify(sqs, never()).sendMessage(any(SendMessageRequest.class));
+        // entry "3" of each of the three batches
+        assertEquals(List.of("id-3", "id-13", "id-23"), List.copyOf(failures.keySet()));
+    }
 }
@@ -0,0 +1,91 @@
+package com.example.demo.biz.unit.products.create.status;
+
+import com.example.demo.biz.products.create.cache.ProductCacheService;
+import com.example.demo.biz.products.create.status.ProductCreateStatusNotifier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductCreateStatusNotifierTests {
+
+    private static final String CORRELATION = "123e4567-e89b-12d3-a456-426614174000";
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final ProductCreateStatusNotifier notifier = new ProductCreateStatusNotifier();
+
+    @AfterEach
+    void cleanup() {
+        ProductCacheService.INSTANCE.clear();
+    }
+
+    @Test
+    void notifyCreatedShouldCompleteEveryWaiter() throws Exception {
+        ProductCacheService.INSTANCE.add(CORRELATION);
+        var first = notifier.await(CORRELATION, TIMEOUT);
+        var second = notifier.await(CORRELATION, TIMEOUT);
+        assertFalse(first.isDone());
+        assertEquals(1, notifier.size());
+
+        ProductCacheService.INSTANCE.update(CORRELATION, "id-1");
+        assertTrue(notifier.notifyCreated(CORRELATION, "id-1"));
+
+        assertEquals("id-1", first.get(1, TimeUnit.SECONDS));
+        assertEquals("id-1", second.get(1, TimeUnit.SECONDS));
+        assertEquals(0, notifier.size());
+    }
+
+    @Test
+    void awaitShouldCompleteFromCacheWhenAlreadyCreated() throws Exception {
+        ProductCacheService.INSTANCE.update(CORRELATION, "id-1");
+
+        var waiter = notifier.await(CORRELATION, TIMEOUT);
+
+        assertEquals("id-1", waiter.get(1, TimeUnit.SECONDS));
+        assertEquals(0, notifier.size());
+    }
+
+    @Test
+    void notifyCreatedWithoutWaitersShouldReturnFalse() {
+        assertFalse(notifier.notifyCreated(CORRELATION, "id-1"));
+    }
+
+    @Test
+    void awaitShouldTimeOutAndUnregister() {
+        var waiter = notifier.await(CORRELATION, Duration.ofMillis(200));
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> waiter.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, ex.getCause());
+        assertEquals(0, notifier.size());
+    }
+
+    @Test
+    void cancelledWaiterShouldNotAffectOthers() throws Exception {
+        var cancelled = notifier.await(CORRELATION, TIMEOUT);
+        var waiting = notifier.await(CORRELATION, TIMEOUT);
+
+        cancelled.cancel(false);
+        assertEquals(1, notifier.size());
+
+        assertTrue(notifier.notifyCreated(CORRELATION, "id-1"));
+        assertEquals("id-1", waiting.get(1, TimeUnit.SECONDS));
+
+        waiting.cancel(false);
+        assertEquals(0, notifier.size());
+    }
+
+    @Test
+    void lastCancelledWaiterShouldUnregister() {
+        var waiter = notifier.await(CORRELATION, TIMEOUT);
+
+        waiter.cancel(false);
+
+        assertEquals(0, notifier.size());
+        assertFalse(notifier.notifyCreated(CORRELATION, "id-1"));
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.demo.biz.unit.products.findAll.controllers;
+
+import com.example.commons.dto.create.ProductResponseDto;
+import com.example.commons.dto.find.ProductFindAllRequestDto;
+import com.example.demo.biz.commons.cache.IdempotentRequestCache;
+import com.example.demo.biz.products.findAll.controllers.v3.ProductFindAllFutureRestController;
+import com.example.demo.biz.products.findAll.queues.consumer.reply.IProductFindAllReplyDispatcher;
+import com.example.demo.biz.products.findAll.queues.consumer.v3.service.IProductFindAllV3QueueConsumer;
+import com.example.demo.biz.products.findAll.queues.producer.IProductFindAllQueueProducer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ProductFindAllFutureRestControllerTests {
+
+    private static final String CORRELATION = "123e4567-e89b-12d3-a456-426614174003";
+
+    @AfterEach
+    void tearDown() {
+        IdempotentRequestCache.INSTANCE.remove(CORRELATION);
+    }
+
+    @Test
+    void findAllShouldReleaseItsClaimOnSuccessSoARetryIsProcessed() {
+        IProductFindAllQueueProducer producer = mock(IProductFindAllQueueProducer.class);
+        IProductFindAllV3QueueConsumer consumer = mock(IProductFindAllV3QueueConsumer.class);
+        IProductFindAllReplyDispatcher dispatcher = mock(IProductFindAllReplyDispatcher.class);
+        ProductFindAllFutureRestController controller = new ProductFindAllFutureRestController(producer, consumer, dispatcher);
+
+        when(consumer.consume(CORRELATION)).thenReturn(List.of(mock(ProductResponseDto.class)));
+
+        ResponseEntity<?> first = (ResponseEntity<?>) controller.findAll(CORRELATION, null, null);
+        ResponseEntity<?> retry = (ResponseEntity<?>) controller.findAll(CORRELATION, null, null);
+
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals(HttpStatus.OK, retry.getStatusCode());
+        verify(producer, times(2)).produce(eq(CORRELATION), any(ProductFindAllRequestDto.class));
+        verify(dispatcher, times(2)).cancel(CORRELATION);
+        assertNull(IdempotentRequestCache.INSTANCE.get(CORRELATION));
+    }
+
+    @Test
+    void findAllShouldReleaseTheClaimWhenProduceFails() {
+        IProductFindAllQueueProducer producer = mock(IProductFindAllQueueProducer.class);
+        IProductFindAllV3QueueConsumer consumer = mock(IProductFindAllV3QueueConsumer.class);
+        IProductFindAllReplyDispatcher dispatcher = mock(IProductFindAllReplyDispatcher.class);
+        ProductFindAllFutureRestController controller = new ProductFindAllFutureRestController(producer, consumer, dispatcher);
+
+        doThrow(new RuntimeException("boom")).when(producer).produce(eq(CORRELATION), any(ProductFindAllRequestDto.class));
+
+        ResponseEntity<?> response = (ResponseEntity<?>) controller.findAll(CORRELATION, null, null);
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        verify(dispatcher).cancel(CORRELATION);
+        verify(consumer, never()).consume(any());
+        assertNull(IdempotentRequestCache.INSTANCE.get(CORRELATION));
+    }
+}
@@ -1,9 +1,11 @@
 package com.example.demo.biz.unit.products.findAll.controllers;
 
+import com.example.commons.dto.create.ProductResponseDto;
 import com.example.commons.dto.find.ProductFindAllRequestDto;
 import com.example.demo.biz.commons.dto.IdResponse;
 import com.example.demo.biz.products.findAll.cache.ProductFindAllCacheService;
 import com.example.demo.biz.products.findAll.controllers.v1.ProductFindAllRestController;
+import com.example.demo.biz.products.findAll.queues.consumer.reply.IProductFindAllReplyDispatcher;
 import com.example.demo.biz.products.findAll.queues.producer.IProductFindAllQueueProducer;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -11,12 +13,17 @@ import org.mockito.ArgumentCaptor;
 import org.springframework.http.ResponseEntity;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class ProductFindAllRestControllerTests {
 
+    private final IProductFindAllReplyDispatcher dispatcher = mock(IProductFindAllReplyDispatcher.class);
+
     @AfterEach
     void cleanup() {
         ProductFindAllCacheService.clear();
@@ -24,8 +31,8 @@ class ProductFindAllRestControllerTests {
 
     @Test
     void shouldThrowOnInvalidCorrelationId() {
-        IProductFindAllQueueProducer producer = mock(IProductFindAllQueueProducer.class);
-        ProductFindAllRestController controller = new ProductFindAllRestController(producer);
+        IProductFindAllQueueProducer producer = mock(IProductFindAllQueueProducer.class, CALLS_REAL_METHODS);
+        ProductFindAllRestController controller = new ProductFindAllRestController(producer, dispatcher);
 
         assertThrows(IllegalArgumentException.class, () -> controller.findAll(null, null, null));
         assertThrows(IllegalArgumentException.class, () -> controller.findAll("", null, null));
@@ -34,10 +41,11 @@ class ProductFindAllRestControllerTests {
 
     @Test
     void shouldProduceOnFirstRequestAndReturnIdResponse() {
-        IProductFindAllQueueProducer producer = mock(IProductFindAllQueueProducer.class);
-        ProductFindAllRestController controller = new ProductFindAllRestController(producer);
+        IProductFindAllQueueProducer producer = mock(IProductFindAllQueueProducer.class, CALLS_REAL_METHODS);
+        ProductFindAllRestController controller = new ProductFindAllRestController(producer, dispatcher);
 
         String correlationId = "123e4567-e89b-12d3-a456-426614174000";
+        when(dispatcher.register(correlationId)).thenReturn(new CompletableFuture<>());
 
         ResponseEntity<?> entity = controller.findAll(correlationId, null, null);
 
@@ -61,8 +69,8 @@ class ProductFindAllRestControllerTests {
 
     @Test
     void shouldReturnListFromCacheWhenPresent() {
-        IProductFindAllQueueProducer producer = mock(IProductFindAllQueueProducer.class);
-        ProductFindAllRestController controller = new ProductFindAllRestController(producer);
+        IProductFindAllQueueProducer producer = mock(IProductFindAllQueueProducer.class, CALLS_REAL_METHODS);
+        ProductFindAllRestController controller = new ProductFindAllRestController(producer, dispatcher);
 
         String id = "123e4567-e89b-12d3-a456-426614174111";
         // Seed cache with an empty list marker; verify cached path returns list and producer is not called
@@ -74,4 +82,37 @@ class ProductFindAllRestControllerTests {
         assertTrue(((List<?>) entity.getBody()).isEmpty());
         verifyNoInteractions(producer);
     }
+
+    @Test
+    void replyShouldBeCachedForTheNextRequest() {
+        IProductFindAllQueueProducer producer = mock(IProductFindAllQueueProducer.class, CALLS_REAL_METHODS);
+        ProductFindAllRestController controller = new ProductFindAllRestController(producer, dispatcher);
+
+        String id = "123e4567-e89b-12d3-a456-426614174222";
+        CompletableFuture<List<ProductResponseDto>> reply = new CompletableFuture<>();
+        when(dispatcher.register(id)).thenReturn(reply);
+        controller.findAll(id, null, null);
+
+        ProductResponseDto p1 = mock(ProductResponseDto.class);
+        reply.complete(List.of(p1));
+
+        ResponseEntity<?> entity = controller.findAll(id, null, null);
+        assertEquals(List.of(p1), entity.getBody());
+        verify(producer, times(1)).produce(eq(id), any(ProductFindAllRequestDto.class));
+    }
+
+    @Test
+    void produceFailureShouldCancelRegistrationAndNotSeedCache() {
+        IProductFindAllQueueProducer producer = mock(IProductFindAllQueueProducer.class, CALLS_REAL_METHODS);
+        ProductFindAllRestController controller = new ProductFindAllRestController(producer, dispatcher);
+
+        String id = "123e4567-e89b-12d3-a456-426614174333";
+        when(dispatcher.register(id)).thenReturn(new CompletableFuture<>());
+        doThrow(new RuntimeException("boom")).when(producer).produce(eq(id), any(ProductFindAllRequestDto.class));
+
+        controller.findAll(id, null, null);
+
+        verify(dispatcher).cancel(id);
+        assertFalse(ProductFindAllCacheService.containsKey(id));
+    }
 }
@@ -6,6 +6,7 @@ import com.example.demo.biz.products.findAll.controllers.v2.ProductFindAllSyncRe
 import com.example.demo.biz.products.findAll.queues.consumer.v2.IProductFindAllSyncQueueConsumer;
 import com.example.demo.biz.products.findAll.queues.producer.IProductFindAllQueueProducer;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -68,4 +69,22 @@ class ProductFindAllSyncRestControllerTests {
         assertNotNull(result);
         assertTrue(result.isEmpty());
     }
+
+    @Test
+    void shouldRegisterBeforeProducingAndCancelWhenProduceFails() {
+        IProductFindAllSyncQueueConsumer consumer = mock(IProductFindAllSyncQueueConsumer.class);
+        IProductFindAllQueueProducer producer = mock(IProductFindAllQueueProducer.class);
+        ProductFindAllSyncRestController controller = new ProductFindAllSyncRestController(consumer, producer);
+
+        String correlationId = "id-produce-error";
+        when(consumer.consume(correlationId)).thenReturn(new CompletableFuture<>());
+        doThrow(new RuntimeException("boom")).when(producer).produce(eq(correlationId), any(ProductFindAllRequestDto.class));
+
+        assertThrows(RuntimeException.class, () -> controller.findAll(correlationId, null, null));
+
+        InOrder inOrder = inOrder(consumer, producer);
+        inOrder.verify(consumer).consume(correlationId);
+        inOrder.verify(producer).produce(eq(correlationId), any(ProductFindAllRequestDto.class));
+        inOrder.verify(consumer).cancel(correlationId);
+    }
 }
@@ -0,0 +1,165 @@
+package com.example.demo.biz.unit.products.findAll.pages;
+
+import com.example.commons.dto.create.ProductResponseDto;
+import com.example.demo.biz.products.findAll.pages.PageKey;
+import com.example.demo.biz.products.findAll.pages.ProductFindAllPageCache;
+import com.example.demo.biz.products.findAll.pages.ProductFindAllPageCoalescer;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ProductFindAllPageCacheTests {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration TTL = Duration.ofSeconds(30);
+    private static final Duration REFRESH = Duration.ofSeconds(10);
+
+    private static final PageKey PAGE = PageKey.of(5, 0);
+
+    private final ProductFindAllPageCoalescer coalescer = mock(ProductFindAllPageCoalescer.class);
+    private final AtomicLong nanos = new AtomicLong();
+
+    private ProductFindAllPageCache cache(boolean enabled) {
+        return new ProductFindAllPageCache(coalescer, enabled, 100, TTL, REFRESH, TIMEOUT, nanos::get);
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    void missShouldFetchUnderCallersCorrelationIdAndHitShouldNotFetch() throws Exception {
+        ProductResponseDto p1 = mock(ProductResponseDto.class);
+        when(coalescer.fetch(eq("c-1"), eq(PAGE), any(Duration.class))).thenReturn(CompletableFuture.completedFuture(List.of(p1)));
+        ProductFindAllPageCache cache = cache(true);
+
+        assertEquals(List.of(p1), cache.get("c-1", PAGE, TIMEOUT).get());
+        assertEquals(List.of(p1), cache.get("c-2", PAGE, TIMEOUT).get());
+
+        verify(coalescer, times(1)).fetch(eq("c-1"), eq(PAGE), eq(TIMEOUT));
+        verify(coalescer, never()).fetch(eq("c-2"), any(PageKey.class), any(Duration.class));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void concurrentMissesShouldShareOneFetch() throws Exception {
+        CompletableFuture<List<ProductResponseDto>> reply = new CompletableFuture<>();
+        when(coalescer.fetch(eq("c-1"), eq(PAGE), any(Duration.class))).thenReturn(reply);
+        ProductFindAllPageCache cache = cache(true);
+
+        var first = cache.get("c-1", PAGE, TIMEOUT);
+        var second = cache.get("c-2", PAGE, TIMEOUT);
+        ProductResponseDto p1 = mock(ProductResponseDto.class);
+        reply.complete(List.of(p1));
+
+        assertEquals(List.of(p1), first.get());
+        assertEquals(List.of(p1), second.get());
+        verify(coalescer, times(1)).fetch(any(String.class), eq(PAGE), any(Duration.class));
+    }
+
+    @Test
+    void emptyPageShouldNotBeCached() throws Exception {
+        when(coalescer.fetch(any(String.class), eq(PAGE), any(Duration.class))).thenReturn(CompletableFuture.completedFuture(List.of()));
+        ProductFindAllPageCache cache = cache(true);
+
+        assertNull(cache.get("c-1", PAGE, TIMEOUT).get());
+        assertNull(cache.get("c-2", PAGE, TIMEOUT).get());
+
+        verify(coalescer, times(2)).fetch(any(String.class), eq(PAGE), any(Duration.class));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void failedFetchShouldNotBeCached() throws Exception {
+        ProductResponseDto p1 = mock(ProductResponseDto.class);
+        when(coalescer.fetch(eq("c-1"), eq(PAGE), any(Duration.class))).thenReturn(CompletableFuture.failedFuture(new TimeoutException("deadline")));
+        when(coalescer.fetch(eq("c-2"), eq(PAGE), any(Duration.class))).thenReturn(CompletableFuture.completedFuture(List.of(p1)));
+        ProductFindAllPageCache cache = cache(true);
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> cache.get("c-1", PAGE, TIMEOUT).get());
+        assertInstanceOf(TimeoutException.class, ex.getCause());
+
+        assertEquals(List.of(p1), cache.get("c-2", PAGE, TIMEOUT).get());
+    }
+
+    @Test
+    void staleEntryShouldBeServedWhileItIsRefreshed() throws Exception {
+        ProductResponseDto p1 = mock(ProductResponseDto.class);
+        ProductResponseDto p2 = mock(ProductResponseDto.class);
+        when(coalescer.fetch(eq("c-1"), eq(PAGE), any(Duration.class))).thenReturn(CompletableFuture.completedFuture(List.of(p1)));
+        CompletableFuture<List<ProductResponseDto>> refreshed = new CompletableFuture<>();
+        when(coalescer.fetch(argThat(id -> !"c-1".equals(id)), eq(PAGE), any(Duration.class))).thenReturn(refreshed);
+        ProductFindAllPageCache cache = cache(true);
+
+        cache.get("c-1", PAGE, TIMEOUT).get();
+        advance(REFRESH.plusSeconds(1));
+
+        assertEquals(List.of(p1), cache.get("c-2", PAGE, TIMEOUT).get());
+        verify(coalescer, timeout(1_000)).fetch(argThat(id -> !"c-1".equals(id) && !"c-2".equals(id)), eq(PAGE), eq(TIMEOUT));
+
+        refreshed.complete(List.of(p2));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (!List.of(p2).equals(cache.get("c-3", PAGE, TIMEOUT).get()) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(List.of(p2), cache.get("c-3", PAGE, TIMEOUT).get());
+    }
+
+    @Test
+    void expiredEntryShouldBeFetchedAgain() throws Exception {
+        ProductResponseDto p1 = mock(ProductResponseDto.class);
+        when(coalescer.fetch(any(String.class), eq(PAGE), any(Duration.class))).thenReturn(CompletableFuture.completedFuture(List.of(p1)));
+        ProductFindAllPageCache cache = cache(true);
+
+        cache.get("c-1", PAGE, TIMEOUT).get();
+        advance(TTL.plusSeconds(1));
+        cache.get("c-2", PAGE, TIMEOUT).get();
+
+        verify(coalescer, times(1)).fetch(eq("c-2"), eq(PAGE), eq(TIMEOUT));
+    }
+
+    @Test
+    void invalidateAllShouldDropEveryPage() throws Exception {
+        ProductResponseDto p1 = mock(ProductResponseDto.class);
+        when(coalescer.fetch(any(String.class), any(PageKey.class), any(Duration.class))).thenReturn(CompletableFuture.completedFuture(List.of(p1)));
+        ProductFindAllPageCache cache = cache(true);
+        cache.get("c-1", PAGE, TIMEOUT).get();
+        cache.get("c-2", PageKey.of(5, 5), TIMEOUT).get();
+
+        cache.invalidateAll();
+        cache.get("c-3", PAGE, TIMEOUT).get();
+
+        verify(coalescer, times(1)).fetch(eq("c-3"), eq(PAGE), eq(TIMEOUT));
+    }
+
+    @Test
+    void disabledCacheShouldAlwaysFetch() throws Exception {
+        ProductResponseDto p1 = mock(ProductResponseDto.class);
+        when(coalescer.fetch(any(String.class), eq(PAGE), any(Duration.class))).thenReturn(CompletableFuture.completedFuture(List.of(p1)));
+        ProductFindAllPageCache cache = cache(false);
+
+        cache.get("c-1", PAGE, TIMEOUT).get();
+        cache.get("c-2", PAGE, TIMEOUT).get();
+
+        verify(coalescer, times(2)).fetch(any(String.class), eq(PAGE), any(Duration.class));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void refreshShouldBeLowerThanTtl() {
+        assertThrows(IllegalStateException.class,
+                () -> new ProductFindAllPageCache(coalescer, true, 100, TTL, TTL, TIMEOUT, nanos::get));
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.demo.biz.unit.products.findAll.pages;
+
+import com.example.commons.dto.create.ProductResponseDto;
+import com.example.commons.dto.find.ProductFindAllRequestDto;
+import com.example.demo.biz.products.findAll.pages.PageKey;
+import com.example.demo.biz.products.findAll.pages.ProductFindAllPageCoalescer;
+import com.example.demo.biz.products.findAll.queues.consumer.reply.IProductFindAllReplyDispatcher;
+import com.example.demo.biz.products.findAll.queues.producer.IProductFindAllQueueProducer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ProductFindAllPageCoalescerTests {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final IProductFindAllQueueProducer producer = mock(IProductFindAllQueueProducer.class, CALLS_REAL_METHODS);
+    private final IProductFindAllReplyDispatcher dispatcher = mock(IProductFindAllReplyDispatcher.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private double requests(String role) {
+        return registry.get("find_all_page_requests").tag("role", role).counter().count();
+    }
+
+    @Test
+    void identicalPagesShouldShareOneRoundTrip() throws Exception {
+        ProductFindAllPageCoalescer coalescer = new ProductFindAllPageCoalescer(producer, dispatcher, registry, true);
+        CompletableFuture<List<ProductResponseDto>> reply = new CompletableFuture<>();
+        when(dispatcher.register(eq("c-1"), any(Duration.class))).thenReturn(reply);
+
+        var leader = coalescer.fetch("c-1", PageKey.of(null, null), TIMEOUT);
+        var follower = coalescer.fetch("c-2", PageKey.of(10, 0), TIMEOUT);
+
+        verify(producer, times(1)).produce(anyString(), any(ProductFindAllRequestDto.class));
+        verify(dispatcher, never()).register(eq("c-2"), any(Duration.class));
+        assertEquals(1, coalescer.inFlight());
+
+        ProductResponseDto p1 = mock(ProductResponseDto.class);
+        reply.complete(List.of(p1));
+
+        assertEquals(List.of(p1), leader.get());
+        assertEquals(List.of(p1), follower.get());
+        assertEquals(0, coalescer.inFlight());
+        assertEquals(1.0, requests("leader"));
+        assertEquals(1.0, requests("follower"));
+    }
+
+    @Test
+    void followerShouldGetThePageWhenTheLeaderGivesUp() throws Exception {
+        ProductFindAllPageCoalescer coalescer = new ProductFindAllPageCoalescer(producer, dispatcher, registry, true);
+        CompletableFuture<List<ProductResponseDto>> reply = new CompletableFuture<>();
+        when(dispatcher.register(eq("c-1"), any(Duration.class))).thenReturn(reply);
+
+        var leader = coalescer.fetch("c-1", PageKey.of(10, 0), TIMEOUT);
+        var follower = coalescer.fetch("c-2", PageKey.of(10, 0), TIMEOUT);
+        leader.cancel(true);
+
+        ProductResponseDto p1 = mock(ProductResponseDto.class);
+        reply.complete(List.of(p1));
+
+        assertEquals(List.of(p1), follower.get());
+        verify(dispatcher, never()).cancel(anyString());
+    }
+
+    @Test
+    void differentPagesShouldNotBeCoalesced() {
+        ProductFindAllPageCoalescer coalescer = new ProductFindAllPageCoalescer(producer, dispatcher, registry, true);
+        when(dispatcher.register(anyString(), any(Duration.class))).thenAnswer(invocation -> new CompletableFuture<>());
+
+        coalescer.fetch("c-1", PageKey.of(10, 0), TIMEOUT);
+        coalescer.fetch("c-2", PageKey.of(10, 10), TIMEOUT);
+
+        verify(producer, times(2)).produce(anyString(), any(ProductFindAllRequestDto.class));
+        assertEquals(2, coalescer.inFlight());
+    }
+
+    @Test
+    void followersShouldFailWithLeaderAndNextCallShouldProduceAgain() {
+        ProductFindAllPageCoalescer coalescer = new ProductFindAllPageCoalescer(producer, dispatcher, registry, true);
+        CompletableFuture<List<ProductResponseDto>> reply = new CompletableFuture<>();
+        when(dispatcher.register(anyString(), any(Duration.class))).thenReturn(reply, new CompletableFuture<>());
+
+        coalescer.fetch("c-1", PageKey.of(10, 0), TIMEOUT);
+        var follower = coalescer.fetch("c-2", PageKey.of(10, 0), TIMEOUT);
+        reply.completeExceptionally(new TimeoutException("deadline"));
+
+        ExecutionException e = assertThrows(ExecutionException.class, follower::get);
+        assertInstanceOf(TimeoutException.class, e.getCause());
+
+        coalescer.fetch("c-3", PageKey.of(10, 0), TIMEOUT);
+        verify(producer, times(2)).produce(anyString(), any(ProductFindAllRequestDto.class));
+    }
+
+    @Test
+    void produceFailureShouldPropagateAndReleaseThePage() {
+        ProductFindAllPageCoalescer coalescer = new ProductFindAllPageCoalescer(producer, dispatcher, registry, true);
+        when(dispatcher.register(anyString(), any(Duration.class))).thenReturn(new CompletableFuture<>());
+        doThrow(new RuntimeException("boom")).when(producer).produce(eq("c-1"), any(ProductFindAllRequestDto.class));
+
+        var leader = coalescer.fetch("c-1", PageKey.of(10, 0), TIMEOUT);
+
+        ExecutionException e = assertThrows(ExecutionException.class, leader::get);
+        assertEquals("boom", e.getCause().getMessage());
+        assertEquals(0, coalescer.inFlight());
+        verify(dispatcher).cancel("c-1");
+    }
+
+    @Test
+    void fetchShouldReturnBeforeTheSendCompletes() throws Exception {
+        ProductFindAllPageCoalescer coalescer = new ProductFindAllPageCoalescer(producer, dispatcher, registry, true);
+        CompletableFuture<List<ProductResponseDto>> reply = new CompletableFuture<>();
+        CompletableFuture<Void> send = new CompletableFuture<>();
+        when(dispatcher.register(eq("c-1"), any(Duration.class))).thenReturn(reply);
+        doReturn(send).when(producer).produceAsync(eq("c-1"), any(ProductFindAllRequestDto.class));
+
+        var leader = coalescer.fetch("c-1", PageKey.of(10, 0), TIMEOUT);
+        ProductResponseDto p1 = mock(ProductResponseDto.class);
+        reply.complete(List.of(p1));
+
+        assertFalse(leader.isDone());
+        send.complete(null);
+        assertEquals(List.of(p1), leader.get());
+    }
+
+    @Test
+    void disabledCoalescingShouldProduceEveryRequest() {
+        ProductFindAllPageCoalescer coalescer = new ProductFindAllPageCoalescer(producer, dispatcher, registry, false);
+        when(dispatcher.register(anyString(), any(Duration.class))).thenAnswer(invocation -> new CompletableFuture<>());
+
+        coalescer.fetch("c-1", PageKey.of(10, 0), TIMEOUT);
+        coalescer.fetch("c-2", PageKey.of(10, 0), TIMEOUT);
+
+        verify(producer, times(2)).produce(anyString(), any(ProductFindAllRequestDto.class));
+        assertEquals(0.0, requests("follower"));
+    }
+}
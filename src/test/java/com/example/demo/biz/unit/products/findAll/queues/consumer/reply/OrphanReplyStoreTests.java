@@ -0,0 +1,51 @@
+package com.example.demo.biz.unit.products.findAll.queues.consumer.reply;
+
+import com.example.commons.dto.create.ProductResponseDto;
+import com.example.demo.biz.products.findAll.queues.consumer.reply.OrphanReplyStore;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class OrphanReplyStoreTests {
+
+    private static final String CORRELATION = "123e4567-e89b-12d3-a456-426614174000";
+
+    @Test
+    void takeShouldReturnParkedPagesInOrderOnce() {
+        OrphanReplyStore store = new OrphanReplyStore(100, Duration.ofSeconds(60));
+        ProductResponseDto p1 = mock(ProductResponseDto.class);
+        ProductResponseDto p2 = mock(ProductResponseDto.class);
+
+        store.park(CORRELATION, List.of(p1));
+        store.park(CORRELATION, List.of(p2));
+
+        assertEquals(List.of(p1, p2), store.take(CORRELATION).orElseThrow());
+        assertTrue(store.take(CORRELATION).isEmpty());
+    }
+
+    @Test
+    void parkShouldExpireAfterTtl() throws Exception {
+        OrphanReplyStore store = new OrphanReplyStore(100, Duration.ofMillis(20));
+
+        store.park(CORRELATION, List.of(mock(ProductResponseDto.class)));
+        Thread.sleep(50);
+
+        assertTrue(store.take(CORRELATION).isEmpty());
+    }
+
+    @Test
+    void parkShouldStayWithinMaxSize() {
+        OrphanReplyStore store = new OrphanReplyStore(10, Duration.ofSeconds(60));
+
+        for (int i = 0; i < 100; i++) {
+            store.park("c-" + i, List.of(mock(ProductResponseDto.class)));
+        }
+        store.cleanUp();
+
+        assertTrue(store.size() <= 10);
+    }
+}
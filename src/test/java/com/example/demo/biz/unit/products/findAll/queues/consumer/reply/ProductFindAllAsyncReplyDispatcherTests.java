@@ -0,0 +1,132 @@
+package com.example.demo.biz.unit.products.findAll.queues.consumer.reply;
+
+import com.example.commons.dto.create.ProductResponseDto;
+import com.example.demo.biz.commons.queues.SqsAcknowledgementService;
+import com.example.demo.biz.products.findAll.queues.consumer.reply.ProductFindAllAsyncReplyDispatcher;
+import com.example.demo.biz.products.findAll.queues.consumer.reply.ReplyCorrelationRegistry;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.*;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.commons.constants.AppConstants.CORRELATION_ID;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ProductFindAllAsyncReplyDispatcherTests {
+
+    private static final String QUEUE_URL = "http://localhost/queue";
+    private static final String CORRELATION = "123e4567-e89b-12d3-a456-426614174000";
+
+    private final SqsClient sqs = mock(SqsClient.class);
+
+    private final SqsAsyncClient sqsAsync = mock(SqsAsyncClient.class);
+
+    private static void setField(Object target, String fieldName, Object value) {
+        try {
+            Field f = target.getClass().getDeclaredField(fieldName);
+            f.setAccessible(true);
+            f.set(target, value);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static Message message(String id, String correlationId) {
+        return message(id, correlationId, "[{}]");
+    }
+
+    private static Message message(String id, String correlationId, String body) {
+        return Message.builder()
+                .messageId(id)
+                .receiptHandle("rh-" + id)
+                .messageAttributes(Map.of(
+                        CORRELATION_ID, MessageAttributeValue.builder().dataType("String").stringValue(correlationId).build()
+                ))
+                .body(body)
+                .build();
+    }
+
+    private ProductFindAllAsyncReplyDispatcher dispatcher(ObjectMapper mapper) {
+        when(sqsAsync.deleteMessageBatch(any(DeleteMessageBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(DeleteMessageBatchResponse.builder().build()));
+        when(sqsAsync.changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(ChangeMessageVisibilityBatchResponse.builder().build()));
+        SqsAcknowledgementService acknowledgementService = new SqsAcknowledgementService(sqs);
+        setField(acknowledgementService, "lingerMs", 50L);
+        ProductFindAllAsyncReplyDispatcher dispatcher = new ProductFindAllAsyncReplyDispatcher(mapper, sqsAsync, new ReplyCorrelationRegistry(),
+                acknowledgementService);
+        setField(dispatcher, "queueUrl", QUEUE_URL);
+        setField(dispatcher, "registrationTimeoutSeconds", 30);
+        setField(dispatcher, "concurrentPolls", 1);
+        setField(dispatcher, "visibilityTimeoutSeconds", 30);
+        setField(dispatcher, "waitTimeSeconds", 1);
+        dispatcher.validateConfiguration();
+        return dispatcher;
+    }
+
+    @Test
+    void dispatchShouldCompleteWaiterThenDeleteAndReleaseOnTheAsyncClient() throws Exception {
+        ObjectMapper mapper = mock(ObjectMapper.class);
+        ProductFindAllAsyncReplyDispatcher dispatcher = dispatcher(mapper);
+
+        ProductResponseDto p1 = mock(ProductResponseDto.class);
+        when(mapper.readValue(eq("[{}]"), any(TypeReference.class))).thenReturn(List.of(p1));
+
+        var waiter = dispatcher.register(CORRELATION);
+        dispatcher.dispatch(List.of(message("m-1", CORRELATION), message("m-2", CORRELATION, "not-json")));
+
+        assertEquals(List.of(p1), waiter.get());
+
+        ArgumentCaptor<DeleteMessageBatchRequest> deleted = ArgumentCaptor.forClass(DeleteMessageBatchRequest.class);
+        verify(sqsAsync, timeout(2_000)).deleteMessageBatch(deleted.capture());
+        assertEquals("rh-m-1", deleted.getValue().entries().getFirst().receiptHandle());
+
+        ArgumentCaptor<ChangeMessageVisibilityBatchRequest> released = ArgumentCaptor.forClass(ChangeMessageVisibilityBatchRequest.class);
+        verify(sqsAsync, timeout(2_000)).changeMessageVisibilityBatch(released.capture());
+        assertEquals("rh-m-2", released.getValue().entries().getFirst().receiptHandle());
+
+        verify(sqs, never()).deleteMessageBatch(any(DeleteMessageBatchRequest.class));
+        verify(sqs, never()).changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class));
+    }
+
+    @Test
+    void stopShouldWaitForTheInFlightReceive() throws Exception {
+        CompletableFuture<ReceiveMessageResponse> receive = new CompletableFuture<>();
+        when(sqsAsync.receiveMessage(any(ReceiveMessageRequest.class))).thenReturn(receive);
+        ProductFindAllAsyncReplyDispatcher dispatcher = dispatcher(mock(ObjectMapper.class));
+        dispatcher.start();
+
+        CompletableFuture<Void> stopped = CompletableFuture.runAsync(dispatcher::stop);
+        Thread.sleep(100);
+        assertFalse(stopped.isDone());
+
+        receive.complete(ReceiveMessageResponse.builder().build());
+        stopped.get(5, TimeUnit.SECONDS);
+        verify(sqsAsync, times(1)).receiveMessage(any(ReceiveMessageRequest.class));
+    }
+
+    @Test
+    void stopShouldGiveUpOnAReceiveThatNeverReturns() throws Exception {
+        when(sqsAsync.receiveMessage(any(ReceiveMessageRequest.class))).thenReturn(new CompletableFuture<>());
+        ProductFindAllAsyncReplyDispatcher dispatcher = dispatcher(mock(ObjectMapper.class));
+        setField(dispatcher, "waitTimeSeconds", 0);
+        dispatcher.start();
+
+        long start = System.nanoTime();
+        dispatcher.stop();
+
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(10));
+    }
+}
@@ -0,0 +1,395 @@
+package com.example.demo.biz.unit.products.findAll.queues.consumer.reply;
+
+import com.example.commons.dto.create.ProductResponseDto;
+import com.example.demo.biz.commons.queues.SqsAcknowledgementService;
+import com.example.demo.biz.products.findAll.queues.consumer.reply.OrphanReplyStore;
+import com.example.demo.biz.products.findAll.queues.consumer.reply.ProductFindAllReplyDispatcher;
+import com.example.demo.biz.products.findAll.queues.consumer.reply.ReplyCorrelationRegistry;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.*;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static com.example.commons.constants.AppConstants.CORRELATION_ID;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ProductFindAllReplyDispatcherTests {
+
+    private static final String QUEUE_URL = "http://localhost/queue";
+    private static final String CORRELATION = "123e4567-e89b-12d3-a456-426614174000";
+
+    private static void setField(Object target, String fieldName, Object value) {
+        try {
+            Field f = target.getClass().getDeclaredField(fieldName);
+            f.setAccessible(true);
+            f.set(target, value);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static Message message(String id, String correlationId, String body) {
+        return Message.builder()
+                .messageId(id)
+                .receiptHandle("rh-" + id)
+                .messageAttributes(Map.of(
+                        CORRELATION_ID, MessageAttributeValue.builder().dataType("String").stringValue(correlationId).build()
+                ))
+                .body(body)
+                .build();
+    }
+
+    private static Message received(Message message, int receiveCount) {
+        return message.toBuilder()
+                .attributes(Map.of(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT, String.valueOf(receiveCount)))
+                .build();
+    }
+
+    private static ProductFindAllReplyDispatcher dispatcher(ObjectMapper mapper, SqsClient sqs) {
+        return dispatcher(mapper, sqs, new ReplyCorrelationRegistry());
+    }
+
+    private static ProductFindAllReplyDispatcher dispatcher(ObjectMapper mapper, SqsClient sqs, ReplyCorrelationRegistry registry) {
+        SqsAcknowledgementService acknowledgementService = new SqsAcknowledgementService(sqs);
+        setField(acknowledgementService, "lingerMs", 50L);
+        ProductFindAllReplyDispatcher dispatcher = new ProductFindAllReplyDispatcher(mapper, sqs, registry, acknowledgementService);
+        setField(dispatcher, "queueUrl", QUEUE_URL);
+        setField(dispatcher, "registrationTimeoutSeconds", 30);
+        setField(dispatcher, "releaseBaseSeconds", 5);
+        setField(dispatcher, "releaseMaxSeconds", 60);
+        setField(dispatcher, "unknownBaseSeconds", 1);
+        setField(dispatcher, "unknownMaxReceives", 3);
+        dispatcher.validateConfiguration();
+        return dispatcher;
+    }
+
+    @Test
+    void validateConfigurationShouldThrowOnBlankOrBadScheme() {
+        ProductFindAllReplyDispatcher dispatcher = new ProductFindAllReplyDispatcher(mock(ObjectMapper.class), mock(SqsClient.class), new ReplyCorrelationRegistry(),
+                mock(SqsAcknowledgementService.class));
+
+        setField(dispatcher, "queueUrl", "   ");
+        assertThrows(IllegalStateException.class, dispatcher::validateConfiguration);
+
+        setField(dispatcher, "queueUrl", "ftp://localhost/queue");
+        assertThrows(IllegalStateException.class, dispatcher::validateConfiguration);
+    }
+
+    @Test
+    void registerShouldReturnSameFutureForSameCorrelationId() {
+        ProductFindAllReplyDispatcher dispatcher = dispatcher(mock(ObjectMapper.class), mock(SqsClient.class));
+
+        CompletableFuture<List<ProductResponseDto>> first = dispatcher.register(CORRELATION);
+        CompletableFuture<List<ProductResponseDto>> second = dispatcher.register(CORRELATION);
+
+        assertSame(first, second);
+    }
+
+    @Test
+    void dispatchShouldCompleteWaiterAndDeleteMatchedReply() throws Exception {
+        ObjectMapper mapper = mock(ObjectMapper.class);
+        SqsClient sqs = mock(SqsClient.class);
+        ProductFindAllReplyDispatcher dispatcher = dispatcher(mapper, sqs);
+
+        ProductResponseDto p1 = mock(ProductResponseDto.class);
+        when(mapper.readValue(any(String.class), any(TypeReference.class))).thenReturn(List.of(p1));
+
+        CompletableFuture<List<ProductResponseDto>> waiter = dispatcher.register(CORRELATION);
+        dispatcher.dispatch(List.of(message("m-1", CORRELATION, "[{}]")));
+
+        assertTrue(waiter.isDone());
+        assertEquals(1, waiter.get().size());
+
+        ArgumentCaptor<DeleteMessageBatchRequest> captor = ArgumentCaptor.forClass(DeleteMessageBatchRequest.class);
+        verify(sqs, timeout(2_000)).deleteMessageBatch(captor.capture());
+        assertEquals(QUEUE_URL, captor.getValue().queueUrl());
+        assertEquals("rh-m-1", captor.getValue().entries().getFirst().receiptHandle());
+        verify(sqs, never()).changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class));
+    }
+
+    @Test
+    void dispatchShouldReleaseUnparseableReplies() {
+        ObjectMapper mapper = mock(ObjectMapper.class);
+        SqsClient sqs = mock(SqsClient.class);
+        ProductFindAllReplyDispatcher dispatcher = dispatcher(mapper, sqs);
+
+        dispatcher.register(CORRELATION);
+        dispatcher.dispatch(List.of(message("m-1", CORRELATION, "not-json")));
+
+        ArgumentCaptor<ChangeMessageVisibilityBatchRequest> captor = ArgumentCaptor.forClass(ChangeMessageVisibilityBatchRequest.class);
+        verify(sqs, timeout(2_000)).changeMessageVisibilityBatch(captor.capture());
+        assertEquals("rh-m-1", captor.getValue().entries().getFirst().receiptHandle());
+        assertEquals(5, captor.getValue().entries().getFirst().visibilityTimeout());
+        verify(sqs, never()).deleteMessageBatch(any(DeleteMessageBatchRequest.class));
+    }
+
+    @Test
+    void dispatchShouldReturnUnparseableForeignRepliesWithUnknownBackoff() {
+        ObjectMapper mapper = mock(ObjectMapper.class);
+        SqsClient sqs = mock(SqsClient.class);
+        ProductFindAllReplyDispatcher dispatcher = dispatcher(mapper, sqs);
+
+        dispatcher.dispatch(List.of(received(message("m-1", CORRELATION, "not-json"), 2)));
+
+        ArgumentCaptor<ChangeMessageVisibilityBatchRequest> captor = ArgumentCaptor.forClass(ChangeMessageVisibilityBatchRequest.class);
+        verify(sqs, timeout(2_000)).changeMessageVisibilityBatch(captor.capture());
+        assertEquals("rh-m-1", captor.getValue().entries().getFirst().receiptHandle());
+        assertEquals(2, captor.getValue().entries().getFirst().visibilityTimeout());
+    }
+
+    @Test
+    void dispatchShouldCompleteWaiterWithAnEmptyReply() throws Exception {
+        ObjectMapper mapper = mock(ObjectMapper.class);
+        SqsClient sqs = mock(SqsClient.class);
+        ProductFindAllReplyDispatcher dispatcher = dispatcher(mapper, sqs);
+
+        when(mapper.readValue(any(String.class), any(TypeReference.class))).thenReturn(List.of());
+
+        CompletableFuture<List<ProductResponseDto>> waiter = dispatcher.register(CORRELATION);
+        dispatcher.dispatch(List.of(message("m-1", CORRELATION, "[]")));
+
+        assertTrue(waiter.isDone());
+        assertEquals(List.of(), waiter.get());
+        ArgumentCaptor<DeleteMessageBatchRequest> captor = ArgumentCaptor.forClass(DeleteMessageBatchRequest.class);
+        verify(sqs, timeout(2_000)).deleteMessageBatch(captor.capture());
+        assertEquals("rh-m-1", captor.getValue().entries().getFirst().receiptHandle());
+        verify(sqs, never()).changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class));
+    }
+
+    @Test
+    void dispatchShouldReturnRepliesPastTheOrphanTtlWithUnknownBackoff() throws Exception {
+        ObjectMapper mapper = mock(ObjectMapper.class);
+        SqsClient sqs = mock(SqsClient.class);
+        ProductFindAllReplyDispatcher dispatcher = dispatcher(mapper, sqs,
+                new ReplyCorrelationRegistry(new OrphanReplyStore(100, Duration.ofMillis(50))));
+
+        ProductResponseDto p1 = mock(ProductResponseDto.class);
+        when(mapper.readValue(any(String.class), any(TypeReference.class))).thenReturn(List.of(p1));
+
+        dispatcher.register(CORRELATION);
+        dispatcher.cancel(CORRELATION);
+        Thread.sleep(150);
+        dispatcher.dispatch(List.of(received(message("m-1", CORRELATION, "[{}]"), 2)));
+
+        ArgumentCaptor<ChangeMessageVisibilityBatchRequest> captor = ArgumentCaptor.forClass(ChangeMessageVisibilityBatchRequest.class);
+        verify(sqs, timeout(2_000)).changeMessageVisibilityBatch(captor.capture());
+        assertEquals("rh-m-1", captor.getValue().entries().getFirst().receiptHandle());
+        assertEquals(2, captor.getValue().entries().getFirst().visibilityTimeout());
+        verify(sqs, never()).deleteMessageBatch(any(DeleteMessageBatchRequest.class));
+    }
+
+    @Test
+    void dispatchShouldDeleteUnknownRepliesAfterMaxReceives() throws Exception {
+        ObjectMapper mapper = mock(ObjectMapper.class);
+        SqsClient sqs = mock(SqsClient.class);
+        ProductFindAllReplyDispatcher dispatcher = dispatcher(mapper, sqs);
+
+        dispatcher.dispatch(List.of(received(message("m-1", CORRELATION, "[{}]"), 3)));
+
+        ArgumentCaptor<DeleteMessageBatchRequest> captor = ArgumentCaptor.forClass(DeleteMessageBatchRequest.class);
+        verify(sqs, timeout(2_000)).deleteMessageBatch(captor.capture());
+        assertEquals("rh-m-1", captor.getValue().entries().getFirst().receiptHandle());
+        verify(sqs, never()).changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class));
+        verify(mapper, never()).readValue(any(String.class), any(TypeReference.class));
+
+        assertFalse(dispatcher.register(CORRELATION).isDone());
+    }
+
+    @Test
+    void dispatchShouldCombinePagesOfOneBatchAndParkLaterOnes() throws Exception {
+        ObjectMapper mapper = mock(ObjectMapper.class);
+        SqsClient sqs = mock(SqsClient.class);
+        ProductFindAllReplyDispatcher dispatcher = dispatcher(mapper, sqs);
+
+        ProductResponseDto p1 = mock(ProductResponseDto.class);
+        ProductResponseDto p2 = mock(ProductResponseDto.class);
+        ProductResponseDto p3 = mock(ProductResponseDto.class);
+        when(mapper.readValue(eq("[1]"), any(TypeReference.class))).thenReturn(List.of(p1));
+        when(mapper.readValue(eq("[2]"), any(TypeReference.class))).thenReturn(List.of(p2));
+        when(mapper.readValue(eq("[3]"), any(TypeReference.class))).thenReturn(List.of(p3));
+
+        CompletableFuture<List<ProductResponseDto>> waiter = dispatcher.register(CORRELATION);
+        dispatcher.dispatch(List.of(message("m-1", CORRELATION, "[1]"), message("m-2", CORRELATION, "[2]")));
+
+        assertEquals(List.of(p1, p2), waiter.get());
+
+        // a page received after the waiter completed is not delivered to it
+        dispatcher.dispatch(List.of(message("m-3", CORRELATION, "[3]")));
+        assertEquals(List.of(p1, p2), waiter.get());
+        assertEquals(List.of(p3), dispatcher.register(CORRELATION).get());
+
+        ArgumentCaptor<DeleteMessageBatchRequest> captor = ArgumentCaptor.forClass(DeleteMessageBatchRequest.class);
+        verify(sqs, after(500).atLeastOnce()).deleteMessageBatch(captor.capture());
+        assertEquals(3, captor.getAllValues().stream().mapToInt(request -> request.entries().size()).sum());
+    }
+
+    @Test
+    void dispatchShouldParkRepliesWithoutWaiterForLaterRegistration() throws Exception {
+        ObjectMapper mapper = mock(ObjectMapper.class);
+        SqsClient sqs = mock(SqsClient.class);
+        ProductFindAllReplyDispatcher dispatcher = dispatcher(mapper, sqs);
+
+        ProductResponseDto p1 = mock(ProductResponseDto.class);
+        when(mapper.readValue(any(String.class), any(TypeReference.class))).thenReturn(List.of(p1));
+
+        dispatcher.register(CORRELATION);
+        dispatcher.cancel(CORRELATION);
+        dispatcher.dispatch(List.of(message("m-1", CORRELATION, "[{}]")));
+
+        ArgumentCaptor<DeleteMessageBatchRequest> captor = ArgumentCaptor.forClass(DeleteMessageBatchRequest.class);
+        verify(sqs, timeout(2_000)).deleteMessageBatch(captor.capture());
+        assertEquals("rh-m-1", captor.getValue().entries().getFirst().receiptHandle());
+        verify(sqs, never()).changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class));
+
+        CompletableFuture<List<ProductResponseDto>> waiter = dispatcher.register(CORRELATION);
+        assertTrue(waiter.isDone());
+        assertEquals(List.of(p1), waiter.get());
+    }
+
+    @Test
+    void dispatchShouldReturnRepliesNeverRegisteredHereWithoutParking() throws Exception {
+        ObjectMapper mapper = mock(ObjectMapper.class);
+        SqsClient sqs = mock(SqsClient.class);
+        ProductFindAllReplyDispatcher dispatcher = dispatcher(mapper, sqs);
+
+        ProductResponseDto p1 = mock(ProductResponseDto.class);
+        when(mapper.readValue(any(String.class), any(TypeReference.class))).thenReturn(List.of(p1));
+
+        dispatcher.dispatch(List.of(message("m-1", CORRELATION, "[{}]")));
+
+        ArgumentCaptor<ChangeMessageVisibilityBatchRequest> captor = ArgumentCaptor.forClass(ChangeMessageVisibilityBatchRequest.class);
+        verify(sqs, timeout(2_000)).changeMessageVisibilityBatch(captor.capture());
+        assertEquals("rh-m-1", captor.getValue().entries().getFirst().receiptHandle());
+        assertEquals(1, captor.getValue().entries().getFirst().visibilityTimeout());
+        verify(sqs, never()).deleteMessageBatch(any(DeleteMessageBatchRequest.class));
+        verify(mapper, never()).readValue(any(String.class), any(TypeReference.class));
+
+        assertFalse(dispatcher.register(CORRELATION).isDone());
+    }
+
+    @Test
+    void dispatchShouldDeleteMessagesMissingCorrelationIdOrBody() {
+        SqsClient sqs = mock(SqsClient.class);
+        ProductFindAllReplyDispatcher dispatcher = dispatcher(mock(ObjectMapper.class), sqs);
+
+        dispatcher.dispatch(List.of(message("m-1", "", "[{}]"), message("m-2", CORRELATION, "")));
+
+        ArgumentCaptor<DeleteMessageBatchRequest> captor = ArgumentCaptor.forClass(DeleteMessageBatchRequest.class);
+        verify(sqs, timeout(2_000)).deleteMessageBatch(captor.capture());
+        assertEquals(2, captor.getValue().entries().size());
+    }
+
+    @Test
+    void awaitShouldReturnEmptyListOnTimeoutAndUnregister() {
+        ProductFindAllReplyDispatcher dispatcher = dispatcher(mock(ObjectMapper.class), mock(SqsClient.class));
+
+        List<ProductResponseDto> products = dispatcher.await(CORRELATION, Duration.ofMillis(10));
+
+        assertTrue(products.isEmpty());
+        assertFalse(dispatcher.register(CORRELATION).isDone());
+    }
+
+    @Test
+    void cancelShouldCancelPendingWaiter() {
+        ProductFindAllReplyDispatcher dispatcher = dispatcher(mock(ObjectMapper.class), mock(SqsClient.class));
+
+        CompletableFuture<List<ProductResponseDto>> waiter = dispatcher.register(CORRELATION);
+        dispatcher.cancel(CORRELATION);
+
+        assertTrue(waiter.isCancelled());
+        assertNotSame(waiter, dispatcher.register(CORRELATION));
+    }
+
+    @Test
+    void dispatchShouldPublishStreamPagesAndDelete() throws Exception {
+        ObjectMapper mapper = mock(ObjectMapper.class);
+        SqsClient sqs = mock(SqsClient.class);
+        ProductFindAllReplyDispatcher dispatcher = dispatcher(mapper, sqs);
+
+        ProductResponseDto p1 = mock(ProductResponseDto.class);
+        when(mapper.readValue(any(String.class), any(TypeReference.class))).thenReturn(List.of(p1));
+
+        List<List<ProductResponseDto>> pages = new ArrayList<>();
+        assertTrue(dispatcher.openStream(CORRELATION, Duration.ofSeconds(5), pages::add, () -> {
+        }));
+
+        dispatcher.dispatch(List.of(message("m-1", CORRELATION, "[{}]"), message("m-2", CORRELATION, "[{}]")));
+
+        assertEquals(2, pages.size());
+        ArgumentCaptor<DeleteMessageBatchRequest> captor = ArgumentCaptor.forClass(DeleteMessageBatchRequest.class);
+        verify(sqs, timeout(2_000)).deleteMessageBatch(captor.capture());
+        assertEquals(2, captor.getValue().entries().size());
+    }
+
+    @Test
+    void pollersShouldNotReceiveMoreBatchesThanTheWorkersCanHold() throws Exception {
+        ObjectMapper mapper = mock(ObjectMapper.class);
+        SqsClient sqs = mock(SqsClient.class);
+        ProductFindAllReplyDispatcher dispatcher = dispatcher(mapper, sqs);
+        setField(dispatcher, "minPollers", 1);
+        setField(dispatcher, "maxPollers", 1);
+        setField(dispatcher, "workers", 1);
+        setField(dispatcher, "workQueueCapacity", 1);
+
+        CountDownLatch parsing = new CountDownLatch(1);
+        when(mapper.readValue(any(String.class), any(TypeReference.class))).thenAnswer(invocation -> {
+            parsing.await();
+            return List.of(mock(ProductResponseDto.class));
+        });
+        when(sqs.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenReturn(ReceiveMessageResponse.builder().messages(message("m-1", CORRELATION, "[{}]")).build());
+
+        dispatcher.register(CORRELATION);
+        dispatcher.start();
+        try {
+            // one batch running, one queued, then the poller waits for a permit
+            verify(sqs, timeout(2_000).times(2)).receiveMessage(any(ReceiveMessageRequest.class));
+            Thread.sleep(300);
+            verify(sqs, times(2)).receiveMessage(any(ReceiveMessageRequest.class));
+            verify(sqs, never()).changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class));
+        } finally {
+            parsing.countDown();
+            dispatcher.stop();
+        }
+    }
+
+    @Test
+    void desiredPollersShouldFollowQueueDepthWithinBounds() {
+        ProductFindAllReplyDispatcher dispatcher = dispatcher(mock(ObjectMapper.class), mock(SqsClient.class));
+        setField(dispatcher, "minPollers", 1);
+        setField(dispatcher, "maxPollers", 4);
+
+        assertEquals(1, dispatcher.desiredPollers(0));
+        assertEquals(1, dispatcher.desiredPollers(10));
+        assertEquals(2, dispatcher.desiredPollers(11));
+        assertEquals(4, dispatcher.desiredPollers(35));
+        assertEquals(4, dispatcher.desiredPollers(10_000));
+    }
+
+    @Test
+    void validateConfigurationShouldRaiseMaxPollersToMin() {
+        ProductFindAllReplyDispatcher dispatcher = dispatcher(mock(ObjectMapper.class), mock(SqsClient.class));
+        setField(dispatcher, "minPollers", 3);
+        setField(dispatcher, "maxPollers", 1);
+        setField(dispatcher, "workers", 1);
+        setField(dispatcher, "workQueueCapacity", 1);
+
+        dispatcher.validateConfiguration();
+
+        assertEquals(3, dispatcher.desiredPollers(0));
+        assertEquals(3, dispatcher.desiredPollers(1_000));
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.demo.biz.unit.products.findAll.queues.consumer.reply;
+
+import com.example.commons.dto.create.ProductResponseDto;
+import com.example.demo.biz.products.findAll.queues.consumer.reply.ReplyCorrelationRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ReplyCorrelationRegistryTests {
+
+    private static final String CORRELATION = "123e4567-e89b-12d3-a456-426614174000";
+
+    @Test
+    void completeShouldResolveFutureAndUnregister() throws Exception {
+        ReplyCorrelationRegistry registry = new ReplyCorrelationRegistry();
+        ProductResponseDto p1 = mock(ProductResponseDto.class);
+
+        CompletableFuture<List<ProductResponseDto>> future = registry.register(CORRELATION, Duration.ofSeconds(5));
+        assertTrue(registry.isRegistered(CORRELATION));
+
+        assertTrue(registry.complete(CORRELATION, List.of(p1)));
+        assertEquals(List.of(p1), future.get());
+        assertFalse(registry.isRegistered(CORRELATION));
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    void completeShouldReturnFalseWhenNotRegistered() {
+        ReplyCorrelationRegistry registry = new ReplyCorrelationRegistry();
+
+        assertFalse(registry.complete(CORRELATION, List.of()));
+    }
+
+    @Test
+    void registerShouldReturnSameFutureWhileUncompleted() {
+        ReplyCorrelationRegistry registry = new ReplyCorrelationRegistry();
+
+        var first = registry.register(CORRELATION, Duration.ofSeconds(5));
+        var second = registry.register(CORRELATION, Duration.ofSeconds(1));
+
+        assertSame(first, second);
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void deadlineShouldFailFutureWithTimeoutAndUnregister() {
+        ReplyCorrelationRegistry registry = new ReplyCorrelationRegistry();
+
+        var future = registry.register(CORRELATION, Duration.ofMillis(20));
+
+        ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(TimeoutException.class, e.getCause());
+        assertFalse(registry.isRegistered(CORRELATION));
+    }
+
+    @Test
+    void cancelShouldCancelFutureAndUnregister() {
+        ReplyCorrelationRegistry registry = new ReplyCorrelationRegistry();
+
+        var future = registry.register(CORRELATION, Duration.ofSeconds(5));
+        registry.cancel(CORRELATION);
+
+        assertTrue(future.isCancelled());
+        assertFalse(registry.isRegistered(CORRELATION));
+    }
+
+    @Test
+    void publishShouldForwardPagesUntilStreamClosed() {
+        ReplyCorrelationRegistry registry = new ReplyCorrelationRegistry();
+        List<List<ProductResponseDto>> received = new ArrayList<>();
+
+        assertTrue(registry.openStream(CORRELATION, Duration.ofSeconds(5), received::add, () -> {
+        }));
+        assertFalse(registry.openStream(CORRELATION, Duration.ofSeconds(5), page -> {
+        }, () -> {
+        }));
+
+        assertTrue(registry.publish(CORRELATION, List.of(mock(ProductResponseDto.class))));
+        assertTrue(registry.publish(CORRELATION, List.of()));
+        registry.closeStream(CORRELATION);
+
+        assertFalse(registry.isStreaming(CORRELATION));
+        assertFalse(registry.publish(CORRELATION, List.of()));
+        assertEquals(2, received.size());
+    }
+
+    @Test
+    void streamDeadlineShouldRunCallbackAndClose() throws Exception {
+        ReplyCorrelationRegistry registry = new ReplyCorrelationRegistry();
+        CountDownLatch deadline = new CountDownLatch(1);
+
+        registry.openStream(CORRELATION, Duration.ofMillis(20), page -> {
+        }, deadline::countDown);
+
+        assertTrue(deadline.await(2, TimeUnit.SECONDS));
+        assertFalse(registry.isStreaming(CORRELATION));
+    }
+
+    @Test
+    void parkShouldHandReplyToLaterWaiterOrStream() throws Exception {
+        ReplyCorrelationRegistry registry = new ReplyCorrelationRegistry();
+        ProductResponseDto p1 = mock(ProductResponseDto.class);
+        ProductResponseDto p2 = mock(ProductResponseDto.class);
+
+        registry.park(CORRELATION, List.of(p1));
+        var future = registry.register(CORRELATION, Duration.ofSeconds(5));
+
+        assertEquals(List.of(p1), future.get(1, TimeUnit.SECONDS));
+        assertFalse(registry.isRegistered(CORRELATION));
+
+        List<List<ProductResponseDto>> received = new ArrayList<>();
+        registry.park("stream-1", List.of(p1));
+        registry.park("stream-1", List.of(p2));
+        assertTrue(registry.openStream("stream-1", Duration.ofSeconds(5), received::add, () -> {
+        }));
+
+        assertEquals(List.of(List.of(p1, p2)), received);
+    }
+
+    @Test
+    void isKnownShouldOutliveTheRegistrationOnlyForIdsRegisteredHere() {
+        ReplyCorrelationRegistry registry = new ReplyCorrelationRegistry();
+
+        assertFalse(registry.isKnown(CORRELATION));
+
+        registry.register(CORRELATION, Duration.ofSeconds(5));
+        registry.cancel(CORRELATION);
+
+        assertFalse(registry.isRegistered(CORRELATION));
+        assertTrue(registry.isKnown(CORRELATION));
+        assertFalse(registry.isKnown("foreign-1"));
+    }
+}
@@ -18,7 +18,7 @@ class IProductFindAllSyncQueueConsumerTests {
         IProductFindAllSyncQueueConsumer consumer = mock(IProductFindAllSyncQueueConsumer.class);
         when(consumer.consume("id-1")).thenReturn(CompletableFuture.completedFuture(List.of()));
 
-        assertDoesNotThrow(() -> consumer.delete("rh-1"));
+        assertDoesNotThrow(() -> consumer.cancel("id-1"));
         CompletableFuture<List<ProductResponseDto>> fut = consumer.consume("id-1");
         assertNotNull(fut);
         assertTrue(fut.join().isEmpty());
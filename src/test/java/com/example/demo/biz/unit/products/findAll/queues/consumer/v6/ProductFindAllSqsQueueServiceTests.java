@@ -0,0 +1,94 @@
+package com.example.demo.biz.unit.products.findAll.queues.consumer.v6;
+
+import com.example.commons.dto.create.ProductResponseDto;
+import com.example.demo.biz.products.findAll.queues.consumer.reply.IProductFindAllReplyDispatcher;
+import com.example.demo.biz.products.findAll.queues.consumer.v6.caches.LockCacheService;
+import com.example.demo.biz.products.findAll.queues.consumer.v6.service.ProductFindAllSqsQueueService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ProductFindAllSqsQueueServiceTests {
+
+    private static final String CORRELATION = "123e4567-e89b-12d3-a456-426614174000";
+
+    private final IProductFindAllReplyDispatcher dispatcher = mock(IProductFindAllReplyDispatcher.class);
+
+    private static void setField(Object target, String fieldName, Object value) {
+        try {
+            Field f = target.getClass().getDeclaredField(fieldName);
+            f.setAccessible(true);
+            f.set(target, value);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private ProductFindAllSqsQueueService service() {
+        ProductFindAllSqsQueueService service = new ProductFindAllSqsQueueService(dispatcher);
+        setField(service, "timeoutSeconds", 1);
+        return service;
+    }
+
+    @AfterEach
+    void cleanup() {
+        LockCacheService.INSTANCE.remove(CORRELATION);
+    }
+
+    @Test
+    void awaitShouldReturnProductsDeliveredByTheDispatcher() throws Exception {
+        CompletableFuture<List<ProductResponseDto>> reply = new CompletableFuture<>();
+        when(dispatcher.register(eq(CORRELATION), any(Duration.class))).thenReturn(reply);
+        ProductFindAllSqsQueueService service = service();
+        ProductResponseDto p1 = mock(ProductResponseDto.class);
+
+        service.watch(CORRELATION);
+        CompletableFuture.runAsync(() -> reply.complete(List.of(p1)));
+
+        assertEquals(List.of(p1), service.await(CORRELATION));
+        verify(dispatcher).register(CORRELATION, Duration.ofSeconds(1));
+    }
+
+    @Test
+    void replyBeforeAwaitShouldNotBeLost() throws Exception {
+        ProductResponseDto p1 = mock(ProductResponseDto.class);
+        when(dispatcher.register(eq(CORRELATION), any(Duration.class))).thenReturn(CompletableFuture.completedFuture(List.of(p1)));
+        ProductFindAllSqsQueueService service = service();
+
+        service.watch(CORRELATION);
+
+        assertEquals(List.of(p1), service.await(CORRELATION));
+    }
+
+    @Test
+    void dispatcherTimeoutShouldReturnEmptyList() throws Exception {
+        when(dispatcher.register(eq(CORRELATION), any(Duration.class))).thenReturn(CompletableFuture.failedFuture(new TimeoutException("deadline")));
+        ProductFindAllSqsQueueService service = service();
+
+        service.watch(CORRELATION);
+
+        assertEquals(List.of(), service.await(CORRELATION));
+    }
+
+    @Test
+    void releaseShouldCancelRegistrationAndDropLock() throws Exception {
+        when(dispatcher.register(eq(CORRELATION), any(Duration.class))).thenReturn(new CompletableFuture<>());
+        ProductFindAllSqsQueueService service = service();
+
+        service.watch(CORRELATION);
+        service.release(CORRELATION);
+
+        verify(dispatcher).cancel(CORRELATION);
+        assertFalse(LockCacheService.INSTANCE.complete(CORRELATION, List.of()));
+    }
+}
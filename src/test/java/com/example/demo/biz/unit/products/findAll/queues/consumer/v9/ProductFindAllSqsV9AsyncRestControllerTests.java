@@ -0,0 +1,177 @@
+package com.example.demo.biz.unit.products.findAll.queues.consumer.v9;
+
+import com.example.commons.dto.create.ProductResponseDto;
+import com.example.commons.dto.find.ProductFindAllRequestDto;
+import com.example.demo.biz.commons.cache.IdempotentRequestCache;
+import com.example.demo.biz.products.findAll.pages.ProductFindAllPageCache;
+import com.example.demo.biz.products.findAll.pages.ProductFindAllPageCoalescer;
+import com.example.demo.biz.products.findAll.queues.consumer.reply.IProductFindAllReplyDispatcher;
+import com.example.demo.biz.products.findAll.queues.consumer.v9.controller.ProductFindAllSqsV9AsyncRestController;
+import com.example.demo.biz.products.findAll.queues.producer.IProductFindAllQueueProducer;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ProductFindAllSqsV9AsyncRestControllerTests {
+
+    private static final String CORRELATION = "123e4567-e89b-12d3-a456-426614174000";
+    private static final String OTHER_CORRELATION = "123e4567-e89b-12d3-a456-426614174001";
+
+    private static void setField(Object target, String fieldName, Object value) {
+        try {
+            Field f = target.getClass().getDeclaredField(fieldName);
+            f.setAccessible(true);
+            f.set(target, value);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static ProductFindAllSqsV9AsyncRestController controller(IProductFindAllQueueProducer producer, IProductFindAllReplyDispatcher dispatcher) {
+        ProductFindAllPageCoalescer coalescer = new ProductFindAllPageCoalescer(producer, dispatcher, new SimpleMeterRegistry(), true);
+        ProductFindAllPageCache pageCache = new ProductFindAllPageCache(coalescer, true, 100, Duration.ofSeconds(30), Duration.ofSeconds(10), Duration.ofSeconds(10),
+                Ticker.systemTicker());
+        ProductFindAllSqsV9AsyncRestController controller = new ProductFindAllSqsV9AsyncRestController(pageCache);
+        setField(controller, "timeoutSeconds", 10L);
+        return controller;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ResponseEntity<List<ProductResponseDto>> result(DeferredResult<ResponseEntity<List<ProductResponseDto>>> deferredResult) {
+        assertTrue(deferredResult.hasResult());
+        return (ResponseEntity<List<ProductResponseDto>>) deferredResult.getResult();
+    }
+
+    @AfterEach
+    void cleanup() {
+        IdempotentRequestCache.INSTANCE.remove(CORRELATION);
+        IdempotentRequestCache.INSTANCE.remove(OTHER_CORRELATION);
+    }
+
+    @Test
+    void shouldReturnBadRequestOnInvalidCorrelationId() {
+        IProductFindAllQueueProducer producer = mock(IProductFindAllQueueProducer.class, CALLS_REAL_METHODS);
+        IProductFindAllReplyDispatcher dispatcher = mock(IProductFindAllReplyDispatcher.class);
+
+        var deferredResult = controller(producer, dispatcher).findAllAsync("", null, null);
+
+        assertEquals(400, result(deferredResult).getStatusCode().value());
+        verifyNoInteractions(producer, dispatcher);
+    }
+
+    @Test
+    void duplicateShouldShareOwnersReplyWithoutProducing() {
+        IProductFindAllQueueProducer producer = mock(IProductFindAllQueueProducer.class, CALLS_REAL_METHODS);
+        IProductFindAllReplyDispatcher dispatcher = mock(IProductFindAllReplyDispatcher.class);
+        CompletableFuture<List<ProductResponseDto>> reply = new CompletableFuture<>();
+        when(dispatcher.register(eq(CORRELATION), any(Duration.class))).thenReturn(reply);
+        ProductFindAllSqsV9AsyncRestController controller = controller(producer, dispatcher);
+
+        var owner = controller.findAllAsync(CORRELATION, null, null);
+        var duplicate = controller.findAllAsync(CORRELATION, null, null);
+
+        verify(dispatcher, times(1)).register(eq(CORRELATION), any(Duration.class));
+        verify(producer, times(1)).produce(eq(CORRELATION), any(ProductFindAllRequestDto.class));
+        assertFalse(duplicate.hasResult());
+
+        ProductResponseDto p1 = mock(ProductResponseDto.class);
+        reply.complete(List.of(p1));
+
+        assertEquals(List.of(p1), result(owner).getBody());
+        assertEquals(200, result(duplicate).getStatusCode().value());
+        assertEquals(List.of(p1), result(duplicate).getBody());
+    }
+
+    @Test
+    void duplicateShouldGetNoContentWhenOwnerReleasesWithoutResult() {
+        IProductFindAllQueueProducer producer = mock(IProductFindAllQueueProducer.class, CALLS_REAL_METHODS);
+        IProductFindAllReplyDispatcher dispatcher = mock(IProductFindAllReplyDispatcher.class);
+        IdempotentRequestCache.INSTANCE.tryClaim(CORRELATION);
+
+        var deferredResult = controller(producer, dispatcher).findAllAsync(CORRELATION, null, null);
+        assertFalse(deferredResult.hasResult());
+        IdempotentRequestCache.INSTANCE.remove(CORRELATION);
+
+        assertEquals(204, result(deferredResult).getStatusCode().value());
+        verifyNoInteractions(producer, dispatcher);
+    }
+
+    @Test
+    void shouldRegisterBeforeProducingAndCompleteWithOk() {
+        IProductFindAllQueueProducer producer = mock(IProductFindAllQueueProducer.class, CALLS_REAL_METHODS);
+        IProductFindAllReplyDispatcher dispatcher = mock(IProductFindAllReplyDispatcher.class);
+        CompletableFuture<List<ProductResponseDto>> reply = new CompletableFuture<>();
+        when(dispatcher.register(eq(CORRELATION), any(Duration.class))).thenReturn(reply);
+
+        var deferredResult = controller(producer, dispatcher).findAllAsync(CORRELATION, 5, 0);
+
+        var inOrder = inOrder(dispatcher, producer);
+        inOrder.verify(dispatcher).register(eq(CORRELATION), eq(Duration.ofSeconds(10)));
+        inOrder.verify(producer).produce(eq(CORRELATION), any(ProductFindAllRequestDto.class));
+        assertFalse(deferredResult.hasResult());
+
+        ProductResponseDto p1 = mock(ProductResponseDto.class);
+        reply.complete(List.of(p1));
+
+        ResponseEntity<List<ProductResponseDto>> entity = result(deferredResult);
+        assertEquals(200, entity.getStatusCode().value());
+        assertEquals(List.of(p1), entity.getBody());
+    }
+
+    @Test
+    void shouldReturnNoContentOnDeadline() {
+        IProductFindAllQueueProducer producer = mock(IProductFindAllQueueProducer.class, CALLS_REAL_METHODS);
+        IProductFindAllReplyDispatcher dispatcher = mock(IProductFindAllReplyDispatcher.class);
+        CompletableFuture<List<ProductResponseDto>> reply = new CompletableFuture<>();
+        when(dispatcher.register(eq(CORRELATION), any(Duration.class))).thenReturn(reply);
+
+        var deferredResult = controller(producer, dispatcher).findAllAsync(CORRELATION, null, null);
+        reply.completeExceptionally(new TimeoutException("deadline"));
+
+        assertEquals(204, result(deferredResult).getStatusCode().value());
+    }
+
+    @Test
+    void shouldReturnServerErrorWhenProduceFails() {
+        IProductFindAllQueueProducer producer = mock(IProductFindAllQueueProducer.class, CALLS_REAL_METHODS);
+        IProductFindAllReplyDispatcher dispatcher = mock(IProductFindAllReplyDispatcher.class);
+        when(dispatcher.register(eq(CORRELATION), any(Duration.class))).thenReturn(new CompletableFuture<>());
+        doThrow(new RuntimeException("boom")).when(producer).produce(eq(CORRELATION), any(ProductFindAllRequestDto.class));
+
+        var deferredResult = controller(producer, dispatcher).findAllAsync(CORRELATION, null, null);
+
+        assertEquals(500, result(deferredResult).getStatusCode().value());
+    }
+
+    @Test
+    void cachedPageShouldBeServedWithoutProducing() {
+        IProductFindAllQueueProducer producer = mock(IProductFindAllQueueProducer.class, CALLS_REAL_METHODS);
+        IProductFindAllReplyDispatcher dispatcher = mock(IProductFindAllReplyDispatcher.class);
+        ProductResponseDto p1 = mock(ProductResponseDto.class);
+        when(dispatcher.register(eq(CORRELATION), any(Duration.class))).thenReturn(CompletableFuture.completedFuture(List.of(p1)));
+        ProductFindAllSqsV9AsyncRestController controller = controller(producer, dispatcher);
+
+        var first = controller.findAllAsync(CORRELATION, 5, 0);
+        var second = controller.findAllAsync(OTHER_CORRELATION, 5, 0);
+
+        assertEquals(List.of(p1), result(first).getBody());
+        assertEquals(200, result(second).getStatusCode().value());
+        assertEquals(List.of(p1), result(second).getBody());
+        verify(producer, times(1)).produce(eq(CORRELATION), any(ProductFindAllRequestDto.class));
+        verify(dispatcher, never()).register(eq(OTHER_CORRELATION), any(Duration.class));
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.demo.biz.unit.products.findAll.queues.consumer.v9;
+
+import com.example.commons.dto.create.ProductResponseDto;
+import com.example.commons.dto.find.ProductFindAllRequestDto;
+import com.example.demo.biz.commons.cache.IdempotentRequestCache;
+import com.example.demo.biz.products.findAll.queues.consumer.reply.IProductFindAllReplyDispatcher;
+import com.example.demo.biz.products.findAll.queues.consumer.v9.controller.ProductFindAllSqsV9StreamRestController;
+import com.example.demo.biz.products.findAll.queues.producer.IProductFindAllQueueProducer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ProductFindAllSqsV9StreamRestControllerTests {
+
+    private static final String CORRELATION = "123e4567-e89b-12d3-a456-426614174004";
+
+    private final IProductFindAllQueueProducer producer = mock(IProductFindAllQueueProducer.class);
+    private final IProductFindAllReplyDispatcher dispatcher = mock(IProductFindAllReplyDispatcher.class);
+    private final ProductFindAllSqsV9StreamRestController controller =
+            new ProductFindAllSqsV9StreamRestController(producer, dispatcher, new TaskExecutorAdapter(Runnable::run));
+
+    @AfterEach
+    void tearDown() {
+        IdempotentRequestCache.INSTANCE.remove(CORRELATION);
+    }
+
+    private static List<ProductResponseDto> page(int size) {
+        return Collections.nCopies(size, mock(ProductResponseDto.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Consumer<List<ProductResponseDto>> open(Integer limit, Integer pageSize) {
+        when(dispatcher.openStream(eq(CORRELATION), any(Duration.class), any(Consumer.class), any(Runnable.class))).thenReturn(true);
+
+        ResponseEntity<SseEmitter> response = controller.stream(CORRELATION, limit, null, pageSize);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(producer).produce(eq(CORRELATION), any(ProductFindAllRequestDto.class));
+        ArgumentCaptor<Consumer<List<ProductResponseDto>>> onPage = ArgumentCaptor.forClass(Consumer.class);
+        verify(dispatcher).openStream(eq(CORRELATION), any(Duration.class), onPage.capture(), any(Runnable.class));
+        return onPage.getValue();
+    }
+
+    @Test
+    void streamShouldCompleteOnAFinalPageShorterThanTheOnesBefore() {
+        Consumer<List<ProductResponseDto>> onPage = open(100, null);
+
+        onPage.accept(page(10));
+        onPage.accept(page(10));
+        verify(dispatcher, never()).cancel(CORRELATION);
+
+        onPage.accept(page(4));
+        verify(dispatcher).cancel(CORRELATION);
+    }
+
+    @Test
+    void streamShouldCompleteOnAShortFirstPageWhenThePageSizeIsGiven() {
+        Consumer<List<ProductResponseDto>> onPage = open(100, 10);
+
+        onPage.accept(page(3));
+
+        verify(dispatcher).cancel(CORRELATION);
+    }
+
+    @Test
+    void streamShouldKeepWaitingAfterFullPagesBelowTheLimit() {
+        Consumer<List<ProductResponseDto>> onPage = open(30, 10);
+
+        onPage.accept(page(10));
+        onPage.accept(page(10));
+        verify(dispatcher, never()).cancel(CORRELATION);
+
+        onPage.accept(page(10));
+        verify(dispatcher).cancel(CORRELATION);
+    }
+}
@@ -4,10 +4,10 @@ import com.example.commons.dto.find.ProductFindAllRequestDto;
 import com.example.demo.biz.products.findAll.queues.producer.IProductFindAllQueueProducer;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicReference;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.*;
 
 class IProductFindAllQueueProducerTests {
 
@@ -48,4 +48,29 @@ class IProductFindAllQueueProducerTests {
         assertEquals("abc", t.lastId);
         assertSame(dto, t.lastDto);
     }
+
+    @Test
+    void produceAsyncShouldReportFailuresThroughTheFuture() {
+        IllegalStateException failure = new IllegalStateException("boom");
+        IProductFindAllQueueProducer producer = (correlationId, dto) -> {
+            throw failure;
+        };
+
+        var future = producer.produceAsync("id-1", new ProductFindAllRequestDto("id-1", 10, 0));
+
+        ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        assertSame(failure, e.getCause());
+    }
+
+    @Test
+    void produceAsyncShouldCompleteOnceProduced() {
+        AtomicReference<String> idRef = new AtomicReference<>();
+        IProductFindAllQueueProducer producer = (correlationId, dto) -> idRef.set(correlationId);
+
+        var future = producer.produceAsync("id-1", new ProductFindAllRequestDto("id-1", 10, 0));
+
+        assertTrue(future.isDone());
+        assertFalse(future.isCompletedExceptionally());
+        assertEquals("id-1", idRef.get());
+    }
 }
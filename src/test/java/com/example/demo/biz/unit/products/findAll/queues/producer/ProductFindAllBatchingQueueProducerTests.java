@@ -0,0 +1,76 @@
+package com.example.demo.biz.unit.products.findAll.queues.producer;
+
+import com.example.commons.dto.find.ProductFindAllRequestDto;
+import com.example.demo.biz.products.findAll.queues.producer.ProductFindAllBatchingQueueProducer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ProductFindAllBatchingQueueProducerTests {
+
+    private static void setField(Object target, String fieldName, Object value) {
+        try {
+            Field f = target.getClass().getDeclaredField(fieldName);
+            f.setAccessible(true);
+            f.set(target, value);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static ProductFindAllBatchingQueueProducer producer(SqsClient sqs) throws Exception {
+        ObjectMapper mapper = mock(ObjectMapper.class);
+        when(mapper.writeValueAsString(any())).thenReturn("{}");
+
+        ProductFindAllBatchingQueueProducer producer = new ProductFindAllBatchingQueueProducer(mapper, sqs);
+        setField(producer, "queueUrl", "http://localhost/queue");
+        setField(producer, "maxBatchSize", 10);
+        setField(producer, "maxLingerMs", 1L);
+        setField(producer, "sendTimeoutMs", 100L);
+        producer.validateConfiguration();
+        return producer;
+    }
+
+    @Test
+    void produceShouldReturnOnceTheBatchIsSent() throws Exception {
+        SqsClient sqs = mock(SqsClient.class);
+        when(sqs.sendMessageBatch(any(SendMessageBatchRequest.class))).thenReturn(SendMessageBatchResponse.builder()
+                .successful(SendMessageBatchResultEntry.builder().id("0").messageId("mid-1").build())
+                .build());
+
+        ProductFindAllBatchingQueueProducer producer = producer(sqs);
+
+        assertDoesNotThrow(() -> producer.produce("id-1", new ProductFindAllRequestDto("id-1", 10, 0)));
+    }
+
+    @Test
+    void produceShouldFailWithApiCallTimeoutWhenTheBatchHangs() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        SqsClient sqs = mock(SqsClient.class);
+        when(sqs.sendMessageBatch(any(SendMessageBatchRequest.class))).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return SendMessageBatchResponse.builder().build();
+        });
+
+        ProductFindAllBatchingQueueProducer producer = producer(sqs);
+
+        try {
+            assertThrows(ApiCallTimeoutException.class, () -> producer.produce("id-1", new ProductFindAllRequestDto("id-1", 10, 0)));
+        } finally {
+            release.countDown();
+        }
+    }
+}
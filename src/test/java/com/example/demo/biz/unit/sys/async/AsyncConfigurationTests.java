@@ -0,0 +1,111 @@
+package com.example.demo.biz.unit.sys.async;
+
+import com.example.demo.sys.async.AsyncConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AsyncConfigurationTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private AsyncTaskExecutor executor;
+
+    private static void setField(Object target, String fieldName, Object value) {
+        try {
+            Field f = target.getClass().getDeclaredField(fieldName);
+            f.setAccessible(true);
+            f.set(target, value);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private AsyncConfiguration configuration(boolean virtualThreads) {
+        ObjectProvider<MeterRegistry> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable(any())).thenReturn(registry);
+        AsyncConfiguration configuration = new AsyncConfiguration(provider);
+        setField(configuration, "virtualThreads", virtualThreads);
+        setField(configuration, "concurrencyLimit", -1);
+        setField(configuration, "corePoolSize", 1);
+        setField(configuration, "maxPoolSize", 1);
+        setField(configuration, "queueCapacity", 1);
+        setField(configuration, "keepAliveSeconds", 60);
+        setField(configuration, "rejectionPolicy", AsyncConfiguration.RejectionPolicy.ABORT);
+        return configuration;
+    }
+
+    private double gauge(String name) {
+        return registry.get(name).tag("name", "async").gauge().value();
+    }
+
+    private Runnable blocked(CountDownLatch started) {
+        return () -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+    }
+
+    @AfterEach
+    void cleanup() throws Exception {
+        release.countDown();
+        if (executor instanceof DisposableBean disposable) {
+            disposable.destroy();
+        } else if (executor instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    @Test
+    void virtualThreadExecutorShouldRunTasksOnVirtualThreadsAndReportActive() throws Exception {
+        executor = configuration(true).taskExecutor();
+        CountDownLatch started = new CountDownLatch(1);
+        boolean[] virtual = new boolean[1];
+
+        executor.execute(() -> {
+            virtual[0] = Thread.currentThread().isVirtual();
+            blocked(started).run();
+        });
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertTrue(virtual[0]);
+        assertEquals(1, gauge("executor.active"));
+        assertEquals(0, gauge("executor.queued"));
+    }
+
+    @Test
+    void platformPoolShouldCountRejectionsOnceFull() throws Exception {
+        executor = configuration(false).taskExecutor();
+        CountDownLatch started = new CountDownLatch(1);
+
+        executor.execute(blocked(started));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        executor.execute(blocked(new CountDownLatch(1)));
+
+        assertThrows(TaskRejectedException.class, () -> executor.execute(() -> { }));
+        assertEquals(1, registry.get("executor.rejected").tag("name", "async").counter().count());
+        assertEquals(1, gauge("executor.active"));
+        assertEquals(1, gauge("executor.queued"));
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.demo.biz.unit.sys.schedule;
+
+import com.example.demo.sys.schedule.MeteredTaskScheduler;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MeteredTaskSchedulerTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final ThreadPoolTaskScheduler delegate = new ThreadPoolTaskScheduler();
+
+    private MeteredTaskScheduler scheduler() {
+        delegate.setPoolSize(1);
+        delegate.initialize();
+        return new MeteredTaskScheduler(delegate, registry, "test");
+    }
+
+    private Timer timer(String name) {
+        return registry.get(name).tag("scheduler", "test").tag("job", "Job.run").timer();
+    }
+
+    // lets the run that counted down finish recording
+    private void drain() throws InterruptedException {
+        delegate.getScheduledExecutor().shutdown();
+        assertTrue(delegate.getScheduledExecutor().awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @AfterEach
+    void cleanup() {
+        delegate.shutdown();
+    }
+
+    @Test
+    void fixedRateJobShouldRecordDurationAndLag() throws Exception {
+        CountDownLatch runs = new CountDownLatch(3);
+        // each run takes longer than the period, so every run after the first starts late
+        var future = scheduler().scheduleAtFixedRate(new Job(runs, 30), Duration.ofMillis(10));
+
+        assertTrue(runs.await(5, TimeUnit.SECONDS));
+        future.cancel(false);
+        drain();
+
+        assertTrue(timer("scheduled_job_duration").count() >= 3);
+        assertTrue(timer("scheduled_job_duration").max(TimeUnit.MILLISECONDS) >= 30);
+        assertTrue(timer("scheduled_job_lag").count() >= 3);
+        assertTrue(timer("scheduled_job_lag").max(TimeUnit.MILLISECONDS) >= 15);
+    }
+
+    @Test
+    void fixedDelayJobShouldNotReportLagForItsOwnRunTime() throws Exception {
+        CountDownLatch runs = new CountDownLatch(3);
+        var future = scheduler().scheduleWithFixedDelay(new Job(runs, 30), Duration.ofMillis(10));
+
+        assertTrue(runs.await(5, TimeUnit.SECONDS));
+        future.cancel(false);
+        drain();
+
+        assertTrue(timer("scheduled_job_duration").count() >= 3);
+        assertTrue(timer("scheduled_job_lag").max(TimeUnit.MILLISECONDS) < 30);
+    }
+
+    @Test
+    void triggerJobShouldMeasureLagFromTheTriggersNextExecution() throws Exception {
+        CountDownLatch runs = new CountDownLatch(1);
+        var future = scheduler().schedule(new Job(runs, 0),
+                context -> context.lastCompletion() == null ? context.getClock().instant().plusMillis(10) : null);
+
+        assertTrue(runs.await(5, TimeUnit.SECONDS));
+        future.cancel(false);
+        drain();
+
+        assertEquals(1, timer("scheduled_job_duration").count());
+        assertEquals(1, timer("scheduled_job_lag").count());
+    }
+
+    private record Job(CountDownLatch runs, long sleepMillis) implements Runnable {
+
+        @Override
+        public void run() {
+            try {
+                Thread.sleep(sleepMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            runs.countDown();
+        }
+
+        @Override
+        public String toString() {
+            return "com.example.Job.run";
+        }
+    }
+}